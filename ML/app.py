@@ -5,6 +5,7 @@ import pandas as pd
 from typing import Optional, List
 import numpy as np
 import httpx
+import json
 import os
 from datetime import datetime, timedelta
 import asyncio
@@ -141,20 +142,63 @@ async def fetch_project_roles(project_id: int) -> List[dict]:
     except Exception as e:
         raise HTTPException(status_code=500, detail=f"Error fetching project roles: {str(e)}")
 
+# Last candidate feature snapshot, reused while the backend answers 304 Not Modified
+candidate_snapshot = {"etag": None, "candidates": []}
+
+def convert_feature_line(features: dict, technology_names: dict) -> dict:
+    """Convert a line of the candidate feature export to the profile shape the recommender reads"""
+    company = features.get('company')
+    return {
+        'id': features.get('id', 0),
+        'position': features.get('position') or '',
+        'education': features.get('education'),
+        'technologies': [technology_names.get(str(tech_id), '') for tech_id in features.get('technology_ids', [])],
+        'expertise_level': features.get('expertise_level'),
+        'experience_years': features.get('experience_years'),
+        'work_experience': [{'company': company}] if company else []
+    }
+
 async def fetch_all_candidates() -> List[dict]:
-    """Fetch all candidates from backend"""
+    """Fetch all candidates' recommender features from backend"""
     try:
         token = await get_current_token()
         async with httpx.AsyncClient() as client:
             headers = {"Authorization": f"Bearer {token}"}
-            response = await client.get(f"{BACKEND_URL}/api/profile/all", headers=headers)
+            if candidate_snapshot["etag"]:
+                headers["If-None-Match"] = candidate_snapshot["etag"]
+            # Gzipped NDJSON: a technology id -> name header line, then one profile per line
+            response = await client.get(f"{BACKEND_URL}/api/profile/features", headers=headers)
+            if response.status_code == 304:
+                return candidate_snapshot["candidates"]
             response.raise_for_status()
-            return response.json()
+            lines = [json.loads(line) for line in response.text.splitlines() if line.strip()]
+            technology_names = lines[0].get('technologies', {}) if lines else {}
+            candidate_snapshot["candidates"] = [convert_feature_line(line, technology_names) for line in lines[1:]]
+            candidate_snapshot["etag"] = response.headers.get("ETag")
+            return candidate_snapshot["candidates"]
     except httpx.HTTPStatusError as e:
         raise HTTPException(status_code=e.response.status_code, detail=f"Failed to fetch candidates: {e}")
     except Exception as e:
         raise HTTPException(status_code=500, detail=f"Error fetching candidates: {str(e)}")
 
+async def fetch_candidate_details(profile_ids: List[int]) -> dict:
+    """Fetch full profiles (bio, work history) for the selected candidates only, keyed by id"""
+    if not profile_ids:
+        return {}
+    try:
+        token = await get_current_token()
+        async with httpx.AsyncClient() as client:
+            headers = {"Authorization": f"Bearer {token}"}
+            response = await client.get(f"{BACKEND_URL}/api/profile/by-ids",
+                                        params={"ids": ",".join(str(profile_id) for profile_id in profile_ids)},
+                                        headers=headers)
+            response.raise_for_status()
+            return {profile['id']: profile for profile in response.json()}
+    except httpx.HTTPStatusError as e:
+        raise HTTPException(status_code=e.response.status_code, detail=f"Failed to fetch candidate details: {e}")
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=f"Error fetching candidate details: {str(e)}")
+
 def convert_backend_user_to_member(user_data: dict) -> Member:
     """Convert backend user data to Member object"""
     # Extract technologies from the technologies array
@@ -164,19 +208,19 @@ def convert_backend_user_to_member(user_data: dict) -> Member:
     work_experience = []
     for work_data in user_data.get('work_experience', []):
         work_experience.append(Work(
-            startDate=work_data.get('startDate', ''),
-            endDate=work_data.get('endDate', ''),
-            position=work_data.get('position', ''),
-            company=work_data.get('company', ''),
-            description=work_data.get('description', '')
+            startDate=work_data.get('startDate') or '',
+            endDate=work_data.get('endDate') or '',
+            position=work_data.get('position') or '',
+            company=work_data.get('company') or '',
+            description=work_data.get('description') or ''
         ))
     
     return Member(
         id=user_data.get('id', 0),
-        bio=user_data.get('bio', ''),
-        position=user_data.get('position', ''),
+        bio=user_data.get('bio') or '',
+        position=user_data.get('position') or '',
         education=user_data.get('education'),
-        expertise=user_data.get('expertise', ''),
+        expertise=user_data.get('expertise') or '',
         technologies=technologies,
         expertise_level=user_data.get('expertise_level'),
         experience_years=user_data.get('experience_years'),
@@ -235,9 +279,14 @@ async def get_team_with_synergy(request: ProjectRequest):
             model_path="team_quality_model.joblib", n_teams=10
         )
         
+        # The feature export carries what the model scores on; bio and work history are loaded
+        # for the chosen members only
+        details = await fetch_candidate_details([member.id for member in best_team_members])
+
         # Convert team members to response format
         team_members = []
-        for member in best_team_members:
+        for selected in best_team_members:
+            member = convert_backend_user_to_member(details[selected.id]) if selected.id in details else selected
             team_members.append({
                 "id": member.id,
                 "bio": member.bio,
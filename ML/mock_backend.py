@@ -1,8 +1,10 @@
-from fastapi import FastAPI, HTTPException
-from fastapi.responses import JSONResponse
+from fastapi import FastAPI, HTTPException, Request
+from fastapi.responses import JSONResponse, Response
 from pydantic import BaseModel
 from typing import List
 from enum import Enum
+import hashlib
+import json
 
 app = FastAPI(title="Mock Backend API", version="1.0")
 
@@ -214,6 +216,43 @@ async def get_all_profiles():
         }
     ]
 
+@app.get("/api/profile/by-ids")
+async def get_profiles_by_ids(ids: str):
+    wanted = {int(profile_id) for profile_id in ids.split(",") if profile_id}
+    return [profile for profile in await get_all_profiles() if profile["id"] in wanted]
+
+@app.get("/api/profile/stream")
+async def stream_all_profiles():
+    profiles = await get_all_profiles()
+    body = "".join(json.dumps(profile) + "\n" for profile in profiles)
+    return Response(content=body, media_type="application/x-ndjson")
+
+@app.get("/api/profile/features")
+async def export_candidate_features(request: Request):
+    profiles = await get_all_profiles()
+    technology_ids = {}
+    for profile in profiles:
+        for name in profile["technologies"]:
+            technology_ids.setdefault(name, len(technology_ids) + 1)
+    lines = [{"technologies": {str(tech_id): name for name, tech_id in technology_ids.items()}}]
+    for profile in profiles:
+        work_experience = profile.get("work_experience") or []
+        lines.append({
+            "id": profile["id"],
+            "user_id": profile["id"],
+            "position": profile["position"],
+            "education": profile["education"],
+            "expertise_level": profile["expertise_level"],
+            "experience_years": profile["experience_years"],
+            "technology_ids": sorted(technology_ids[name] for name in profile["technologies"]),
+            "company": work_experience[0]["company"] if work_experience else None
+        })
+    body = "".join(json.dumps(line) + "\n" for line in lines)
+    etag = 'W/"' + hashlib.sha256(body.encode()).hexdigest()[:32] + '"'
+    if request.headers.get("if-none-match") == etag:
+        return Response(status_code=304, headers={"ETag": etag})
+    return Response(content=body, media_type="application/x-ndjson", headers={"ETag": etag})
+
 # Keep the old endpoint for backward compatibility
 @app.get("/api/users/profiles")
 async def get_user_profiles():
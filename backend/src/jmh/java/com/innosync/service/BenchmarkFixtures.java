@@ -0,0 +1,98 @@
+package com.innosync.service;
+
+import com.innosync.model.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detached entity graphs shaped like typical production rows, shared by the mapping and
+ * serialization benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id, String name) {
+        User user = new User(name.toLowerCase().replace(' ', '.') + "@example.com", name, "hash");
+        user.setId(id);
+        return user;
+    }
+
+    static Profile profile(int technologies) {
+        Profile profile = new Profile();
+        profile.setId(1L);
+        profile.setUser(user(1L, "Candidate One"));
+        profile.setTelegram("@candidate");
+        profile.setGithub("github.com/candidate");
+        profile.setBio("Backend engineer who likes distributed systems, databases and coffee.");
+        profile.setPosition("Backend Engineer");
+        profile.setEducation(Education.MASTER);
+        profile.setExpertise("Java, Spring, PostgreSQL");
+        profile.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        profile.setExperienceYears(ExperienceYears.FIVE_TO_SEVEN);
+        Set<Technology> stack = new LinkedHashSet<>();
+        for (int i = 0; i < technologies; i++) {
+            stack.add(new Technology((long) i, "Technology " + i));
+        }
+        profile.setTechnologies(stack);
+        return profile;
+    }
+
+    static List<WorkExperience> workExperience(Profile profile, int count) {
+        List<WorkExperience> experiences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            experiences.add(WorkExperience.builder()
+                    .profile(profile)
+                    .position("Engineer " + i)
+                    .company("Company " + i)
+                    .description("Built and operated services handling production traffic.")
+                    .startDate(LocalDate.of(2015 + i, 1, 1))
+                    .endDate(LocalDate.of(2016 + i, 1, 1))
+                    .build());
+        }
+        return experiences;
+    }
+
+    static ProjectRole projectRole() {
+        Project project = Project.builder()
+                .id(10L)
+                .title("InnoSync")
+                .description("Team matching platform")
+                .recruiter(user(2L, "Recruiter Two"))
+                .projectType(ProjectType.FREELANCE)
+                .teamSize(TeamSize.FourSix)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+        ProjectRole role = new ProjectRole();
+        role.setId(100L);
+        role.setProject(project);
+        role.setRoleName("Backend Developer");
+        role.setExpertiseLevel(ExpertiseLevel.MID);
+        return role;
+    }
+
+    static RoleApplication roleApplication() {
+        return new RoleApplication(1000L, user(1L, "Candidate One"), projectRole(), ApplicationStatus.PENDING, NOW, NOW);
+    }
+
+    static Invitation invitation() {
+        ProjectRole role = projectRole();
+        return Invitation.builder()
+                .id(2000L)
+                .projectRole(role)
+                .sender(role.getProject().getRecruiter())
+                .recipient(user(1L, "Candidate One"))
+                .status(InvitationStatus.INVITED)
+                .sentAt(NOW)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.innosync.service;
+
+import com.innosync.dto.profile.ProfileResponse;
+import com.innosync.dto.project.InvitationResponse;
+import com.innosync.dto.project.RoleApplicationResponse;
+import com.innosync.model.Invitation;
+import com.innosync.model.Profile;
+import com.innosync.model.RoleApplication;
+import com.innosync.model.WorkExperience;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping with the associations already loaded. For profiles this is the
+ * {@code toResponse} step that {@code ProfileService.mapToResponse} runs after batch hydration,
+ * so database time is deliberately left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Profile profile;
+    private List<WorkExperience> experiences;
+    private RoleApplication application;
+    private Invitation invitation;
+    private RoleApplicationService roleApplicationService;
+    private InvitationService invitationService;
+
+    @Setup
+    public void setUp() {
+        profile = BenchmarkFixtures.profile(8);
+        experiences = BenchmarkFixtures.workExperience(profile, 4);
+        application = BenchmarkFixtures.roleApplication();
+        invitation = BenchmarkFixtures.invitation();
+        // The mappers only read the entities they are given
+        roleApplicationService = new RoleApplicationService(null, null, null, null);
+        invitationService = new InvitationService(null, null, null, null);
+    }
+
+    @Benchmark
+    public ProfileResponse profile() {
+        return ProfileService.toResponse(profile, profile.getUser(), experiences);
+    }
+
+    @Benchmark
+    public RoleApplicationResponse roleApplication() {
+        return roleApplicationService.mapToResponse(application);
+    }
+
+    @Benchmark
+    public InvitationResponse invitation() {
+        return invitationService.mapToResponse(invitation);
+    }
+}
@@ -0,0 +1,74 @@
+package com.innosync.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.innosync.dto.profile.ProfileResponse;
+import com.innosync.dto.project.InvitationResponse;
+import com.innosync.dto.project.RoleApplicationResponse;
+import com.innosync.model.Profile;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of response DTOs, single objects and a page of profiles as returned
+ * by {@code /api/profile/page}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ProfileResponse profile;
+    private List<ProfileResponse> profilePage;
+    private RoleApplicationResponse application;
+    private InvitationResponse invitation;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converters
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        Profile entity = BenchmarkFixtures.profile(8);
+        profile = ProfileService.toResponse(entity, entity.getUser(), BenchmarkFixtures.workExperience(entity, 4));
+        profilePage = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            profilePage.add(profile);
+        }
+        application = new RoleApplicationService(null, null, null, null)
+                .mapToResponse(BenchmarkFixtures.roleApplication());
+        invitation = new InvitationService(null, null, null, null)
+                .mapToResponse(BenchmarkFixtures.invitation());
+    }
+
+    @Benchmark
+    public byte[] profile() throws Exception {
+        return writer.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] profilePage() throws Exception {
+        return writer.writeValueAsBytes(profilePage);
+    }
+
+    @Benchmark
+    public byte[] roleApplication() throws Exception {
+        return writer.writeValueAsBytes(application);
+    }
+
+    @Benchmark
+    public byte[] invitation() throws Exception {
+        return writer.writeValueAsBytes(invitation);
+    }
+}
@@ -0,0 +1,37 @@
+package com.innosync.config;
+
+import com.innosync.storage.BlobStore;
+import com.innosync.storage.LocalBlobStore;
+import com.innosync.storage.S3BlobStore;
+import com.innosync.storage.UploadStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+
+/**
+ * Picks where uploads are kept: {@code uploads.store=local} (the default) keeps blobs under
+ * {@code uploads.root}, {@code uploads.store=s3} in a bucket of an S3-compatible service.
+ */
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "uploads.store", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${uploads.root:}") String root) {
+        return new LocalBlobStore(UploadStorage.resolveRoot(root).resolve(UploadStorage.BLOB_DIRECTORY));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "uploads.store", havingValue = "s3")
+    public BlobStore s3BlobStore(@Value("${uploads.s3.endpoint}") URI endpoint,
+                                 @Value("${uploads.s3.bucket}") String bucket,
+                                 @Value("${uploads.s3.region:us-east-1}") String region,
+                                 @Value("${uploads.s3.access-key}") String accessKey,
+                                 @Value("${uploads.s3.secret-key}") String secretKey,
+                                 @Value("${uploads.s3.prefix:blobs/}") String prefix) {
+        return new S3BlobStore(endpoint, bucket, region, accessKey, secretKey, prefix);
+    }
+}
@@ -5,6 +5,7 @@ import com.innosync.model.RefreshToken;
 import com.innosync.model.User;
 import com.innosync.repository.UserRepository;
 import com.innosync.security.JwtUtil;
+import com.innosync.security.PasswordHashingService;
 import com.innosync.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,14 +13,19 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication API", description = "API for user authentication") // Swagger annotation
@@ -37,59 +43,79 @@ public class AuthController {
     private RefreshTokenService refreshTokenService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    // Database and token work after hashing; keeps the small hashing pool free for hashing
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor ioExecutor;
 
     // Add setter for testing
-    void setPasswordEncoder(PasswordEncoder passwordEncoder) {
-        this.passwordEncoder = passwordEncoder;
+    void setPasswordHashingService(PasswordHashingService passwordHashingService) {
+        this.passwordHashingService = passwordHashingService;
     }
 
+    void setIoExecutor(Executor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+    }
+
+    // Hashing runs on the password hashing pool and what follows on the application task
+    // executor; the request thread is released meanwhile
     @PostMapping("/signup")
     @Operation(summary = "Sign up user")
-    public ResponseEntity<?> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> signUp(@Valid @RequestBody SignUpRequest signUpRequest) {
         logger.info("Received signup request for email: {}", signUpRequest.getEmail());
         String email = signUpRequest.getEmail();
         if (userRepository.findByEmail(email).isPresent()) {
             logger.warn("Signup attempt with already registered email: {}", email);
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email is already registered!");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.CONFLICT).body("Email is already registered!"));
         }
 
-        User user = new User(
-                signUpRequest.getEmail(),
-                signUpRequest.getFullName(),
-                passwordEncoder.encode(signUpRequest.getPassword())
-        );
-        userRepository.save(user);
-        logger.info("User registered successfully: {}", email);
+        return passwordHashingService.encode(signUpRequest.getPassword())
+                .thenApplyAsync(passwordHash -> {
+                    User user = new User(signUpRequest.getEmail(), signUpRequest.getFullName(), passwordHash);
+                    userRepository.save(user);
+                    logger.info("User registered successfully: {}", email);
 
-        String accessToken = jwtUtil.generateToken(user.getEmail());
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+                    String accessToken = jwtUtil.generateToken(user);
+                    RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
-        logger.debug("Generated tokens for user: {}", email);
-        return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken.getToken()));
+                    logger.debug("Generated tokens for user: {}", email);
+                    return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken.getToken()));
+                }, ioExecutor);
     }
 
     @PostMapping("/login")
     @Operation(summary = "Log in User")
-    public ResponseEntity<?> signIn(@Valid @RequestBody SignInRequest signInRequest) {
+    public CompletableFuture<ResponseEntity<?>> signIn(@Valid @RequestBody SignInRequest signInRequest) {
         logger.info("Login attempt for email: {}", signInRequest.getEmail());
-        return userRepository.findByEmail(signInRequest.getEmail())
-                .map(user -> {
-                    if (passwordEncoder.matches(signInRequest.getPassword(), user.getPasswordHash())) {
-                        logger.info("Login successful for email: {}", signInRequest.getEmail());
-                        String accessToken = jwtUtil.generateToken(user.getEmail());
-                        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
-                        logger.debug("Generated tokens for user: {}", user.getEmail());
-                        return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken.getToken()));
-                    } else {
+        Optional<User> found = userRepository.findByEmail(signInRequest.getEmail());
+        if (found.isEmpty()) {
+            logger.warn("Login failed (user not found) for email: {}", signInRequest.getEmail());
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials"));
+        }
+
+        User user = found.get();
+        return passwordHashingService.verify(signInRequest.getPassword(), user.getPasswordHash())
+                .thenApplyAsync(check -> {
+                    if (!check.matches()) {
                         logger.warn("Login failed (invalid credentials) for email: {}", signInRequest.getEmail());
                         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
                     }
-                })
-                .orElseGet(() -> {
-                    logger.warn("Login failed (user not found) for email: {}", signInRequest.getEmail());
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
-                });
+                    if (check.upgradedHash() != null) {
+                        // Stored hash used a lower cost than the current one
+                        user.setPasswordHash(check.upgradedHash());
+                        userRepository.save(user);
+                        logger.info("Upgraded password hash for email: {}", user.getEmail());
+                    }
+                    logger.info("Login successful for email: {}", signInRequest.getEmail());
+                    String accessToken = jwtUtil.generateToken(user);
+                    RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+                    logger.debug("Generated tokens for user: {}", user.getEmail());
+                    return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken.getToken()));
+                }, ioExecutor);
     }
 
     @PostMapping("/refresh")
@@ -0,0 +1,28 @@
+package com.innosync.controller;
+
+import com.innosync.dto.change.ChangeFeedResponse;
+import com.innosync.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed API", description = "Committed changes to profiles, technologies, projects, roles and teams") // Swagger annotation
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @Operation(summary = "Read changes committed after a cursor, oldest first")
+    public ChangeFeedResponse getChanges(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return changeFeedService.readChanges(since, limit);
+    }
+}
@@ -11,7 +11,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import com.innosync.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -47,17 +49,17 @@ public class InvitationController {
 
     @GetMapping("/sent")
     @Operation(summary = "Show all sent invitations")
-    public ResponseEntity<List<InvitationResponse>> getSentInvitations(Authentication authentication) {
+    public ResponseEntity<List<InvitationResponse>> getSentInvitations(@AuthenticationPrincipal AuthenticatedUser user) {
         return ResponseEntity.ok(
-                invitationService.getSentInvitations(authentication.getName())
+                invitationService.getSentInvitations(user)
         );
     }
 
     @GetMapping("/received")
     @Operation(summary = "Show all received invitations")
-    public ResponseEntity<List<InvitationResponse>> getReceivedInvitations(Authentication authentication) {
+    public ResponseEntity<List<InvitationResponse>> getReceivedInvitations(@AuthenticationPrincipal AuthenticatedUser user) {
         return ResponseEntity.ok(
-                invitationService.getReceivedInvitations(authentication.getName())
+                invitationService.getReceivedInvitations(user)
         );
     }
 }
@@ -1,29 +1,41 @@
 package com.innosync.controller;
 
+import com.innosync.dto.CursorPageResponse;
 import com.innosync.dto.profile.ProfileRequest;
 import com.innosync.dto.profile.ProfileResponse;
 import com.innosync.model.Profile;
+import com.innosync.service.CandidateFeatureExport;
 import com.innosync.service.ProfileService;
+import com.innosync.storage.FileResponses;
+import com.innosync.storage.FileUpload;
+import com.innosync.storage.UploadStorage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.innosync.security.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.Files;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
-import java.net.MalformedURLException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/api/profile")
@@ -35,6 +47,16 @@ public class ProfileController {
     @Autowired
     private ProfileService profileService;
 
+    @Autowired
+    private CandidateFeatureExport candidateFeatureExport;
+
+    @Autowired
+    private UploadStorage uploadStorage;
+
+    // Pictures are reused this long without asking, then revalidated with their ETag
+    @Value("${uploads.picture.cache-max-age:P1D}")
+    private Duration pictureCacheMaxAge;
+
     @PostMapping
     @Operation(summary = "Create user profile")
     public ProfileResponse createOrUpdateProfile(@RequestBody ProfileRequest request, Authentication auth) {
@@ -65,12 +87,24 @@ public class ProfileController {
         }
     }
 
+    @PatchMapping
+    @Operation(summary = "Update the given profile fields; work experience and technologies are left alone")
+    public ProfileResponse patchProfile(@RequestBody ProfileRequest request, Authentication auth) {
+        String email = auth.getName();
+        logger.info("Received profile patch request for email: {}", email);
+        try {
+            return profileService.patchProfile(email, request);
+        } catch (Exception e) {
+            logger.error("Failed to patch profile for email: {}", email, e);
+            throw e;
+        }
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Show personal profile")
-    public ProfileResponse getMyProfile(Authentication auth) {
-        String email = auth.getName();
-        logger.info("Fetching personal profile for email: {}", email);
-        return profileService.getMyProfile(email);
+    public ProfileResponse getMyProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        logger.info("Fetching personal profile for email: {}", user.email());
+        return profileService.getMyProfile(user);
     }
 
     @GetMapping("/all")
@@ -80,35 +114,65 @@ public class ProfileController {
         return profileService.getAllProfiles();
     }
 
-    @PostMapping("/upload-resume")
-    @Operation(summary = "Upload user resume (CV)")
-    public ResponseEntity<String> uploadResume(@RequestParam("file") MultipartFile file,
-                                               Authentication auth) {
-        String email = auth.getName();
-        try {
-            Profile profile;
-            try {
-                profile = profileService.getProfileByEmail(email);
-            } catch (RuntimeException ex) {
-                profile = new Profile();
-                profile.setUser(profileService.getUserByEmail(email));
-            }
+    @GetMapping("/page")
+    @Operation(summary = "Get profiles page by page, ordered by id")
+    public CursorPageResponse<ProfileResponse> getProfilesPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Fetching profiles page after cursor: {}", cursor);
+        return profileService.getProfilesPage(cursor, limit);
+    }
 
-            Path backendDir = Paths.get(System.getProperty("user.dir"));       // e.g. .../InnoSync/backend
-            Path projectRoot = backendDir.getParent();                        // .../InnoSync
-            Path uploadDir   = projectRoot.resolve("uploads").resolve("resumes");
-            Files.createDirectories(uploadDir);
+    @GetMapping("/by-ids")
+    @Operation(summary = "Get the profiles with the given ids, ordered by id; unknown ids are skipped")
+    public List<ProfileResponse> getProfilesByIds(@RequestParam List<Long> ids) {
+        logger.info("Fetching {} profiles by id", ids.size());
+        if (ids.size() > ProfileService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + ProfileService.MAX_PAGE_SIZE + " ids per request");
+        }
+        return profileService.getProfilesByIds(ids);
+    }
 
-            String original = Paths.get(file.getOriginalFilename()).getFileName().toString();
-            String filename = "cv_user_" + profile.getUser().getId() + "_" + original;
-            Path target = uploadDir.resolve(filename);
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all profiles as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllProfiles() {
+        logger.info("Streaming all profiles");
+        StreamingResponseBody body = profileService::streamAllProfiles;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
-            file.transferTo(target.toFile());
+    @GetMapping(value = "/features", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export the recommender's candidate features as gzipped NDJSON; honours If-None-Match")
+    public ResponseEntity<byte[]> exportCandidateFeatures(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
+        CandidateFeatureExport.Snapshot snapshot = candidateFeatureExport.snapshot();
+        // Spring answers 304 itself when If-None-Match matches the ETag
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzipped()))) {
+            return response.body(in.readAllBytes());
+        }
+    }
 
-            profile.setResume("uploads/resumes/" + filename);
-            profileService.save(profile);
+    @PostMapping("/upload-resume")
+    @Operation(summary = "Upload user resume (CV) as multipart field 'file', or as the raw body with ?filename=")
+    public ResponseEntity<String> uploadResume(HttpServletRequest request, Authentication auth) {
+        String email = auth.getName();
+        try {
+            uploadStorage.attachResume(profileForUpload(email), FileUpload.from(request, "file"));
 
             return ResponseEntity.ok("Resume uploaded successfully");
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
             logger.error("Failed to upload resume", e);
             return ResponseEntity
@@ -118,71 +182,26 @@ public class ProfileController {
     }
 
     @GetMapping("/{profileId}/resume")
-    @Operation(summary = "Get a user's resume file")
-    public ResponseEntity<Resource> downloadResume(@PathVariable Long profileId) {
-        try {
-            Profile profile = profileService.getProfileById(profileId);
-            String resumePath = profile.getResume();
-            if (resumePath == null || resumePath.isBlank()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Path backendDir  = Paths.get(System.getProperty("user.dir")); // InnoSync/backend
-            Path projectRoot = backendDir.getParent();                    // InnoSync
-            Path filePath    = projectRoot.resolve(resumePath);
-
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            String filename = filePath.getFileName().toString();
-            MediaType mediaType = filename.toLowerCase().endsWith(".pdf")
-                    ? MediaType.APPLICATION_PDF
-                    : MediaType.APPLICATION_OCTET_STREAM;
-
-            return ResponseEntity.ok()
-                    .contentType(mediaType)
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + filename + "\"")
-                    .body(resource);
-
-        } catch (MalformedURLException e) {
-            // invalid path
-            return ResponseEntity.status(500).build();
-        }
+    @Operation(summary = "Get a user's resume file; supports Range and conditional requests")
+    public void downloadResume(@PathVariable Long profileId, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Profile profile = profileService.getProfileById(profileId);
+        UploadStorage.StoredFile file = uploadStorage.findResume(profile.getResume())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // Resumes are personal: browsers may keep them but must revalidate every time
+        FileResponses.write(request, response, file, ContentDisposition.attachment(), CacheControl.noCache().cachePrivate());
     }
 
     @PostMapping("/upload-profile-picture")
-    @Operation(summary = "Upload user profile picture")
-    public ResponseEntity<String> uploadProfilePicture(
-            @RequestParam("file") MultipartFile file,
-            Authentication auth) {
+    @Operation(summary = "Upload user profile picture as multipart field 'file', or as the raw body with ?filename=")
+    public ResponseEntity<String> uploadProfilePicture(HttpServletRequest request, Authentication auth) {
         String email = auth.getName();
         try {
-            Profile profile;
-            try {
-                profile = profileService.getProfileByEmail(email);
-            } catch (RuntimeException ex) {
-                profile = new Profile();
-                profile.setUser(profileService.getUserByEmail(email));
-            }
-
-            Path backendDir  = Paths.get(System.getProperty("user.dir"));
-            Path projectRoot = backendDir.getParent();
-            Path uploadDir   = projectRoot.resolve("uploads").resolve("profile-pics");
-            Files.createDirectories(uploadDir);
-
-            String original = Paths.get(file.getOriginalFilename()).getFileName().toString();
-            String filename = "pic_user_" + profile.getUser().getId() + "_" + original;
-            Path target   = uploadDir.resolve(filename);
-
-            file.transferTo(target);
-
-            profile.setProfilePicture("uploads/profile-pics/" + filename);
-            profileService.save(profile);
+            uploadStorage.attachPicture(profileForUpload(email), FileUpload.from(request, "file"));
 
             return ResponseEntity.ok("Profile picture uploaded successfully");
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
             logger.error("Failed to upload picture", e);
             return ResponseEntity.status(500)
@@ -191,45 +210,28 @@ public class ProfileController {
     }
 
     @GetMapping("/{profileId}/picture")
-    @Operation(summary = "Get a user's profile picture")
-    public ResponseEntity<Resource> downloadProfilePicture(@PathVariable Long profileId) {
-        try {
-            Profile profile = profileService.getProfileById(profileId);
-            String picPath = profile.getProfilePicture();
-            if (picPath == null || picPath.isBlank()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Path filePath = resolveFromProjectRoot(picPath);
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            String filename = filePath.getFileName().toString();
-            String ext = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
-            MediaType mediaType;
-            switch (ext) {
-                case "png":  mediaType = MediaType.IMAGE_PNG;  break;
-                case "jpg":
-                case "jpeg": mediaType = MediaType.IMAGE_JPEG; break;
-                case "gif":  mediaType = MediaType.IMAGE_GIF;  break;
-                default:     mediaType = MediaType.APPLICATION_OCTET_STREAM;
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(mediaType)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                    .body(resource);
-
-        } catch (MalformedURLException e) {
-            return ResponseEntity.status(500).build();
+    @Operation(summary = "Get a user's profile picture, or with ?size= a JPEG thumbnail at least that many pixels across; supports Range and conditional requests")
+    public void downloadProfilePicture(@PathVariable Long profileId,
+                                       @RequestParam(required = false) Integer size,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        if (size != null && size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
         }
+        Profile profile = profileService.getProfileById(profileId);
+        UploadStorage.StoredFile file = uploadStorage.findPicture(profile.getProfilePicture(), size)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        FileResponses.write(request, response, file, ContentDisposition.inline(),
+                CacheControl.maxAge(pictureCacheMaxAge).cachePublic());
     }
 
-    private Path resolveFromProjectRoot(String relativePath) {
-        Path backendDir  = Paths.get(System.getProperty("user.dir")); // …/InnoSync/backend
-        Path projectRoot = backendDir.getParent();                    // …/InnoSync
-        return projectRoot.resolve(relativePath);
+    private Profile profileForUpload(String email) {
+        try {
+            return profileService.getProfileByEmail(email);
+        } catch (RuntimeException ex) {
+            Profile profile = new Profile();
+            profile.setUser(profileService.getUserByEmail(email));
+            return profile;
+        }
     }
 }
@@ -1,13 +1,14 @@
 package com.innosync.controller;
 
+import com.innosync.dto.CursorPageResponse;
 import com.innosync.dto.project.*;
-import com.innosync.model.Project;
-import com.innosync.model.ProjectTeamMember;
+import com.innosync.model.*;
 import com.innosync.service.ProjectRoleService;
 import com.innosync.service.ProjectService;
 import com.innosync.service.ProjectTeamMemberService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.innosync.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.http.ResponseEntity;
@@ -35,26 +37,27 @@ public class ProjectController {
     @GetMapping("/me")
     @Operation(summary = "Show all my projects")
     public List<ProjectResponse> getMyProjects() {
-        String email = getCurrentUserEmail();
-        logger.info("Fetching projects for user: {}", email);
-        return projectService.getMyProjects(email);
+        AuthenticatedUser user = getCurrentUser();
+        logger.info("Fetching projects for user: {}", user.email());
+        return projectService.getMyProjects(user);
     }
 
     @GetMapping("/joined")
     @Operation(summary = "Show all projects I've joined as a team member")
     public List<ProjectResponse> getJoinedProjects() {
-        String email = getCurrentUserEmail();
-        logger.info("Fetching joined projects for user: {}", email);
-        return projectService.getJoinedProjects(email);
+        AuthenticatedUser user = getCurrentUser();
+        logger.info("Fetching joined projects for user: {}", user.email());
+        return projectService.getJoinedProjects(user);
     }
 
     @PostMapping
     @Operation(summary = "Create a project")
     public ProjectResponse createProject(@RequestBody ProjectRequest request) {
-        String email = getCurrentUserEmail();
+        AuthenticatedUser user = getCurrentUser();
+        String email = user.email();
         logger.info("Received project creation request from user: {}", email);
         try {
-            ProjectResponse response = projectService.createProject(request, email);
+            ProjectResponse response = projectService.createProject(request, user);
             logger.info("Project created successfully for user: {}", email);
             return response;
         } catch (Exception e) {
@@ -68,6 +71,14 @@ public class ProjectController {
         return auth.getName();
     }
 
+    private AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return new AuthenticatedUser(null, auth.getName(), null);
+    }
+
     @PostMapping("/{projectId}/roles")
     @Operation(summary = "Create a role for a project")
     private ProjectRoleResponse addRole(@PathVariable Long projectId, @RequestBody ProjectRoleRequest request) {
@@ -75,6 +86,13 @@ public class ProjectController {
         return projectRoleService.addRoleToProject(projectId, request, email);
     }
 
+    @PostMapping("/{projectId}/roles/bulk")
+    @Operation(summary = "Create several roles for a project in one transaction")
+    private List<ProjectRoleResponse> addRoles(@PathVariable Long projectId, @RequestBody List<ProjectRoleRequest> requests) {
+        String email = getCurrentUserEmail();
+        return projectRoleService.addRolesToProject(projectId, requests, email);
+    }
+
     @GetMapping("/{projectId}/roles")
     @Operation(summary = "Get all roles for a project")
     private List<ProjectRoleResponse> getRoles(@PathVariable Long projectId) {
@@ -88,6 +106,29 @@ public class ProjectController {
         return projectRoleService.getAllProjectRolesWithProjectInfo();
     }
 
+    @GetMapping("/roles/search")
+    @Operation(summary = "Search project roles by technology, expertise, project type, team size and text, newest first")
+    public CursorPageResponse<RoleSearchResult> searchRoles(
+            @RequestParam(required = false) List<String> technologies,
+            @RequestParam(required = false) ExpertiseLevel expertiseLevel,
+            @RequestParam(required = false) ProjectType projectType,
+            @RequestParam(required = false) TeamSize teamSize,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return projectRoleService.searchRoles(technologies, expertiseLevel, projectType, teamSize, q, cursor, limit);
+    }
+
+    @GetMapping("/roles/{roleId}/candidates")
+    @Operation(summary = "Get the profiles whose technologies best match a role")
+    public List<RoleCandidateResponse> getRoleCandidates(
+            @PathVariable Long roleId,
+            @RequestParam(required = false) Set<ExpertiseLevel> expertiseLevel,
+            @RequestParam(required = false) Set<ExperienceYears> experienceYears,
+            @RequestParam(defaultValue = "20") int limit) {
+        return projectRoleService.findCandidates(roleId, expertiseLevel, experienceYears, limit);
+    }
+
     @GetMapping("/{projectId}")
     @Operation(summary = "Get information about a specific project")
     public ProjectResponse getProject(@PathVariable Long projectId) {
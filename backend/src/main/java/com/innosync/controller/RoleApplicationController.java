@@ -9,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import com.innosync.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -53,9 +55,9 @@ public class RoleApplicationController {
 
     @GetMapping
     @Operation(summary = "Show all applications sent by current user")
-    public ResponseEntity<List<RoleApplicationResponse>> getMyApplications(Authentication authentication) {
+    public ResponseEntity<List<RoleApplicationResponse>> getMyApplications(@AuthenticationPrincipal AuthenticatedUser user) {
         return ResponseEntity.ok(
-                roleApplicationService.getApplicationsByUser(authentication.getName())
+                roleApplicationService.getApplicationsByUser(user)
         );
     }
 
@@ -0,0 +1,33 @@
+package com.innosync.controller;
+
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.search.SearchResult;
+import com.innosync.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search API", description = "Full-text search over projects, roles and profiles") // Swagger annotation
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Search projects, roles and profiles, best match first")
+    public CursorPageResponse<SearchResult> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SearchResult.Type> type,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return searchService.search(q, type, cursor, limit);
+    }
+}
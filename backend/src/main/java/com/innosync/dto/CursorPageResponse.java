@@ -0,0 +1,21 @@
+package com.innosync.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the key to pass back as
+ * {@code cursor} to fetch the following page, or {@code null} when this was the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+}
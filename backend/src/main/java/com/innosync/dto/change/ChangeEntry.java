@@ -0,0 +1,42 @@
+package com.innosync.dto.change;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEntry {
+
+    public enum EntityType {
+        PROFILE,
+        TECHNOLOGY,
+        PROJECT,
+        ROLE,
+        TEAM_MEMBER
+    }
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    // Shared by every change of the same transaction; increases with commit visibility
+    private Long sequence;
+    @JsonProperty("entity_type")
+    private EntityType entityType;
+    @JsonProperty("entity_id")
+    private Long entityId;
+    // User id for profiles, project id for roles and team memberships
+    @JsonProperty("parent_id")
+    private Long parentId;
+    private Operation operation;
+    @JsonProperty("changed_at")
+    private LocalDateTime changedAt;
+}
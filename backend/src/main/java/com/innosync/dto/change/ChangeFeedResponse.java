@@ -0,0 +1,24 @@
+package com.innosync.dto.change;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A slice of the change feed. Unlike a {@link com.innosync.dto.CursorPageResponse} the feed never
+ * ends: {@code nextCursor} is always set and is passed back as {@code since} to poll for later
+ * changes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeFeedResponse {
+    private List<ChangeEntry> changes;
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+    @JsonProperty("has_more")
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.innosync.dto.project;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleCandidateResponse {
+    private Long profileId;
+    private Long userId;
+    // Weighted share of the role's technologies the candidate lists, from 0 to 1
+    private double score;
+    private List<String> matchedTechnologies;
+}
@@ -0,0 +1,30 @@
+package com.innosync.dto.project;
+
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.ProjectType;
+import com.innosync.model.TeamSize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleSearchResult {
+    private Long roleId;
+    private String roleName;
+    private ExpertiseLevel expertiseLevel;
+    private List<String> technologies;
+
+    private Long projectId;
+    private String projectTitle;
+    private String projectDescription;
+    private ProjectType projectType;
+    private TeamSize teamSize;
+    private LocalDateTime projectCreatedAt;
+}
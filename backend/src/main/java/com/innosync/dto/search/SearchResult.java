@@ -0,0 +1,29 @@
+package com.innosync.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResult {
+
+    public enum Type {
+        PROJECT,
+        ROLE,
+        PROFILE
+    }
+
+    private Type type;
+    private Long id;
+    // Project id for roles, user id for profiles
+    private Long parentId;
+    // Project title, role name or the candidate's full name
+    private String title;
+    // Start of the project description, the role's project title or the candidate's position
+    private String summary;
+    private double rank;
+}
@@ -0,0 +1,19 @@
+package com.innosync.jobs;
+
+/**
+ * Runs the jobs of one type queued through {@link JobQueue#enqueue}. Handlers are called outside
+ * any transaction and may see the same job more than once (after a failure, or when a worker dies
+ * mid-job), so they must be idempotent. Throwing schedules a retry; inputs that will never work,
+ * such as a corrupt file, should be dealt with and return normally instead.
+ */
+public interface JobHandler<T> {
+
+    String type();
+
+    /**
+     * The class the job's JSON payload is read into.
+     */
+    Class<T> payloadType();
+
+    void handle(T payload) throws Exception;
+}
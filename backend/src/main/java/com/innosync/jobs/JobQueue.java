@@ -0,0 +1,85 @@
+package com.innosync.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innosync.repository.JobRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Queues background jobs in the database, next to the data they are about: a job queued inside a
+ * transaction commits or rolls back with it, so there is no broker to keep consistent. The
+ * {@link JobWorkers} of every instance poll the table; those of this instance are also woken as
+ * soon as a job queued here commits.
+ */
+@Service
+public class JobQueue {
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Object signal = new Object();
+    // Jobs committed through this instance, so a waiting worker can tell it missed one
+    private long committed;
+
+    public JobQueue(JobRepository jobRepository, ObjectMapper objectMapper) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queues a job for the {@link JobHandler} of {@code type}, with {@code payload} as JSON.
+     * Inside a transaction the job only runs once it commits.
+     */
+    public void enqueue(String type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job payload cannot be written as JSON: " + payload, e);
+        }
+        jobRepository.insert(type, json);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    long committed() {
+        synchronized (signal) {
+            return committed;
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for a job to be queued after {@link #committed()} returned
+     * {@code seen}; returns right away if one already was.
+     */
+    void awaitJobs(long seen, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (signal) {
+            while (committed == seen) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                signal.wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+    }
+
+    void wakeUp() {
+        synchronized (signal) {
+            committed++;
+            signal.notifyAll();
+        }
+    }
+}
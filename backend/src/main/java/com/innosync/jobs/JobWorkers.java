@@ -0,0 +1,205 @@
+package com.innosync.jobs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innosync.repository.JobRepository;
+import com.innosync.repository.JobRepository.ClaimedJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed pool of threads running queued jobs one at a time each, so however many jobs are
+ * queued, at most {@code jobs.threads} run at once per instance. An idle worker polls every
+ * {@code jobs.poll-interval}, or sooner when a job queued by this instance commits.
+ * <p>
+ * A job that throws is retried with exponential backoff, starting at
+ * {@code jobs.retry.initial-delay}, until it has run {@code jobs.max-attempts} times; it is then
+ * kept as FAILED. Jobs interrupted by shutdown are not counted as failures: they run again once
+ * their lease is over, unless that was their last attempt, in which case they are failed too.
+ */
+@Component
+@ConditionalOnProperty(name = "jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobWorkers implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWorkers.class);
+
+    private final JobQueue jobQueue;
+    private final JobRepository jobRepository;
+    private final Map<String, JobHandler<?>> handlers = new HashMap<>();
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int threads;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialRetryDelay;
+    private final Duration maxRetryDelay;
+    private final ExecutorService executor;
+
+    private volatile boolean stopping;
+
+    public JobWorkers(JobQueue jobQueue, JobRepository jobRepository, List<JobHandler<?>> handlers,
+                      ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      @Value("${jobs.threads:2}") int threads,
+                      @Value("${jobs.poll-interval:PT10S}") Duration pollInterval,
+                      @Value("${jobs.lease:PT10M}") Duration lease,
+                      @Value("${jobs.max-attempts:5}") int maxAttempts,
+                      @Value("${jobs.retry.initial-delay:PT30S}") Duration initialRetryDelay,
+                      @Value("${jobs.retry.max-delay:PT1H}") Duration maxRetryDelay) {
+        this.jobQueue = jobQueue;
+        this.jobRepository = jobRepository;
+        for (JobHandler<?> handler : handlers) {
+            if (this.handlers.putIfAbsent(handler.type(), handler) != null) {
+                throw new IllegalStateException("Two handlers for job type " + handler.type());
+            }
+        }
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.threads = threads;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialRetryDelay = initialRetryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, newExecutor(threads), "jobs");
+    }
+
+    // Jobs may depend on state loaded at startup, such as the technology dictionary
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < threads; i++) {
+            executor.execute(this::work);
+        }
+        logger.info("Started {} job workers for {}", threads, handlers.keySet());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        stopping = true;
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Job workers still busy after shutdown");
+        }
+    }
+
+    private void work() {
+        while (!stopping) {
+            long seen = jobQueue.committed();
+            boolean ran;
+            try {
+                ran = runNext();
+            } catch (RuntimeException e) {
+                // Usually the database being unavailable; try again after the poll interval
+                logger.warn("Job polling failed", e);
+                ran = false;
+            }
+            if (!ran) {
+                try {
+                    jobQueue.awaitJobs(seen, pollInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims and runs the next due job; false when none is due.
+     */
+    boolean runNext() {
+        Optional<ClaimedJob> claimed = jobRepository.claim(lease, maxAttempts);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        ClaimedJob job = claimed.get();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = run(job);
+        sample.stop(Timer.builder("jobs.run")
+                .description("Background jobs run, by type and outcome")
+                .tag("type", job.type())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        return true;
+    }
+
+    private String run(ClaimedJob job) {
+        JobHandler<?> handler = handlers.get(job.type());
+        if (handler == null) {
+            logger.error("No handler for job {} of type {}", job.id(), job.type());
+            jobRepository.fail(job, "No handler for job type " + job.type());
+            return "failed";
+        }
+        Object payload;
+        try {
+            payload = objectMapper.readValue(job.payload(), handler.payloadType());
+        } catch (JsonProcessingException e) {
+            logger.error("Job {} of type {} has an unreadable payload", job.id(), job.type(), e);
+            jobRepository.fail(job, e.toString());
+            return "failed";
+        }
+        try {
+            handle(handler, payload);
+        } catch (Exception e) {
+            if (stopping) {
+                logger.info("Job {} interrupted by shutdown, leaving it to run again", job.id());
+                return "interrupted";
+            }
+            if (job.attempts() >= maxAttempts) {
+                logger.error("Job {} of type {} failed after {} attempts", job.id(), job.type(), job.attempts(), e);
+                jobRepository.fail(job, e.toString());
+                return "failed";
+            }
+            Duration delay = retryDelay(job.attempts());
+            logger.warn("Job {} of type {} failed (attempt {}), retrying in {}", job.id(), job.type(), job.attempts(), delay, e);
+            jobRepository.retry(job, delay, e.toString());
+            return "retried";
+        }
+        if (!jobRepository.complete(job)) {
+            logger.warn("Job {} finished after its lease was over and may run again", job.id());
+        }
+        return "completed";
+    }
+
+    private static <T> void handle(JobHandler<T> handler, Object payload) throws Exception {
+        handler.handle(handler.payloadType().cast(payload));
+    }
+
+    Duration retryDelay(int attempts) {
+        Duration delay = initialRetryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        // Each worker is one long-running task, so the queue never holds more than the pool size
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "jobs-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
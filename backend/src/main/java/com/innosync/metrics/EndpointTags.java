@@ -0,0 +1,48 @@
+package com.innosync.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the request mapping template (e.g. {@code /api/projects/{projectId}}) that metrics are
+ * tagged with, so ids in the path never become tag values.
+ */
+public final class EndpointTags {
+
+    public static final String ENDPOINT = "endpoint";
+    public static final String NONE = "none";
+    public static final String UNMAPPED = "UNKNOWN";
+
+    private EndpointTags() {
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMAPPED;
+    }
+
+    /**
+     * Template of the request being handled on this thread, or {@link #NONE} outside of requests
+     * (scheduled jobs, startup).
+     */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return endpoint(servletAttributes.getRequest());
+        }
+        return NONE;
+    }
+
+    // Controller and method name, e.g. ProjectController.getProject
+    public static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,48 @@
+package com.innosync.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetProperties queryBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(QueryBudgetProperties queryBudgetProperties, MeterRegistry meterRegistry) {
+        this.queryBudgetProperties = queryBudgetProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Static so wrapping the DataSource does not wait for this configuration's own dependencies
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryBudgetInterceptor queryBudgetInterceptor() {
+        return new QueryBudgetInterceptor(queryBudgetProperties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor());
+    }
+}
@@ -0,0 +1,131 @@
+package com.innosync.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+
+/**
+ * Checks each handled request against its SQL statement budget and for statements repeated
+ * often enough to suggest an N+1 pattern. Violations are logged as a single key=value warning
+ * and counted in {@code hibernate.statements.budget.exceeded}; in {@link QueryBudgetProperties.Mode#FAIL}
+ * mode the request fails with {@link QueryBudgetExceededException}.
+ * <p>
+ * Handlers returning a body are checked by {@link QueryBudgetResponseAdvice} just before it is
+ * written, while a failure can still become an error response. What is only found later, such as
+ * statements issued while the body was serialized, is reported but can no longer fail a response
+ * that is already committed.
+ * <p>
+ * Uses the count opened by {@link StatementCountFilter} when there is one and opens its own
+ * otherwise (e.g. under MockMvc, where servlet filters are not applied).
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private static final String OPENED_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".opened";
+    private static final String CHECKED_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".checked";
+    private static final int LOGGED_SQL_LENGTH = 300;
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetInterceptor(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.getMode() != QueryBudgetProperties.Mode.OFF && RequestStatementCounter.open()) {
+            request.setAttribute(OPENED_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    /**
+     * Checks the statements issued so far, failing the request in FAIL mode. Called before a
+     * response body is written.
+     */
+    public void checkBeforeBody(HttpServletRequest request) {
+        check(request, properties.getMode() == QueryBudgetProperties.Mode.FAIL);
+    }
+
+    // By now a @ResponseBody has been written and usually flushed; failing a committed response
+    // would only cut it off, so FAIL mode applies only while it is not
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        check(request, properties.getMode() == QueryBudgetProperties.Mode.FAIL && !response.isCommitted());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            // Handlers that threw skip postHandle; their statements are still reported
+            check(request, false);
+        } finally {
+            closeIfOpened(request);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async handlers finish on other threads, which this thread-bound count cannot see
+        closeIfOpened(request);
+    }
+
+    private void check(HttpServletRequest request, boolean failOnViolation) {
+        RequestStatementCounter.Statements statements = RequestStatementCounter.current();
+        if (statements == null || request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return;
+        }
+
+        String endpoint = EndpointTags.endpoint(request);
+        int budget = properties.budgetFor(endpoint);
+        Map.Entry<String, Integer> repeated = statements.mostRepeated();
+        boolean overBudget = statements.total() > budget;
+        boolean nPlusOne = repeated != null && repeated.getValue() > properties.getRepeatedStatementThreshold();
+        if (!overBudget && !nPlusOne) {
+            // Checked again later, with whatever is still to come
+            return;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+
+        String reason = overBudget ? "budget" : "repeated_statement";
+        Counter.builder("hibernate.statements.budget.exceeded")
+                .description("Requests that exceeded their SQL statement budget or repeated a statement suspiciously often")
+                .tag(EndpointTags.ENDPOINT, endpoint)
+                .tag("method", request.getMethod())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        String message = String.format(
+                "SQL statement budget exceeded: endpoint=%s method=%s reason=%s statements=%d budget=%d repeated_count=%d repeated_sql=\"%s\"",
+                endpoint, request.getMethod(), reason, statements.total(), budget,
+                repeated != null ? repeated.getValue() : 0,
+                repeated != null ? abbreviate(repeated.getKey()) : "");
+        logger.warn(message);
+        if (failOnViolation) {
+            throw new QueryBudgetExceededException(message);
+        }
+    }
+
+    private static void closeIfOpened(HttpServletRequest request) {
+        if (request.getAttribute(OPENED_ATTRIBUTE) != null) {
+            request.removeAttribute(OPENED_ATTRIBUTE);
+            RequestStatementCounter.close();
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ");
+        return singleLine.length() <= LOGGED_SQL_LENGTH ? singleLine : singleLine.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,38 @@
+package com.innosync.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statement budget per request. Endpoints are keyed by their mapping template, e.g.
+ * {@code "[/api/projects/{projectId}/team-members]": 4} in YAML.
+ */
+@Data
+@ConfigurationProperties(prefix = "query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode {
+        OFF,
+        // Log and count violations
+        WARN,
+        // Also fail the request; meant for tests
+        FAIL
+    }
+
+    private Mode mode = Mode.WARN;
+
+    // Statements allowed for endpoints without their own budget
+    private int defaultBudget = 25;
+
+    // The same statement issued more often than this in one request is reported as a likely N+1
+    private int repeatedStatementThreshold = 10;
+
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
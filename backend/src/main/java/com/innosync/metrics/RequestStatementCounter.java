@@ -0,0 +1,72 @@
+package com.innosync.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements issued on the current thread while a count is open, in total and
+ * per distinct statement. {@link StatementCountingDataSource} reports them, so Hibernate and
+ * {@code JdbcTemplate} statements count alike.
+ */
+public final class RequestStatementCounter {
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private RequestStatementCounter() {
+    }
+
+    /**
+     * Opens a count on this thread unless one is already open. Returns whether a count was
+     * opened, i.e. whether the caller is responsible for closing it.
+     */
+    public static boolean open() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Statements());
+        return true;
+    }
+
+    public static Statements current() {
+        return CURRENT.get();
+    }
+
+    public static Statements close() {
+        Statements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    /**
+     * Adds {@code sql} to the count open on this thread, if any.
+     */
+    public static void record(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+    }
+
+    public static final class Statements {
+
+        private long total;
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        void record(String sql) {
+            total++;
+            bySql.merge(sql, 1, Integer::sum);
+        }
+
+        public long total() {
+            return total;
+        }
+
+        /**
+         * The statement issued most often, typically the per-row query of an N+1 pattern, or
+         * {@code null} when nothing was issued.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return bySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+    }
+}
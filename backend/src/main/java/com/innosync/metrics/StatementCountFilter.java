@@ -0,0 +1,54 @@
+package com.innosync.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued as the
+ * {@code hibernate.statements.per.request} summary, tagged by endpoint template and method.
+ * Runs first so statements issued by the security filters are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean opened = RequestStatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (opened) {
+                record(request, RequestStatementCounter.close().total());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long statements) {
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .description("SQL statements issued while handling a request")
+                .baseUnit("statements")
+                .tag(EndpointTags.ENDPOINT, EndpointTags.endpoint(request))
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
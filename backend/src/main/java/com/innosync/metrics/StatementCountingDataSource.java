@@ -0,0 +1,68 @@
+package com.innosync.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Hands out connections that report every statement they prepare or execute to
+ * {@link RequestStatementCounter}. Sitting under both Hibernate and {@code JdbcTemplate}, it
+ * counts the SQL of the hand-written repositories as well as the JPA ones.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> PREPARING = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTING = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(Connection.class, super.getConnection(), PREPARING);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(Connection.class, super.getConnection(username, password), PREPARING);
+    }
+
+    // Records the SQL passed to the named methods; plain statements created by the connection
+    // carry their SQL on execute instead, so they are wrapped in turn
+    private static <T> T counting(Class<T> type, T target, Set<String> sqlMethods) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName())) {
+                return System.identityHashCode(proxy);
+            }
+            if (sqlMethods.contains(method.getName()) && args != null && args.length > 0 && args[0] instanceof String sql) {
+                RequestStatementCounter.record(sql);
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof Statement statement && "createStatement".equals(method.getName())) {
+                return counting(Statement.class, statement, EXECUTING);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -3,8 +3,8 @@ package com.innosync.model;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.List;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 
 @Entity
@@ -16,7 +16,8 @@ import java.util.ArrayList;
 public class Profile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_profile_seq")
+    @SequenceGenerator(name = "user_profile_seq", sequenceName = "user_profile_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -49,12 +50,13 @@ public class Profile {
     private String resume; // path
     private String profilePicture; //path
 
+    // A set, not a bag, so Hibernate adds and removes single join rows instead of rewriting them all
     @ManyToMany
     @JoinTable(
             name = "user_profile_technology",
             joinColumns = @JoinColumn(name = "user_profile_id"),
             inverseJoinColumns = @JoinColumn(name = "technology_id")
     )
-    private List<Technology> technologies = new ArrayList<>();
+    private Set<Technology> technologies = new LinkedHashSet<>();
 
 }
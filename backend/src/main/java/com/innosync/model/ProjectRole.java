@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,8 +18,10 @@ import java.util.List;
 @AllArgsConstructor
 public class ProjectRole {
 
+    // Ids come from the sequence in blocks, so role inserts can be batched (see db/id-sequences.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_role_seq")
+    @SequenceGenerator(name = "project_role_seq", sequenceName = "project_role_seq", allocationSize = 50)
     private Long id;
 
 
@@ -38,4 +41,13 @@ public class ProjectRole {
             inverseJoinColumns = @JoinColumn(name = "technology_id")
     )
     private List<Technology> technologies = new ArrayList<>();
+
+    // The marketplace's recency key; ids come in per-instance blocks and say nothing about age
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
 }
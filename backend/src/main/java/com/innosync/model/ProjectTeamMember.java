@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class ProjectTeamMember {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_team_member_seq")
+    @SequenceGenerator(name = "project_team_member_seq", sequenceName = "project_team_member_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -10,7 +10,10 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_token_user_id", columnList = "user_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -25,9 +28,14 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
+    // SHA-256 of the token handed to the client (older raw tokens are hashed by db/refresh-tokens.sql)
+    @Column(name = "token", nullable = false, unique = true)
+    private String tokenHash;
+
+    // The raw token, only known right after it has been issued
+    @Transient
     private String token;
 
-    @Column(nullable = false)
+    @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 }
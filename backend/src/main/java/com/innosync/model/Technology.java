@@ -1,10 +1,12 @@
 package com.innosync.model;
 
+import com.innosync.service.TechnologyDictionary;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "technology")
+@EntityListeners(TechnologyDictionary.RemovalListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,6 +14,8 @@ import lombok.*;
 @Builder
 public class Technology {
 
+    // Stays IDENTITY: TechnologyDictionary inserts new names with plain SQL that relies on the
+    // column default, and they are never inserted in bulk through Hibernate
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
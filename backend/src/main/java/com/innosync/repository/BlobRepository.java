@@ -0,0 +1,113 @@
+package com.innosync.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reference counts of stored blobs in {@code blob} (see {@code db/blobs.sql}), with the content
+ * type sniffed when each was uploaded. All methods but {@link #findMediaType} must run inside a
+ * transaction.
+ * <p>
+ * A blob being uploaded has no reference until its transaction commits, so the collector could
+ * see it as garbage and delete it just after it was written. Both sides therefore take a
+ * transaction-scoped advisory lock on the hash: uploads wait for it in {@link #acquire}, the
+ * collector only takes the hashes it can lock without waiting and checks their counts afterwards,
+ * when any upload that got there first has committed.
+ */
+@Repository
+public class BlobRepository {
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO blob (hash, size, media_type, ref_count) VALUES (?, ?, ?, 1)
+            ON CONFLICT (hash) DO UPDATE SET ref_count = blob.ref_count + 1,
+                media_type = coalesce(blob.media_type, excluded.media_type), updated_at = now()
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE blob SET ref_count = ref_count - 1, updated_at = now()
+            WHERE hash = ? AND ref_count > 0
+            """;
+
+    private static final String MEDIA_TYPE_SQL = "SELECT media_type FROM blob WHERE hash = ?";
+
+    private static final String TRY_LOCK_SQL = """
+            SELECT k.hash FROM unnest(?::text[]) AS k(hash)
+            WHERE pg_try_advisory_xact_lock(hashtextextended(k.hash, 0))
+            """;
+
+    private static final String UNREFERENCED_SQL = """
+            SELECT k.hash FROM unnest(?::text[]) AS k(hash)
+            WHERE NOT EXISTS (SELECT 1 FROM blob b WHERE b.hash = k.hash AND b.ref_count > 0)
+            """;
+
+    private static final String RELEASED_SQL = """
+            SELECT hash FROM blob WHERE ref_count = 0 ORDER BY updated_at LIMIT ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM blob WHERE hash = ANY(?::text[]) AND ref_count = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlobRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds a reference to a blob, registering it on first use. Waits while the collector is
+     * looking at the same blob; call it before publishing the blob so a concurrent collection
+     * either finishes first or sees the reference.
+     */
+    public void acquire(String hash, long size, String mediaType) {
+        jdbcTemplate.query(LOCK_SQL, rs -> { }, hash);
+        jdbcTemplate.update(ACQUIRE_SQL, hash, size, mediaType);
+    }
+
+    /**
+     * The content type recorded for a blob; empty when it is not registered, or was registered
+     * before types were recorded.
+     */
+    public Optional<String> findMediaType(String hash) {
+        return jdbcTemplate.queryForList(MEDIA_TYPE_SQL, String.class, hash).stream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    public void release(String hash) {
+        jdbcTemplate.update(RELEASE_SQL, hash);
+    }
+
+    /**
+     * The given hashes nobody references, locked until the end of the transaction. Hashes another
+     * transaction holds are skipped; they are in use.
+     */
+    public List<String> lockUnreferenced(Collection<String> hashes) {
+        String[] candidates = hashes.toArray(String[]::new);
+        String[] locked = jdbcTemplate.queryForList(TRY_LOCK_SQL, String.class, (Object) candidates).toArray(String[]::new);
+        if (locked.length == 0) {
+            return List.of();
+        }
+        // A separate statement, so its snapshot includes uploads that committed while we locked
+        return jdbcTemplate.queryForList(UNREFERENCED_SQL, String.class, (Object) locked);
+    }
+
+    /**
+     * Up to {@code limit} registered blobs whose last reference went away, oldest first.
+     */
+    public List<String> findReleased(int limit) {
+        return jdbcTemplate.queryForList(RELEASED_SQL, String.class, limit);
+    }
+
+    /**
+     * Forgets blobs that are still unreferenced.
+     */
+    public void deleteUnreferenced(Collection<String> hashes) {
+        jdbcTemplate.update(DELETE_SQL, (Object) hashes.toArray(String[]::new));
+    }
+}
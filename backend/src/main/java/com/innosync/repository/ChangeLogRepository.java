@@ -0,0 +1,110 @@
+package com.innosync.repository;
+
+import com.innosync.dto.change.ChangeEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Appends to and reads {@code change_log} (see {@code db/change-log.sql}).
+ * <p>
+ * Identity values are assigned when a row is inserted but become visible when its transaction
+ * commits, so a reader paging by id could step over a row committed late. Rows are therefore
+ * ordered by the id of their writing transaction ({@code xid8}) and only returned once that
+ * transaction is older than every transaction still running; after that no row can appear
+ * before them.
+ */
+@Repository
+public class ChangeLogRepository {
+
+    private static final String APPEND_SQL = """
+            INSERT INTO change_log (entity_type, entity_id, parent_id, operation)
+            SELECT ?, c.entity_id, c.parent_id, ? FROM unnest(?::bigint[], ?::bigint[]) AS c(entity_id, parent_id)
+            """;
+
+    // The page takes the first :limit settled changes, then is completed up to the end of the
+    // last transaction so the cursor, a transaction id, never splits one
+    private static final String READ_SQL = """
+            WITH page AS (
+                SELECT c.txid FROM change_log c
+                WHERE c.txid > CAST(CAST(:since AS text) AS xid8)
+                  AND c.txid < pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY c.txid, c.id
+                LIMIT :limit
+            )
+            SELECT CAST(CAST(c.txid AS text) AS bigint) AS sequence, c.entity_type, c.entity_id, c.parent_id,
+                   c.operation, c.changed_at
+            FROM change_log c
+            WHERE c.txid > CAST(CAST(:since AS text) AS xid8)
+              AND c.txid <= (SELECT p.txid FROM page p ORDER BY p.txid DESC LIMIT 1)
+            ORDER BY c.txid, c.id
+            """;
+
+    // Every transaction before the oldest one still running has settled
+    private static final String SETTLED_CURSOR_SQL =
+            "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) - 1";
+
+    private static final RowMapper<ChangeEntry> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp changedAt = rs.getTimestamp("changed_at");
+        return ChangeEntry.builder()
+                .sequence(rs.getLong("sequence"))
+                .entityType(ChangeEntry.EntityType.valueOf(rs.getString("entity_type")))
+                .entityId(rs.getLong("entity_id"))
+                .parentId(rs.getObject("parent_id", Long.class))
+                .operation(ChangeEntry.Operation.valueOf(rs.getString("operation")))
+                .changedAt(changedAt != null ? changedAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Appends one change per entity id, in a single statement. {@code parentIds} is either null or
+     * parallel to {@code entityIds}.
+     */
+    public void append(ChangeEntry.EntityType entityType, ChangeEntry.Operation operation,
+                       Long[] entityIds, Long[] parentIds) {
+        PreparedStatementCreator creator = con -> {
+            PreparedStatement statement = con.prepareStatement(APPEND_SQL);
+            statement.setString(1, entityType.name());
+            statement.setString(2, operation.name());
+            statement.setArray(3, con.createArrayOf("bigint", entityIds));
+            statement.setArray(4, con.createArrayOf("bigint", parentIds != null ? parentIds : new Long[entityIds.length]));
+            return statement;
+        };
+        jdbcTemplate.update(creator);
+    }
+
+    /**
+     * A cursor for {@link #readSince} past which nothing can still appear: every change before it
+     * is committed and visible to statements starting now. Reading from it returns every change
+     * committed later, and possibly some already visible.
+     */
+    public long settledCursor() {
+        return jdbcTemplate.queryForObject(SETTLED_CURSOR_SQL, Long.class);
+    }
+
+    /**
+     * Settled changes of transactions after {@code since}, oldest first: at least {@code limit}
+     * of them when that many exist, plus the rest of the last transaction.
+     */
+    public List<ChangeEntry> readSince(long since, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(READ_SQL, params, ROW_MAPPER);
+    }
+}
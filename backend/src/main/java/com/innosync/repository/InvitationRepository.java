@@ -5,6 +5,8 @@ import com.innosync.model.InvitationStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,8 +15,16 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
     static final Logger logger = LoggerFactory.getLogger(InvitationRepository.class);
 
     List<Invitation> findByProjectRoleId(Long projectRoleId);
-    List<Invitation> findByRecipientId(Long recipientId);
+
+    // Invitation responses read the sender, recipient, role and project of every invitation
+    @Query("SELECT i FROM Invitation i JOIN FETCH i.sender JOIN FETCH i.recipient u JOIN FETCH i.projectRole r "
+            + "JOIN FETCH r.project WHERE u.id = :recipientId")
+    List<Invitation> findByRecipientId(@Param("recipientId") Long recipientId);
+
     Optional<Invitation> findByRecipientIdAndProjectRoleId(Long recipientId, Long projectRoleId);
     boolean existsByRecipientIdAndProjectRoleIdAndStatus(Long recipientId, Long projectRoleId, InvitationStatus status);
-    List<Invitation> findBySenderId(Long senderId);
+
+    @Query("SELECT i FROM Invitation i JOIN FETCH i.sender s JOIN FETCH i.recipient JOIN FETCH i.projectRole r "
+            + "JOIN FETCH r.project WHERE s.id = :senderId")
+    List<Invitation> findBySenderId(@Param("senderId") Long senderId);
 }
@@ -0,0 +1,112 @@
+package com.innosync.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Background jobs in {@code job} (see {@code db/jobs.sql}). Each method is a single statement, so
+ * workers need no transaction of their own.
+ * <p>
+ * Claiming moves {@code run_at} past a lease instead of marking the job as taken, so a job whose
+ * worker died simply becomes due again. Finishing a job checks the attempt it was claimed with,
+ * so a worker that outlived its lease cannot settle the attempt that replaced it.
+ */
+@Repository
+public class JobRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO job (type, payload) VALUES (?, ?::jsonb)";
+
+    // SKIP LOCKED lets concurrent workers, in this instance or others, each take a different job.
+    // A due job out of attempts lost its worker on the last one, so it is failed instead
+    private static final String CLAIM_SQL = """
+            WITH lost AS (
+                UPDATE job SET status = 'FAILED', last_error = 'Lease ran out on attempt ' || attempts
+                WHERE id IN (
+                    SELECT id FROM job
+                    WHERE status = 'PENDING' AND run_at <= now() AND attempts >= ?
+                    FOR UPDATE SKIP LOCKED
+                )
+            ), due AS (
+                SELECT id FROM job
+                WHERE status = 'PENDING' AND run_at <= now() AND attempts < ?
+                ORDER BY run_at, id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE job j SET attempts = j.attempts + 1, run_at = now() + make_interval(secs => ?)
+            FROM due
+            WHERE j.id = due.id
+            RETURNING j.id, j.type, j.payload::text AS payload, j.attempts
+            """;
+
+    private static final String COMPLETE_SQL = "DELETE FROM job WHERE id = ? AND attempts = ?";
+
+    private static final String RETRY_SQL = """
+            UPDATE job SET run_at = now() + make_interval(secs => ?), last_error = ?
+            WHERE id = ? AND attempts = ? AND status = 'PENDING'
+            """;
+
+    private static final String FAIL_SQL = """
+            UPDATE job SET status = 'FAILED', last_error = ?
+            WHERE id = ? AND attempts = ? AND status = 'PENDING'
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private static final RowMapper<ClaimedJob> CLAIMED_JOB_ROW_MAPPER = (rs, rowNum) -> new ClaimedJob(
+            rs.getLong("id"), rs.getString("type"), rs.getString("payload"), rs.getInt("attempts"));
+
+    /**
+     * A job taken by a worker; {@code attempts} counts this one.
+     */
+    public record ClaimedJob(long id, String type, String payload, int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Queues a job with a JSON payload, due right away. Inside a transaction it only becomes
+     * visible to workers once that commits.
+     */
+    public void insert(String type, String payload) {
+        jdbcTemplate.update(INSERT_SQL, type, payload);
+    }
+
+    /**
+     * Takes the job that has been due the longest, leaving it to other workers again after
+     * {@code lease}. Jobs whose lease ran out after {@code maxAttempts} attempts are marked FAILED
+     * rather than run again, so a job that keeps taking its worker down is not retried forever.
+     */
+    public Optional<ClaimedJob> claim(Duration lease, int maxAttempts) {
+        return jdbcTemplate.query(CLAIM_SQL, CLAIMED_JOB_ROW_MAPPER, maxAttempts, maxAttempts, seconds(lease))
+                .stream().findFirst();
+    }
+
+    public boolean complete(ClaimedJob job) {
+        return jdbcTemplate.update(COMPLETE_SQL, job.id(), job.attempts()) > 0;
+    }
+
+    public boolean retry(ClaimedJob job, Duration delay, String error) {
+        return jdbcTemplate.update(RETRY_SQL, seconds(delay), truncate(error), job.id(), job.attempts()) > 0;
+    }
+
+    public boolean fail(ClaimedJob job, String error) {
+        return jdbcTemplate.update(FAIL_SQL, truncate(error), job.id(), job.attempts()) > 0;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
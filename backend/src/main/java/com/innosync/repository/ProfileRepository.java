@@ -2,12 +2,49 @@ package com.innosync.repository;
 
 import com.innosync.model.Profile;
 import com.innosync.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     // static final Logger logger = LoggerFactory.getLogger(ProfileRepository.class); // Uncomment if you want to log in default methods
     Optional<Profile> findByUser(User user);
+    Optional<Profile> findByUserId(Long userId);
+
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user ORDER BY p.id")
+    List<Profile> findAllWithUser();
+
+    // Row lock (SELECT ... FOR UPDATE) for read-modify-write of a profile's file references
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Profile p WHERE p.id = :id")
+    Optional<Profile> findForUpdateById(@Param("id") Long id);
+
+    // Loads a batch of profiles together with their user and technologies in a single query
+    @Query("SELECT DISTINCT p FROM Profile p JOIN FETCH p.user LEFT JOIN FETCH p.technologies WHERE p.id IN :ids")
+    List<Profile> findWithUserAndTechnologiesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset page: profiles with id strictly greater than the cursor, in id order
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user WHERE p.id > :cursor ORDER BY p.id")
+    List<Profile> findPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // Server-side cursor over every profile; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user ORDER BY p.id")
+    Stream<Profile> streamAllOrderById();
 }
@@ -14,4 +14,5 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     static final Logger logger = LoggerFactory.getLogger(ProjectRepository.class);
 
     List<Project> findByRecruiter(User recruiter);
+    List<Project> findByRecruiterId(Long recruiterId);
 }
@@ -5,16 +5,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProjectRoleRepository extends JpaRepository<ProjectRole, Long> {
+public interface ProjectRoleRepository extends JpaRepository<ProjectRole, Long>, ProjectRoleSearchRepository {
     static final Logger logger = LoggerFactory.getLogger(ProjectRoleRepository.class);
 
-    List<ProjectRole> findByProjectId(Long  projectId);
+    // Role responses list each role's technologies; fetch them with the roles
+    @Query("SELECT r FROM ProjectRole r JOIN FETCH r.project p LEFT JOIN FETCH r.technologies "
+            + "WHERE p.id = :projectId ORDER BY r.id")
+    List<ProjectRole> findByProjectId(@Param("projectId") Long projectId);
     Optional<ProjectRole> findById(Long id);
     @Query("SELECT pr FROM ProjectRole pr JOIN FETCH pr.project")
     List<ProjectRole> findAllWithProjectInfo();
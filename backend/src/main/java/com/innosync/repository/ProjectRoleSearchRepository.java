@@ -0,0 +1,14 @@
+package com.innosync.repository;
+
+import com.innosync.dto.project.RoleSearchResult;
+
+import java.util.List;
+
+public interface ProjectRoleSearchRepository {
+
+    /**
+     * Roles matching {@code criteria}, newest first, continuing after the role {@code beforeId}
+     * when it is not null. Returns at most {@code limit} rows.
+     */
+    List<RoleSearchResult> search(RoleSearchCriteria criteria, Long beforeId, int limit);
+}
@@ -0,0 +1,100 @@
+package com.innosync.repository;
+
+import com.innosync.dto.project.RoleSearchResult;
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.ProjectType;
+import com.innosync.model.TeamSize;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the marketplace query from whichever filters are set. Each filter is served by an index
+ * from {@code db/search-indexes.sql}; the text predicate has to repeat the indexed expression
+ * verbatim for the GIN index to be used.
+ */
+class ProjectRoleSearchRepositoryImpl implements ProjectRoleSearchRepository {
+
+    private static final String SELECT = """
+            SELECT r.id, r.role_name, r.expertise_level,
+                   p.id AS project_id, p.title, p.description, p.project_type, p.team_size, p.created_at,
+                   ARRAY(SELECT t.name FROM role_technology rt JOIN technology t ON t.id = rt.technology_id
+                         WHERE rt.role_id = r.id ORDER BY t.name) AS technologies
+            FROM project_role r
+            JOIN project p ON p.id = r.project_id
+            WHERE TRUE
+            """;
+
+    private static final RowMapper<RoleSearchResult> ROW_MAPPER = (rs, rowNum) -> {
+        Array technologies = rs.getArray("technologies");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        String expertiseLevel = rs.getString("expertise_level");
+        return RoleSearchResult.builder()
+                .roleId(rs.getLong("id"))
+                .roleName(rs.getString("role_name"))
+                .expertiseLevel(expertiseLevel != null ? ExpertiseLevel.valueOf(expertiseLevel) : null)
+                .technologies(Arrays.asList((String[]) technologies.getArray()))
+                .projectId(rs.getLong("project_id"))
+                .projectTitle(rs.getString("title"))
+                .projectDescription(rs.getString("description"))
+                .projectType(ProjectType.valueOf(rs.getString("project_type")))
+                .teamSize(TeamSize.valueOf(rs.getString("team_size")))
+                .projectCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    ProjectRoleSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RoleSearchResult> search(RoleSearchCriteria criteria, Long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+
+        if (beforeId != null) {
+            // Pages are keyed on (created_at, id); the cursor role supplies the key to continue from
+            sql.append(" AND (r.created_at, r.id) < (SELECT c.created_at, c.id FROM project_role c WHERE c.id = :beforeId)");
+            params.addValue("beforeId", beforeId);
+        }
+        if (criteria.expertiseLevel() != null) {
+            sql.append(" AND r.expertise_level = :expertiseLevel");
+            params.addValue("expertiseLevel", criteria.expertiseLevel().name());
+        }
+        if (criteria.projectType() != null) {
+            sql.append(" AND p.project_type = :projectType");
+            params.addValue("projectType", criteria.projectType().name());
+        }
+        if (criteria.teamSize() != null) {
+            sql.append(" AND p.team_size = :teamSize");
+            params.addValue("teamSize", criteria.teamSize().name());
+        }
+        if (criteria.technologies() != null && !criteria.technologies().isEmpty()) {
+            // Names are resolved here rather than from the in-memory dictionary, which may not yet
+            // know technologies created through another instance
+            sql.append(" AND EXISTS (SELECT 1 FROM role_technology rt JOIN technology t ON t.id = rt.technology_id"
+                    + " WHERE rt.role_id = r.id AND lower(t.name) IN (:technologies))");
+            params.addValue("technologies", criteria.technologies().stream()
+                    .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                    .distinct()
+                    .toList());
+        }
+        if (criteria.text() != null && !criteria.text().isBlank()) {
+            sql.append(" AND to_tsvector('english', coalesce(p.title, '') || ' ' || coalesce(p.description, ''))"
+                    + " @@ websearch_to_tsquery('english', :text)");
+            params.addValue("text", criteria.text().trim());
+        }
+        // Ids come from per-instance sequence blocks, so recency is created_at with the id breaking ties
+        sql.append(" ORDER BY r.created_at DESC, r.id DESC LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+}
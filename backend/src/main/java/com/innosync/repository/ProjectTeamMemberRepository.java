@@ -2,6 +2,8 @@ package com.innosync.repository;
 
 import com.innosync.model.ProjectTeamMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +12,10 @@ import java.util.Optional;
 @Repository
 public interface ProjectTeamMemberRepository extends JpaRepository<ProjectTeamMember, Long> {
 
-    List<ProjectTeamMember> findByProjectId(Long projectId);
+    // Team member responses read the user and role of every member; fetch them with the members
+    @Query("SELECT m FROM ProjectTeamMember m JOIN FETCH m.project p JOIN FETCH m.projectRole JOIN FETCH m.user "
+            + "WHERE p.id = :projectId")
+    List<ProjectTeamMember> findByProjectId(@Param("projectId") Long projectId);
 
     List<ProjectTeamMember> findByProjectRoleId(Long projectRoleId);
 
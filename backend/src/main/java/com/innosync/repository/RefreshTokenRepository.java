@@ -5,8 +5,13 @@ import com.innosync.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,7 +19,28 @@ import java.util.UUID;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
     static final Logger logger = LoggerFactory.getLogger(RefreshTokenRepository.class);
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     void deleteByUser(User user);
-    void deleteByToken(String token);
+    void deleteByTokenHash(String tokenHash);
+
+    // Keeps only the user's `keep` most recent tokens (expiry order equals issue order)
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_token WHERE id IN (
+                SELECT id FROM refresh_token WHERE user_id = :userId
+                ORDER BY expiry_date DESC OFFSET :keep
+            )
+            """, nativeQuery = true)
+    int deleteOldestBeyond(@Param("userId") Long userId, @Param("keep") int keep);
+
+    // One purge batch; SKIP LOCKED lets several instances sweep at the same time without blocking
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_token WHERE id IN (
+                SELECT id FROM refresh_token WHERE expiry_date < :now
+                LIMIT :batchSize FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 }
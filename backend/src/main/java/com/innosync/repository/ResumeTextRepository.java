@@ -0,0 +1,46 @@
+package com.innosync.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Text extracted from profile resumes, in columns of {@code user_profile} the {@code Profile}
+ * entity does not map (see {@code db/resume-text.sql}). Hibernate's updates leave them alone.
+ */
+@Repository
+public class ResumeTextRepository {
+
+    // Only while the profile still points at the blob the text came from; a resume replaced in
+    // the meantime has a job of its own
+    private static final String STORE_SQL = """
+            UPDATE user_profile SET resume_text = ?, resume_technology_ids = ?
+            WHERE id = ? AND left(resume, 65) = ? || '/'
+            RETURNING user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResumeTextRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores the text of the resume with blob key {@code key}, null when it has none, and the
+     * technologies it names. Returns the profile's user id, or empty when the profile is gone or
+     * has another resume by now.
+     */
+    public Optional<Long> store(long profileId, String key, String text, Collection<Long> technologyIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(STORE_SQL);
+            statement.setString(1, text);
+            statement.setArray(2, con.createArrayOf("bigint", technologyIds.toArray()));
+            statement.setLong(3, profileId);
+            statement.setString(4, key);
+            return statement;
+        }, (rs, rowNum) -> rs.getLong("user_id")).stream().findFirst();
+    }
+}
@@ -4,6 +4,8 @@ import com.innosync.model.RoleApplication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,8 +15,14 @@ import java.util.Optional;
 public interface RoleApplicationRepository extends JpaRepository<RoleApplication, Long> {
     static final Logger logger = LoggerFactory.getLogger(RoleApplicationRepository.class);
 
-    List<RoleApplication> findByProjectRoleId(Long projectRoleId);
-    List<RoleApplication> findByUserId(Long userId);
+    // Applications are always mapped with their user, role and project, so those come in the same query
+    @Query("SELECT a FROM RoleApplication a JOIN FETCH a.user JOIN FETCH a.projectRole r JOIN FETCH r.project "
+            + "WHERE r.id = :projectRoleId")
+    List<RoleApplication> findByProjectRoleId(@Param("projectRoleId") Long projectRoleId);
+
+    @Query("SELECT a FROM RoleApplication a JOIN FETCH a.user u JOIN FETCH a.projectRole r JOIN FETCH r.project "
+            + "WHERE u.id = :userId")
+    List<RoleApplication> findByUserId(@Param("userId") Long userId);
     Optional<RoleApplication> findByUserIdAndProjectRoleId(Long userId, Long projectRoleId);
     boolean existsByUserIdAndProjectRoleId(Long userId, Long projectRoleId);
 }
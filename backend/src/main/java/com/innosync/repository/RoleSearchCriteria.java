@@ -0,0 +1,19 @@
+package com.innosync.repository;
+
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.ProjectType;
+import com.innosync.model.TeamSize;
+
+import java.util.Collection;
+
+/**
+ * Filters for the role marketplace search. Null fields (and an empty technology list) match
+ * everything; {@code technologies} matches roles requiring any of the named technologies,
+ * ignoring case.
+ */
+public record RoleSearchCriteria(Collection<String> technologies,
+                                 ExpertiseLevel expertiseLevel,
+                                 ProjectType projectType,
+                                 TeamSize teamSize,
+                                 String text) {
+}
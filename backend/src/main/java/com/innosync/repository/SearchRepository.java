@@ -0,0 +1,59 @@
+package com.innosync.repository;
+
+import com.innosync.dto.search.SearchResult;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ranked full-text queries over {@code search_document}, which database triggers keep in sync
+ * with projects, roles and profiles (see {@code db/search-documents.sql}).
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String SEARCH_SQL = """
+            SELECT d.entity_type, d.entity_id, d.parent_id, d.title, d.summary,
+                   ts_rank_cd(d.document, q.query) AS rank
+            FROM search_document d, websearch_to_tsquery('english', :text) AS q(query)
+            WHERE d.document @@ q.query
+              AND (:allTypes OR d.entity_type IN (:types))
+            ORDER BY rank DESC, d.entity_type, d.entity_id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final RowMapper<SearchResult> ROW_MAPPER = (rs, rowNum) -> SearchResult.builder()
+            .type(SearchResult.Type.valueOf(rs.getString("entity_type")))
+            .id(rs.getLong("entity_id"))
+            .parentId(rs.getObject("parent_id", Long.class))
+            .title(rs.getString("title"))
+            .summary(rs.getString("summary"))
+            .rank(rs.getDouble("rank"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Documents matching {@code text} (web search syntax), best match first. An empty
+     * {@code types} collection searches every type.
+     */
+    public List<SearchResult> search(String text, Collection<SearchResult.Type> types, int offset, int limit) {
+        boolean allTypes = types == null || types.isEmpty();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("text", text)
+                .addValue("allTypes", allTypes)
+                // IN () is not valid SQL, so the list always carries at least one element
+                .addValue("types", allTypes ? List.of("") : types.stream().map(Enum::name).toList())
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH_SQL, params, ROW_MAPPER);
+    }
+}
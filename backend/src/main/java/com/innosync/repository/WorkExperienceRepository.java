@@ -5,9 +5,10 @@ import com.innosync.model.WorkExperience;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WorkExperienceRepository extends JpaRepository<WorkExperience, Long> {
@@ -15,7 +16,6 @@ public interface WorkExperienceRepository extends JpaRepository<WorkExperience,
 
     List<WorkExperience> findByProfile(Profile profile);
 
-    @Modifying
-    @Transactional
-    void deleteByProfile(Profile profile);
+    @Query("SELECT w FROM WorkExperience w WHERE w.profile.id IN :profileIds ORDER BY w.profile.id, w.id")
+    List<WorkExperience> findByProfileIdIn(@Param("profileIds") Collection<Long> profileIds);
 }
@@ -0,0 +1,20 @@
+package com.innosync.security;
+
+import java.security.Principal;
+
+/**
+ * Principal published by {@link JwtAuthFilter}. The id and full name come straight from the access
+ * token, so services can scope queries by user without looking the user up again. {@code id} is
+ * {@code null} only for a token issued before these claims existed whose user no longer exists.
+ */
+public record AuthenticatedUser(Long id, String email, String fullName) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public boolean hasId() {
+        return id != null;
+    }
+}
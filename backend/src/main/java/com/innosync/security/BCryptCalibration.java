@@ -0,0 +1,43 @@
+package com.innosync.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks a BCrypt cost factor for the current host. One hash is timed at the minimum cost and the
+ * cost is raised while the estimated time (doubling per step) stays within the target.
+ */
+public final class BCryptCalibration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCalibration.class);
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptCalibration() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD); // warm up
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        long nanos = System.nanoTime() - start;
+
+        int strength = chooseStrength(nanos, target.toNanos(), minStrength, maxStrength);
+        logger.info("BCrypt cost {} took {} ms; using cost {} for a {} ms target",
+                minStrength, nanos / 1_000_000, strength, target.toMillis());
+        return strength;
+    }
+
+    static int chooseStrength(long nanosAtMin, long targetNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long estimate = nanosAtMin;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            estimate *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
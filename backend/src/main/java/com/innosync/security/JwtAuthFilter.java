@@ -1,5 +1,6 @@
 package com.innosync.security;
 
+import com.innosync.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -28,19 +32,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
 
-        String token = null;
-        String email = null;
+        AuthenticatedUser principal = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                email = jwtUtil.extractUsername(token);
-            }
+            principal = jwtUtil.resolvePrincipal(authHeader.substring(7), this::withUserDetails)
+                    .orElse(null);
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
+                    new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
             authentication.setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(request)
             );
@@ -50,4 +51,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Tokens issued before the uid/name claims were added still need one lookup to fill them in;
+    // JwtUtil caches the result with the verified token
+    private AuthenticatedUser withUserDetails(AuthenticatedUser principal) {
+        if (principal.hasId()) {
+            return principal;
+        }
+        return userRepository.findByEmail(principal.email())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getFullName()))
+                .orElse(principal);
+    }
 }
@@ -0,0 +1,89 @@
+package com.innosync.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.*;
+
+/**
+ * HMAC keys used to sign and verify access tokens, identified by key id ({@code kid}).
+ * <p>
+ * Tokens are signed with the current key ({@code JWT_SECRET} / {@code JWT_KEY_ID}). Keys listed in
+ * {@code JWT_PREVIOUS_KEYS} as {@code kid:secret} pairs, comma separated, are only accepted for
+ * verification, so a key can be rotated by promoting a new one while tokens signed with the old
+ * one stay valid until they expire. Secrets are taken as UTF-8 text, or as Base64 when prefixed
+ * with {@code base64:}, and must be at least 256 bits long.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public static final String DEFAULT_KEY_ID = "default";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String BASE64_PREFIX = "base64:";
+
+    private final String currentKeyId;
+    private final Key currentKey;
+    private final Map<String, Key> keys;
+
+    public JwtKeyRing(@Value("${JWT_SECRET:}") String currentSecret,
+                      @Value("${JWT_KEY_ID:" + DEFAULT_KEY_ID + "}") String currentKeyId,
+                      @Value("${JWT_PREVIOUS_KEYS:}") String previousKeys) {
+        this.currentKeyId = currentKeyId == null || currentKeyId.isBlank() ? DEFAULT_KEY_ID : currentKeyId.trim();
+        if (currentSecret == null || currentSecret.isBlank()) {
+            logger.warn("JWT_SECRET is not set; signing with a random key. Tokens will not survive a restart "
+                    + "and will not be accepted by other instances.");
+            this.currentKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            this.currentKey = toKey(this.currentKeyId, currentSecret);
+        }
+
+        Map<String, Key> ring = new HashMap<>();
+        ring.put(this.currentKeyId, currentKey);
+        if (previousKeys != null && !previousKeys.isBlank()) {
+            for (String entry : previousKeys.split(",")) {
+                int separator = entry.indexOf(':');
+                if (separator <= 0) {
+                    throw new IllegalStateException("JWT_PREVIOUS_KEYS entries must look like kid:secret");
+                }
+                String keyId = entry.substring(0, separator).trim();
+                if (ring.containsKey(keyId)) {
+                    throw new IllegalStateException("Duplicate JWT key id: " + keyId);
+                }
+                ring.put(keyId, toKey(keyId, entry.substring(separator + 1).trim()));
+            }
+        }
+        this.keys = Map.copyOf(ring);
+        logger.info("JWT key ring loaded: signing with '{}', {} key(s) accepted", this.currentKeyId, keys.size());
+    }
+
+    public String currentKeyId() {
+        return currentKeyId;
+    }
+
+    public Key currentKey() {
+        return currentKey;
+    }
+
+    public Optional<Key> findKey(String keyId) {
+        return Optional.ofNullable(keys.get(keyId));
+    }
+
+    private static Key toKey(String keyId, String secret) {
+        byte[] bytes = secret.startsWith(BASE64_PREFIX)
+                ? Base64.getDecoder().decode(secret.substring(BASE64_PREFIX.length()))
+                : secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("JWT secret for key '" + keyId + "' must be at least "
+                    + MIN_SECRET_BYTES + " bytes long");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+}
@@ -1,38 +1,104 @@
 package com.innosync.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.innosync.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 @Component
-public class JwtUtil {
-    private final Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+public class JwtUtil implements MeterBinder {
+    private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(5);
+    static final String USER_ID_CLAIM = "uid";
+    static final String FULL_NAME_CLAIM = "name";
+
+    private final JwtKeyRing keyRing;
     private final long expirationMs = 10 * 24 * 60 * 60 * 1000;
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser jwtParser;
+    // SHA-256 of recently verified tokens -> principal; entries never outlive the token itself
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtUtil(JwtKeyRing keyRing) {
+        this(keyRing, DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_TTL);
+    }
+
+    @Autowired
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+                   @Value("${jwt.cache.ttl:PT5M}") Duration cacheTtl) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingResolver(keyRing))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new TokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
+    }
 
     public String generateToken(String email) {
+        return buildToken(email, Map.of());
+    }
+
+    /**
+     * Issues a token that also carries the user's id and full name, which lets
+     * {@link JwtAuthFilter} build an {@link AuthenticatedUser} without a database lookup.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        if (user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+        }
+        if (user.getFullName() != null) {
+            claims.put(FULL_NAME_CLAIM, user.getFullName());
+        }
+        return buildToken(user.getEmail(), claims);
+    }
+
+    private String buildToken(String email, Map<String, Object> claims) {
         long currentTimeMillis = System.currentTimeMillis();
         
         String subject = (email != null && email.isEmpty()) ? "<<EMPTY>>" : email;
         
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.currentKeyId())
+                .addClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(currentTimeMillis))
                 .setExpiration(new Date(currentTimeMillis + expirationMs))
                 .claim("nonce", System.nanoTime())
-                .signWith(secretKey)
+                .signWith(keyRing.currentKey())
                 .compact();
     }
 
     public String extractUsername(String token) {
-        String subject = extractClaim(token, Claims::getSubject);
-        return "<<EMPTY>>".equals(subject) ? "" : subject;
+        return subjectOf(extractAllClaims(token));
     }
 
     public Date extractExpiration(String token) {
@@ -44,18 +110,66 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
+        return validateAndExtractClaims(token).isPresent();
+    }
+
+    /**
+     * Verifies the token's signature and expiry and returns its claims, parsing it exactly once.
+     */
+    public Optional<Claims> validateAndExtractClaims(String token) {
         if (token == null || token.trim().isEmpty()) {
-            return false;
+            return Optional.empty();
         }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return Optional.of(jwtParser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the principal of a valid token; its id is {@code null} for tokens issued without
+     * user claims. Tokens verified recently are answered from a cache keyed by the token's digest,
+     * skipping signature verification and claim decoding.
+     */
+    public Optional<AuthenticatedUser> resolvePrincipal(String token) {
+        return resolvePrincipal(token, UnaryOperator.identity());
+    }
+
+    /**
+     * Like {@link #resolvePrincipal(String)}, but a principal without an id is first passed to
+     * {@code complete}, and what it returns is cached in its place. Tokens issued without user
+     * claims then pay for filling them in once per cache lifetime rather than on every request.
+     */
+    public Optional<AuthenticatedUser> resolvePrincipal(String token, UnaryOperator<AuthenticatedUser> complete) {
+        if (token == null || token.trim().isEmpty()) {
+            return Optional.empty();
         }
+        String digest = TokenHashing.sha256Hex(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.principal());
+        }
+
+        Optional<Claims> claims = validateAndExtractClaims(token);
+        AuthenticatedUser principal = claims.map(JwtUtil::principalOf).orElse(null);
+        if (principal == null) {
+            return Optional.empty();
+        }
+        if (!principal.hasId()) {
+            principal = complete.apply(principal);
+        }
+        verifiedTokens.put(digest, new VerifiedToken(principal, claims.get().getExpiration().getTime()));
+        return Optional.of(principal);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verification");
+    }
+
+    CacheStats verificationCacheStats() {
+        return verifiedTokens.stats();
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -64,10 +178,68 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    private static String subjectOf(Claims claims) {
+        String subject = claims.getSubject();
+        return "<<EMPTY>>".equals(subject) ? "" : subject;
+    }
+
+    private static AuthenticatedUser principalOf(Claims claims) {
+        String email = subjectOf(claims);
+        if (email == null) {
+            return null;
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new AuthenticatedUser(userId == null ? null : userId.longValue(), email,
+                claims.get(FULL_NAME_CLAIM, String.class));
+    }
+
+    // Picks the verification key from the token's kid header; tokens without one use the current key
+    private static final class KeyRingResolver extends SigningKeyResolverAdapter {
+        private final JwtKeyRing keyRing;
+
+        private KeyRingResolver(JwtKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                return keyRing.currentKey();
+            }
+            return keyRing.findKey(keyId)
+                    .orElseThrow(() -> new SignatureException("Unknown signing key id: " + keyId));
+        }
+    }
+
+    private record VerifiedToken(AuthenticatedUser principal, long expiresAtMillis) {
+    }
+
+    // Expires each entry at the earlier of the token's own expiry and the configured TTL
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        private final long ttlNanos;
+
+        private TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.innosync.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small dedicated pool so bursts of sign-ups and logins cannot tie up
+ * request threads. The pool's queue is bounded; once it is full, callers get 429 instead of
+ * waiting behind the backlog.
+ */
+@Service
+public class PasswordHashingService implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor executor;
+    private final AtomicInteger rejections = new AtomicInteger();
+
+    @Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${password.hashing.threads:0}") int threads,
+                                  @Value("${password.hashing.queue-capacity:64}") int queueCapacity) {
+        this(passwordEncoder, newExecutor(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity));
+    }
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, Executor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password and, when it matches a hash made with an outdated cost, also returns a
+     * fresh hash for the caller to store.
+     */
+    public CompletableFuture<PasswordCheck> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new PasswordCheck(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new PasswordCheck(true, upgradedHash);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            logger.warn("Password hashing pool saturated, rejecting request");
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many sign-in requests, please retry shortly");
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (executor instanceof ExecutorService executorService) {
+            ExecutorServiceMetrics.monitor(registry, executorService, "password.hashing");
+        }
+        FunctionCounter.builder("password.hashing.rejected", rejections, AtomicInteger::get)
+                .description("Hashing requests rejected because the pool was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public record PasswordCheck(boolean matches, String upgradedHash) {
+    }
+}
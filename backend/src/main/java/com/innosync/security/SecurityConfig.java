@@ -2,6 +2,8 @@ package com.innosync.security;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +18,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.time.Duration;
 import java.util.List;
 import java.util.Arrays;
 
@@ -52,6 +55,8 @@ public class SecurityConfig {
                                 "/swagger-ui/favicon-16x16.png",
                                 "/error"
                         ).permitAll()
+                        // Actuator is served on the management port (MANAGEMENT_PORT), which is not published
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
@@ -77,8 +82,13 @@ public class SecurityConfig {
         return source;
     }
 
+    // A fixed strength wins; otherwise the cost is calibrated to the target hash time on this host
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:0}") int strength,
+                                           @Value("${password.bcrypt.target-time:PT0.25S}") Duration targetTime,
+                                           @Value("${password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${password.bcrypt.max-strength:14}") int maxStrength) {
+        int cost = strength > 0 ? strength : BCryptCalibration.calibrate(targetTime, minStrength, maxStrength);
+        return new BCryptPasswordEncoder(cost);
     }
 }
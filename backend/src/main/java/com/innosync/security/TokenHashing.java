@@ -0,0 +1,25 @@
+package com.innosync.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class TokenHashing {
+
+    private TokenHashing() {
+    }
+
+    /**
+     * Hex encoded SHA-256 of a bearer credential, used wherever a token has to be looked up or
+     * kept without storing the token itself.
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
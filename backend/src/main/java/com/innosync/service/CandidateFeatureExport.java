@@ -0,0 +1,232 @@
+package com.innosync.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped NDJSON snapshot of the candidate features the ML recommender uses, without the free
+ * text of full profiles. The first line maps technology ids to names:
+ * <pre>
+ * {"technologies":{"1":"Java","2":"Spring Boot"}}
+ * {"id":7,"user_id":12,"position":"Backend Developer","education":"MASTER","expertise_level":"MID",
+ *  "experience_years":"THREE_TO_FIVE","technology_ids":[1,2],"company":"Acme"}
+ * </pre>
+ * {@code company} is the company of the most recent work experience. The snapshot is built once
+ * and served from memory until a profile is saved through this instance or it is older than
+ * {@code profile.features.max-age}, so other instances' writes show up within that time. Its weak
+ * ETag is a digest of the uncompressed content, so equal snapshots carry equal ETags whether or
+ * not they are served compressed.
+ */
+@Service
+public class CandidateFeatureExport {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateFeatureExport.class);
+
+    private static final String TECHNOLOGIES_SQL = "SELECT id, name FROM technology ORDER BY id";
+
+    private static final String FEATURES_SQL = """
+            SELECT p.id, p.user_id, p.position, p.education, p.expertise_level, p.experience_years,
+                   ARRAY(SELECT t.technology_id FROM user_profile_technology t
+                         WHERE t.user_profile_id = p.id ORDER BY t.technology_id) AS technology_ids,
+                   (SELECT w.company FROM work_experience w WHERE w.user_profile_id = p.id
+                    ORDER BY w.start_date DESC, w.id DESC LIMIT 1) AS company
+            FROM user_profile p
+            ORDER BY p.id
+            """;
+
+    private static final int FETCH_SIZE = 500;
+
+    public record Snapshot(byte[] gzipped, String etag, int profiles, Instant builtAt) {
+    }
+
+    // A snapshot with the generation that was current when its build started
+    private record Cached(Snapshot snapshot, long generation) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    // Bumped by every invalidation; a snapshot only serves while its generation is current
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Cached current;
+
+    @Autowired
+    public CandidateFeatureExport(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${profile.features.max-age:PT30S}") Duration maxAge) {
+        this(jdbcTemplate, readOnly(transactionManager), objectMapper, maxAge, Clock.systemUTC());
+    }
+
+    CandidateFeatureExport(JdbcTemplate jdbcTemplate, TransactionOperations readOnlyTransaction,
+                           ObjectMapper objectMapper, Duration maxAge, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.objectMapper = objectMapper;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    public Snapshot snapshot() {
+        Cached cached = current;
+        if (isFresh(cached)) {
+            return cached.snapshot();
+        }
+        synchronized (this) {
+            // Concurrent callers wait for a single rebuild instead of each running the export
+            cached = current;
+            if (!isFresh(cached)) {
+                // Read before the export, so a profile saved while it runs, which the export may
+                // have missed, also invalidates what it builds
+                long started = generation.get();
+                // The driver only honours the fetch size inside a transaction
+                Snapshot snapshot = readOnlyTransaction.execute(status -> build());
+                cached = new Cached(snapshot, started);
+                current = cached;
+            }
+            return cached.snapshot();
+        }
+    }
+
+    /**
+     * Drops the cached snapshot once the surrounding transaction, if any, commits.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private boolean isFresh(Cached cached) {
+        return cached != null && cached.generation() == generation.get()
+                && cached.snapshot().builtAt().plus(maxAge).isAfter(clock.instant());
+    }
+
+    private Snapshot build() {
+        long started = System.nanoTime();
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int[] profiles = {0};
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer);
+             OutputStream out = new DigestOutputStream(gzip, digest);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("technologies");
+            jdbcTemplate.query(TECHNOLOGIES_SQL, rs -> {
+                writeField(generator, rs.getString("id"), rs.getString("name"));
+            });
+            generator.writeEndObject();
+            generator.writeEndObject();
+            newLine(generator);
+
+            jdbcTemplate.query(con -> {
+                var statement = con.prepareStatement(FEATURES_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                writeProfile(generator, rs);
+                profiles[0]++;
+            });
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build candidate feature export", e);
+        }
+
+        String etag = "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        Snapshot snapshot = new Snapshot(buffer.toByteArray(), etag, profiles[0], clock.instant());
+        logger.info("Built candidate feature export: {} profiles, {} bytes gzipped, {} ms",
+                snapshot.profiles(), snapshot.gzipped().length, (System.nanoTime() - started) / 1_000_000);
+        return snapshot;
+    }
+
+    private static void writeProfile(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("user_id", rs.getLong("user_id"));
+            generator.writeStringField("position", rs.getString("position"));
+            generator.writeStringField("education", rs.getString("education"));
+            generator.writeStringField("expertise_level", rs.getString("expertise_level"));
+            generator.writeStringField("experience_years", rs.getString("experience_years"));
+            Array technologyIds = rs.getArray("technology_ids");
+            Long[] ids = (Long[]) technologyIds.getArray();
+            generator.writeArrayFieldStart("technology_ids");
+            for (Long id : ids) {
+                generator.writeNumber(id);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("company", rs.getString("company"));
+            generator.writeEndObject();
+            newLine(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeField(JsonGenerator generator, String name, String value) {
+        try {
+            generator.writeStringField(name, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void newLine(JsonGenerator generator) throws IOException {
+        generator.writeRaw('\n');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.innosync.service;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.dto.change.ChangeFeedResponse;
+import com.innosync.repository.ChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records entity changes for downstream consumers and serves them back in commit order.
+ * Changes must be recorded inside the transaction making them, so a change is published if and
+ * only if it commits.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    public ChangeFeedService(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEntry.EntityType entityType, Long entityId, Long parentId, ChangeEntry.Operation operation) {
+        changeLogRepository.append(entityType, operation, new Long[]{entityId}, new Long[]{parentId});
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeEntry.EntityType entityType, Collection<Long> entityIds, Long parentId,
+                          ChangeEntry.Operation operation) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        Long[] parentIds = new Long[entityIds.size()];
+        Arrays.fill(parentIds, parentId);
+        changeLogRepository.append(entityType, operation, entityIds.toArray(Long[]::new), parentIds);
+    }
+
+    /**
+     * Changes committed after {@code since}, the {@code next_cursor} of the previous call (0 to
+     * start from the beginning). Changes of transactions that overlap one still running are held
+     * back until it finishes.
+     */
+    public ChangeFeedResponse readChanges(Long since, int limit) {
+        long cursor = since == null ? 0 : since;
+        if (cursor < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<ChangeEntry> changes = changeLogRepository.readSince(cursor, pageSize);
+        long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getSequence();
+        logger.debug("Read {} changes after {} (next cursor {})", changes.size(), cursor, nextCursor);
+        return new ChangeFeedResponse(changes, nextCursor, changes.size() >= pageSize);
+    }
+}
@@ -4,6 +4,7 @@ import com.innosync.dto.project.InvitationRequest;
 import com.innosync.dto.project.InvitationResponse;
 import com.innosync.model.*;
 import com.innosync.repository.*;
+import com.innosync.security.AuthenticatedUser;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -112,6 +113,15 @@ public class InvitationService {
                 .collect(Collectors.toList());
     }
 
+    public List<InvitationResponse> getSentInvitations(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getSentInvitations(principal.email());
+        }
+        return invitationRepository.findBySenderId(principal.id()).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public List<InvitationResponse> getReceivedInvitations(String userEmail) {
         logger.debug("Getting received invitations for user: {}", userEmail);
         User user = userRepository.findByEmail(userEmail)
@@ -123,7 +133,17 @@ public class InvitationService {
                 .collect(Collectors.toList());
     }
 
-    private InvitationResponse mapToResponse(Invitation invitation) {
+    public List<InvitationResponse> getReceivedInvitations(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getReceivedInvitations(principal.email());
+        }
+        return invitationRepository.findByRecipientId(principal.id()).stream()
+                .map(this::mapToResponse)
+                .sorted(Comparator.comparing(InvitationResponse::getSentAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    InvitationResponse mapToResponse(Invitation invitation) {
         return InvitationResponse.builder()
                 .id(invitation.getId())
                 .projectRoleId(invitation.getProjectRole().getId())
@@ -1,5 +1,12 @@
 package com.innosync.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.dto.profile.WorkExperienceRequest;
 import com.innosync.dto.profile.WorkExperienceResponse;
 import com.innosync.dto.profile.ProfileRequest;
 import com.innosync.dto.profile.ProfileResponse;
@@ -8,17 +15,26 @@ import com.innosync.model.Technology;
 import com.innosync.model.User;
 import com.innosync.model.WorkExperience;
 import com.innosync.repository.ProfileRepository;
-import com.innosync.repository.TechnologyRepository;
 import com.innosync.repository.UserRepository;
 import com.innosync.repository.WorkExperienceRepository;
+import com.innosync.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import java.util.List;
 
@@ -28,6 +44,13 @@ public class ProfileService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProfileService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    // How many streamed rows are written before flushing and detaching them from the session
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Profiles hydrated per IN (...) query; keeps bind parameter counts well under the driver limit
+    private static final int HYDRATION_BATCH_SIZE = 500;
+
     @Autowired
     private ProfileRepository profileRepository;
 
@@ -38,8 +61,28 @@ public class ProfileService {
     private WorkExperienceRepository workExperienceRepository;
 
     @Autowired
-    private TechnologyRepository technologyRepository;
+    private TechnologyDictionary technologyDictionary;
+
+    @Autowired
+    private TechnologyIndex technologyIndex;
+
+    @Autowired
+    private CandidateFeatureExport candidateFeatureExport;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    /**
+     * Saves the whole profile. Work experience and technologies are merged into what is stored,
+     * so unchanged entries cost no writes and only the differences are inserted, updated or
+     * deleted. A save that changes nothing is not reindexed or published to the change feed.
+     */
     @Transactional
     public ProfileResponse createOrUpdateProfile(String email, ProfileRequest request) {
         logger.info("Creating or updating profile for email: {}", email);
@@ -48,51 +91,162 @@ public class ProfileService {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             logger.debug("User found for profile update: {}", user.getEmail());
             Profile profile = profileRepository.findByUser(user).orElse(new Profile());
+            boolean created = profile.getId() == null;
             profile.setUser(user);
-            profile.setTelegram(request.getTelegram());
-            profile.setGithub(request.getGithub());
-            profile.setBio(request.getBio());
-            profile.setPosition(request.getPosition());
-            profile.setEducation(request.getEducation());
-            profile.setExpertise(request.getExpertise());
-            profile.setExpertiseLevel(request.getExpertiseLevel());
-            profile.setExperienceYears(request.getExperienceYears());
-            if (request.getTechnologies() != null && !request.getTechnologies().isEmpty()) {
-                List<Technology> technologies = request.getTechnologies().stream()
-                        .map(name -> technologyRepository.findByName(name)
-                                .orElseGet(() -> technologyRepository.save(Technology.builder().name(name).build())))
-                        .collect(Collectors.toList());
-                profile.setTechnologies(technologies);
+            boolean changed = applyFields(profile, request, false);
+            List<Technology> technologies = request.getTechnologies() != null && !request.getTechnologies().isEmpty()
+                    ? technologyDictionary.resolve(request.getTechnologies())
+                    : Collections.emptyList();
+            if (mergeTechnologies(profile, technologies)) {
+                changed = true;
                 logger.debug("Technologies set for profile: {}", technologies);
-            } else {
-                profile.setTechnologies(Collections.emptyList());
             }
             final Profile savedProfile = profileRepository.save(profile);
             logger.info("Profile saved for user: {}", user.getEmail());
-            workExperienceRepository.deleteByProfile(savedProfile);
-            logger.debug("Deleted old work experiences for profile: {}", savedProfile.getId());
-            if (request.getWorkExperience() != null && !request.getWorkExperience().isEmpty()) {
-                List<WorkExperience> experiences = request.getWorkExperience().stream()
-                        .map(req -> WorkExperience.builder()
-                                .profile(savedProfile)
-                                .startDate(req.getStartDate())
-                                .endDate(req.getEndDate())
-                                .position(req.getPosition())
-                                .company(req.getCompany())
-                                .description(req.getDescription())
-                                .build())
-                        .collect(Collectors.toList());
-
-                workExperienceRepository.saveAll(experiences);
-                logger.debug("Saved new work experiences for profile: {}", savedProfile.getId());
+            List<WorkExperience> stored = created
+                    ? Collections.emptyList()
+                    : workExperienceRepository.findByProfile(savedProfile);
+            if (mergeWorkExperience(savedProfile, stored, request.getWorkExperience())) {
+                changed = true;
+                logger.debug("Merged work experiences for profile: {}", savedProfile.getId());
+            }
+            if (created || changed) {
+                publishChange(savedProfile, user);
             }
-            return mapToResponse(savedProfile, user);
+            return mapToResponse(savedProfile);
         } catch (Exception e) {
             logger.error("Failed to create or update profile for email: {}", email, e);
             throw e;
         }
     }
 
+    /**
+     * Updates only the fields present in {@code request}; null fields keep their stored value and
+     * work experience and technologies are left alone.
+     */
+    @Transactional
+    public ProfileResponse patchProfile(String email, ProfileRequest request) {
+        logger.info("Patching profile for email: {}", email);
+        final User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        final Profile profile = profileRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+        if (applyFields(profile, request, true)) {
+            publishChange(profileRepository.save(profile), user);
+            logger.info("Profile patched for user: {}", user.getEmail());
+        }
+        return mapToResponse(profile);
+    }
+
+    private void publishChange(Profile profile, User user) {
+        technologyIndex.update(profile);
+        candidateFeatureExport.invalidate();
+        changeFeedService.record(ChangeEntry.EntityType.PROFILE, profile.getId(), user.getId(), ChangeEntry.Operation.UPSERT);
+    }
+
+    // Copies the scalar fields of the request, skipping nulls when partial; true if any value changed
+    private static boolean applyFields(Profile profile, ProfileRequest request, boolean partial) {
+        boolean changed = assign(profile::getTelegram, profile::setTelegram, request.getTelegram(), partial);
+        changed |= assign(profile::getGithub, profile::setGithub, request.getGithub(), partial);
+        changed |= assign(profile::getBio, profile::setBio, request.getBio(), partial);
+        changed |= assign(profile::getPosition, profile::setPosition, request.getPosition(), partial);
+        changed |= assign(profile::getEducation, profile::setEducation, request.getEducation(), partial);
+        changed |= assign(profile::getExpertise, profile::setExpertise, request.getExpertise(), partial);
+        changed |= assign(profile::getExpertiseLevel, profile::setExpertiseLevel, request.getExpertiseLevel(), partial);
+        changed |= assign(profile::getExperienceYears, profile::setExperienceYears, request.getExperienceYears(), partial);
+        return changed;
+    }
+
+    private static <T> boolean assign(Supplier<T> getter, Consumer<T> setter, T value, boolean partial) {
+        if ((partial && value == null) || Objects.equals(getter.get(), value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Brings the profile's technologies to {@code wanted} by id, removing and adding single
+     * entries so Hibernate only writes the join rows that differ.
+     */
+    static boolean mergeTechnologies(Profile profile, List<Technology> wanted) {
+        Set<Long> wantedIds = wanted.stream().map(Technology::getId).collect(Collectors.toSet());
+        Set<Technology> current = profile.getTechnologies();
+        boolean changed = current.removeIf(technology -> !wantedIds.contains(technology.getId()));
+        Set<Long> currentIds = current.stream().map(Technology::getId).collect(Collectors.toCollection(HashSet::new));
+        for (Technology technology : wanted) {
+            if (currentIds.add(technology.getId())) {
+                current.add(technology);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Merges the requested work experience into the stored rows. Entries equal to a stored row
+     * keep it untouched; the remaining entries overwrite the remaining rows in order, so an edit
+     * becomes an UPDATE; leftovers on either side are inserted or deleted.
+     */
+    boolean mergeWorkExperience(Profile profile, List<WorkExperience> stored, List<WorkExperienceRequest> requests) {
+        List<WorkExperienceRequest> incoming = requests != null ? requests : Collections.emptyList();
+        Map<ExperienceKey, Deque<WorkExperience>> unmatched = new LinkedHashMap<>();
+        for (WorkExperience experience : stored) {
+            unmatched.computeIfAbsent(ExperienceKey.of(experience), key -> new ArrayDeque<>()).add(experience);
+        }
+        List<WorkExperienceRequest> pending = new ArrayList<>();
+        for (WorkExperienceRequest request : incoming) {
+            Deque<WorkExperience> same = unmatched.get(ExperienceKey.of(request));
+            if (same == null || same.poll() == null) {
+                pending.add(request);
+            }
+        }
+        Iterator<WorkExperience> reusable = unmatched.values().stream().flatMap(Collection::stream).iterator();
+
+        List<WorkExperience> inserts = new ArrayList<>();
+        for (WorkExperienceRequest request : pending) {
+            if (reusable.hasNext()) {
+                // Managed row: dirty checking turns this into an UPDATE on flush
+                copy(request, reusable.next());
+            } else {
+                WorkExperience experience = WorkExperience.builder().profile(profile).build();
+                copy(request, experience);
+                inserts.add(experience);
+            }
+        }
+        List<WorkExperience> deletes = new ArrayList<>();
+        reusable.forEachRemaining(deletes::add);
+
+        if (!inserts.isEmpty()) {
+            workExperienceRepository.saveAll(inserts);
+        }
+        if (!deletes.isEmpty()) {
+            workExperienceRepository.deleteAll(deletes);
+        }
+        return !pending.isEmpty() || !deletes.isEmpty();
+    }
+
+    private static void copy(WorkExperienceRequest request, WorkExperience experience) {
+        experience.setStartDate(request.getStartDate());
+        experience.setEndDate(request.getEndDate());
+        experience.setPosition(request.getPosition());
+        experience.setCompany(request.getCompany());
+        experience.setDescription(request.getDescription());
+    }
+
+    private record ExperienceKey(LocalDate startDate, LocalDate endDate, String position, String company, String description) {
+        static ExperienceKey of(WorkExperience experience) {
+            return new ExperienceKey(experience.getStartDate(), experience.getEndDate(),
+                    experience.getPosition(), experience.getCompany(), experience.getDescription());
+        }
+
+        static ExperienceKey of(WorkExperienceRequest request) {
+            return new ExperienceKey(request.getStartDate(), request.getEndDate(),
+                    request.getPosition(), request.getCompany(), request.getDescription());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public ProfileResponse getMyProfile(String email) {
         final User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -100,10 +254,50 @@ public class ProfileService {
         final Profile profile = profileRepository.findByUser(user)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
 
-        return mapToResponse(profile, user);
+        return mapToResponse(profile);
     }
 
-    private ProfileResponse mapToResponse(Profile profile, User user) {
+    @Transactional(readOnly = true)
+    public ProfileResponse getMyProfile(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getMyProfile(principal.email());
+        }
+        final Profile profile = profileRepository.findByUserId(principal.id())
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+
+        return mapToResponse(profile);
+    }
+
+    private ProfileResponse mapToResponse(Profile profile) {
+        return mapToResponses(List.of(profile)).get(0);
+    }
+
+    /**
+     * Maps profiles to responses, loading technologies and work experience for each chunk of
+     * {@link #HYDRATION_BATCH_SIZE} profiles with one {@code IN (...)} query apiece instead of
+     * one query per profile.
+     */
+    private List<ProfileResponse> mapToResponses(List<Profile> profiles) {
+        List<ProfileResponse> responses = new ArrayList<>(profiles.size());
+        for (int from = 0; from < profiles.size(); from += HYDRATION_BATCH_SIZE) {
+            List<Profile> batch = profiles.subList(from, Math.min(from + HYDRATION_BATCH_SIZE, profiles.size()));
+            List<Long> ids = batch.stream().map(Profile::getId).collect(Collectors.toList());
+
+            Map<Long, Profile> hydrated = profileRepository.findWithUserAndTechnologiesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Profile::getId, profile -> profile, (a, b) -> a));
+            Map<Long, List<WorkExperience>> experiences = workExperienceRepository.findByProfileIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(exp -> exp.getProfile().getId()));
+
+            for (Profile profile : batch) {
+                Profile source = hydrated.getOrDefault(profile.getId(), profile);
+                responses.add(toResponse(source, source.getUser(),
+                        experiences.getOrDefault(profile.getId(), Collections.emptyList())));
+            }
+        }
+        return responses;
+    }
+
+    static ProfileResponse toResponse(Profile profile, User user, List<WorkExperience> experiences) {
         final ProfileResponse response = new ProfileResponse();
         response.setEmail(user.getEmail());
         response.setFullName(user.getFullName());
@@ -119,7 +313,7 @@ public class ProfileService {
         response.setId(profile.getId());
 
         // Опыт работы
-        List<WorkExperienceResponse> experienceResponses = workExperienceRepository.findByProfile(profile).stream()
+        List<WorkExperienceResponse> experienceResponses = experiences.stream()
                 .map(exp -> {
                     WorkExperienceResponse res = new WorkExperienceResponse();
                     res.setStartDate(exp.getStartDate());
@@ -155,9 +349,11 @@ public class ProfileService {
         return userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional
     public void save(Profile profile) {
         logger.debug("Saving profile for user id: {}", profile.getUser().getId());
-        profileRepository.save(profile);
+        Profile saved = profileRepository.save(profile);
+        changeFeedService.record(ChangeEntry.EntityType.PROFILE, saved.getId(), saved.getUser().getId(), ChangeEntry.Operation.UPSERT);
     }
 
     public Profile getProfileById(Long id) {
@@ -166,12 +362,69 @@ public class ProfileService {
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProfileResponse> getProfilesPage(Long cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = cursor == null ? 0L : cursor;
+        logger.debug("Getting profiles page after id {} (limit {})", after, pageSize);
+        List<Profile> profiles = profileRepository.findPageAfter(after, PageRequest.of(0, pageSize));
+        List<ProfileResponse> items = mapToResponses(profiles);
+        Long nextCursor = profiles.size() == pageSize ? profiles.get(profiles.size() - 1).getId() : null;
+        return new CursorPageResponse<>(items, nextCursor);
+    }
+
+    /**
+     * Full profiles for a handful of ids, such as the members of a recommended team, ordered by
+     * id. Ids without a profile are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileResponse> getProfilesByIds(Collection<Long> ids) {
+        logger.debug("Getting {} profiles by id", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Profile> profiles = new ArrayList<>(profileRepository.findAllById(ids));
+        profiles.sort(Comparator.comparing(Profile::getId));
+        return mapToResponses(profiles);
+    }
+
+    /**
+     * Writes every profile as newline-delimited JSON, reading them off a server-side cursor so
+     * memory use does not grow with the number of profiles.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProfiles(OutputStream out) throws IOException {
+        logger.info("Streaming all profiles");
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Profile> profiles = profileRepository.streamAllOrderById()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Profile> iterator = profiles.iterator();
+            List<Profile> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            int written = 0;
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (ProfileResponse response : mapToResponses(chunk)) {
+                        writer.writeValue(generator, response);
+                        generator.writeRaw('\n');
+                    }
+                    written += chunk.size();
+                    chunk.clear();
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            logger.debug("Streamed {} profiles", written);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<ProfileResponse> getAllProfiles() {
         logger.info("Getting all profiles");
-        List<Profile> profiles = profileRepository.findAll();
+        List<Profile> profiles = profileRepository.findAllWithUser();
         logger.debug("Found {} profiles", profiles.size());
-        return profiles.stream()
-                .map(profile -> mapToResponse(profile, profile.getUser()))
-                .collect(Collectors.toList());
+        return mapToResponses(profiles);
     }
 }
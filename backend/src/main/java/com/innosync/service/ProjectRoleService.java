@@ -1,73 +1,142 @@
 package com.innosync.service;
 
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.dto.project.ProjectResponse;
 import com.innosync.dto.project.ProjectRoleRequest;
 import com.innosync.dto.project.ProjectRoleResponse;
 import com.innosync.dto.project.ProjectRoleWithProjectResponse;
-import com.innosync.model.Project;
-import com.innosync.model.ProjectRole;
-import com.innosync.model.Technology;
+import com.innosync.dto.project.RoleCandidateResponse;
+import com.innosync.dto.project.RoleSearchResult;
+import com.innosync.model.*;
 import com.innosync.repository.ProjectRepository;
 import com.innosync.repository.ProjectRoleRepository;
-import com.innosync.repository.TechnologyRepository;
+import com.innosync.repository.RoleSearchCriteria;
 import com.innosync.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjectRoleService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectRoleService.class);
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_CANDIDATES = 100;
+    public static final int MAX_BULK_ROLES = 100;
     private ProjectRoleRepository roleRepository;
     private ProjectRepository projectRepository;
     private UserRepository userRepository;
-    private TechnologyRepository technologyRepository;
+    private TechnologyDictionary technologyDictionary;
+    private TechnologyIndex technologyIndex;
+    private ChangeFeedService changeFeedService;
 
     public ProjectRoleService(ProjectRoleRepository roleRepository,
                               ProjectRepository projectRepository,
                               UserRepository userRepository,
-                              TechnologyRepository technologyRepository) {
+                              TechnologyDictionary technologyDictionary,
+                              TechnologyIndex technologyIndex,
+                              ChangeFeedService changeFeedService) {
         this.roleRepository = roleRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
-        this.technologyRepository = technologyRepository;
+        this.technologyDictionary = technologyDictionary;
+        this.technologyIndex = technologyIndex;
+        this.changeFeedService = changeFeedService;
     }
+    @Transactional
     public ProjectRoleResponse addRoleToProject(Long projectId, ProjectRoleRequest request, String creatorEmail) {
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
-
-        if (!project.getRecruiter().getEmail().equals(creatorEmail)) {
-            throw new AccessDeniedException("You are not the creator of this project.");
-        }
+        Project project = findOwnedProject(projectId, creatorEmail);
 
         ProjectRole role = new ProjectRole();
         role.setProject(project);
         role.setRoleName(request.getRoleName());
         role.setExpertiseLevel(request.getExpertiseLevel());
 
-        Set<Technology> technologies = request.getTechnologies().stream()
-                .map(techName -> technologyRepository.findByNameIgnoreCase(techName)
-                        .orElseGet(() -> {
-                            Technology newTech = new Technology(techName);
-                            return technologyRepository.save(newTech);
-                        }))
-                .collect(Collectors.toSet());
-
-        role.setTechnologies(new ArrayList<>(technologies));
+        role.setTechnologies(technologyDictionary.resolve(request.getTechnologies()));
 
         ProjectRole saved = roleRepository.save(role);
+        changeFeedService.record(ChangeEntry.EntityType.ROLE, saved.getId(), project.getId(), ChangeEntry.Operation.UPSERT);
         return toDto(saved);
     }
 
+    /**
+     * Creates all {@code requests} as roles of the project in one transaction: either every role
+     * is created or none is. Ownership is checked and technologies are resolved once for the whole
+     * batch, and the inserts go out as JDBC batches when the transaction commits.
+     */
+    @Transactional
+    public List<ProjectRoleResponse> addRolesToProject(Long projectId, List<ProjectRoleRequest> requests, String creatorEmail) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one role is required");
+        }
+        if (requests.size() > MAX_BULK_ROLES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_ROLES + " roles can be created at once");
+        }
+        Project project = findOwnedProject(projectId, creatorEmail);
+
+        List<String> names = requests.stream()
+                .map(ProjectRoleRequest::getTechnologies)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .toList();
+        Map<String, Technology> technologies = technologyDictionary.resolve(names).stream()
+                .collect(Collectors.toMap(technology -> TechnologyDictionary.key(technology.getName()), Function.identity()));
+
+        List<ProjectRole> roles = new ArrayList<>(requests.size());
+        for (ProjectRoleRequest request : requests) {
+            ProjectRole role = new ProjectRole();
+            role.setProject(project);
+            role.setRoleName(request.getRoleName());
+            role.setExpertiseLevel(request.getExpertiseLevel());
+            role.setTechnologies(technologiesOf(request, technologies));
+            roles.add(role);
+        }
+
+        List<ProjectRole> saved = roleRepository.saveAll(roles);
+        changeFeedService.recordAll(ChangeEntry.EntityType.ROLE, saved.stream().map(ProjectRole::getId).toList(),
+                project.getId(), ChangeEntry.Operation.UPSERT);
+        logger.info("Created {} roles for project {}", saved.size(), projectId);
+        return saved.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
+    private Project findOwnedProject(Long projectId, String creatorEmail) {
+        Project project = projectRepository.findById(projectId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+
+        if (!project.getRecruiter().getEmail().equals(creatorEmail)) {
+            throw new AccessDeniedException("You are not the creator of this project.");
+        }
+        return project;
+    }
+
+    // Same order and de-duplication as TechnologyDictionary.resolve, from the batch's resolved set
+    private static List<Technology> technologiesOf(ProjectRoleRequest request, Map<String, Technology> resolved) {
+        List<Technology> result = new ArrayList<>();
+        if (request.getTechnologies() == null) {
+            return result;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String name : request.getTechnologies()) {
+            if (name != null && !name.isBlank() && seen.add(TechnologyDictionary.key(name))) {
+                result.add(resolved.get(TechnologyDictionary.key(name)));
+            }
+        }
+        return result;
+    }
+
     public List<ProjectRoleResponse> getRolesByProjectId(Long projectId) {
         return roleRepository.findByProjectId(projectId).stream()
                 .map(this::toDto)
@@ -93,6 +162,61 @@ public class ProjectRoleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the role marketplace, newest roles first. {@code cursor} is the
+     * {@code next_cursor} of the previous page. Technologies are matched by name, case-insensitively;
+     * roles requiring any of them match.
+     */
+    public CursorPageResponse<RoleSearchResult> searchRoles(List<String> technologies,
+                                                            ExpertiseLevel expertiseLevel,
+                                                            ProjectType projectType,
+                                                            TeamSize teamSize,
+                                                            String text,
+                                                            Long cursor,
+                                                            int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        List<String> technologyNames = technologies == null ? List.of() : technologies.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .toList();
+
+        RoleSearchCriteria criteria = new RoleSearchCriteria(technologyNames, expertiseLevel, projectType, teamSize, text);
+        logger.debug("Searching roles after role {} (limit {}): {}", cursor, pageSize, criteria);
+        // One extra row tells whether another page follows
+        List<RoleSearchResult> rows = roleRepository.search(criteria, cursor, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<RoleSearchResult> items = rows.subList(0, pageSize);
+        return new CursorPageResponse<>(items, items.get(pageSize - 1).getRoleId());
+    }
+
+    /**
+     * Best candidates for a role by weighted overlap of their technologies with the role's,
+     * scored from the in-memory {@link TechnologyIndex}. Only the role itself is read from the
+     * database.
+     */
+    @Transactional(readOnly = true)
+    public List<RoleCandidateResponse> findCandidates(Long roleId,
+                                                      Set<ExpertiseLevel> expertiseLevels,
+                                                      Set<ExperienceYears> experienceYears,
+                                                      int limit) {
+        ProjectRole role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project role not found"));
+        Map<Long, String> technologyNames = role.getTechnologies().stream()
+                .collect(Collectors.toMap(Technology::getId, Technology::getName, (first, second) -> first));
+
+        int count = Math.max(1, Math.min(limit, MAX_CANDIDATES));
+        logger.debug("Matching up to {} candidates for role {} over {} technologies", count, roleId, technologyNames.size());
+        return technologyIndex.topMatches(technologyNames.keySet(), expertiseLevels, experienceYears, count).stream()
+                .map(match -> RoleCandidateResponse.builder()
+                        .profileId(match.profileId())
+                        .userId(match.userId())
+                        .score(match.score())
+                        .matchedTechnologies(match.matchedTechnologyIds().stream().map(technologyNames::get).toList())
+                        .build())
+                .toList();
+    }
+
     private ProjectRoleResponse toDto(ProjectRole role) {
         ProjectRoleResponse dto = new ProjectRoleResponse();
         dto.setId(role.getId());
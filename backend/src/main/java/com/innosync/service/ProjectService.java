@@ -1,5 +1,6 @@
 package com.innosync.service;
 
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.dto.project.ProjectRequest;
 import com.innosync.dto.project.ProjectResponse;
 import com.innosync.dto.project.ProjectRoleResponse;
@@ -10,10 +11,12 @@ import com.innosync.model.User;
 import com.innosync.repository.ProjectRepository;
 import com.innosync.repository.ProjectRoleRepository;
 import com.innosync.repository.UserRepository;
+import com.innosync.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -30,7 +33,9 @@ public class ProjectService {
     private final UserRepository userRepository;
     private final ProjectRoleRepository projectRoleRepository;
     private final ProjectTeamMemberService teamMemberService;
+    private final ChangeFeedService changeFeedService;
 
+    @Transactional
     public ProjectResponse createProject(ProjectRequest request, String email) {
         logger.info("Creating project for recruiter: {}", email);
         try {
@@ -45,6 +50,7 @@ public class ProjectService {
                     .recruiter(recruiter)
                     .build();
             Project saved = projectRepository.save(project);
+            changeFeedService.record(ChangeEntry.EntityType.PROJECT, saved.getId(), recruiter.getId(), ChangeEntry.Operation.UPSERT);
             logger.info("Project saved with id: {} for recruiter: {}", saved.getId(), recruiter.getEmail());
             return mapToDTO(saved);
         } catch (Exception e) {
@@ -53,6 +59,25 @@ public class ProjectService {
         }
     }
 
+    @Transactional
+    public ProjectResponse createProject(ProjectRequest request, AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return createProject(request, principal.email());
+        }
+        logger.info("Creating project for recruiter: {}", principal.email());
+        Project project = Project.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .projectType(request.getProjectType())
+                .teamSize(request.getTeamSize())
+                .recruiter(userRepository.getReferenceById(principal.id()))
+                .build();
+        Project saved = projectRepository.save(project);
+        changeFeedService.record(ChangeEntry.EntityType.PROJECT, saved.getId(), principal.id(), ChangeEntry.Operation.UPSERT);
+        logger.info("Project saved with id: {} for recruiter: {}", saved.getId(), principal.email());
+        return mapToDTO(saved);
+    }
+
     public List<ProjectResponse> getMyProjects(String email) {
         logger.debug("Getting projects for recruiter: {}", email);
         try {
@@ -69,6 +94,17 @@ public class ProjectService {
         }
     }
 
+    public List<ProjectResponse> getMyProjects(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getMyProjects(principal.email());
+        }
+        List<Project> projects = projectRepository.findByRecruiterId(principal.id());
+        logger.info("Found {} projects for recruiter: {}", projects.size(), principal.email());
+        return projects.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<ProjectResponse> getJoinedProjects(String email) {
         logger.debug("Getting joined projects for user: {}", email);
         try {
@@ -94,6 +130,20 @@ public class ProjectService {
         }
     }
 
+    public List<ProjectResponse> getJoinedProjects(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getJoinedProjects(principal.email());
+        }
+        List<Project> joinedProjects = teamMemberService.getTeamMembersByUser(principal.id()).stream()
+                .map(ProjectTeamMember::getProject)
+                .distinct()
+                .collect(Collectors.toList());
+        logger.info("Found {} joined projects for user: {}", joinedProjects.size(), principal.email());
+        return joinedProjects.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     public ProjectResponse getProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
@@ -1,5 +1,6 @@
 package com.innosync.service;
 
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.model.ProjectTeamMember;
 import com.innosync.model.ProjectRole;
 import com.innosync.model.User;
@@ -23,6 +24,7 @@ public class ProjectTeamMemberService {
     private final ProjectTeamMemberRepository teamMemberRepository;
     private final ProjectRoleRepository projectRoleRepository;
     private final UserRepository userRepository;
+    private final ChangeFeedService changeFeedService;
 
     @Transactional
     public ProjectTeamMember addTeamMember(Long projectRoleId, Long userId, ProjectTeamMember.JoinMethod joinMethod) {
@@ -46,6 +48,7 @@ public class ProjectTeamMemberService {
         teamMember.setJoinedVia(joinMethod);
 
         ProjectTeamMember saved = teamMemberRepository.save(teamMember);
+        changeFeedService.record(ChangeEntry.EntityType.TEAM_MEMBER, saved.getId(), saved.getProject().getId(), ChangeEntry.Operation.UPSERT);
         logger.info("Successfully added team member: {}", saved.getId());
 
         return saved;
@@ -71,6 +74,7 @@ public class ProjectTeamMemberService {
                 .orElseThrow(() -> new RuntimeException("Team member not found"));
 
         teamMemberRepository.delete(teamMember);
+        changeFeedService.record(ChangeEntry.EntityType.TEAM_MEMBER, teamMember.getId(), teamMember.getProject().getId(), ChangeEntry.Operation.DELETE);
         logger.info("Successfully removed team member");
     }
 
@@ -85,6 +89,7 @@ public class ProjectTeamMemberService {
                 .orElseThrow(() -> new RuntimeException("Team member not found"));
 
         teamMemberRepository.delete(teamMember);
+        changeFeedService.record(ChangeEntry.EntityType.TEAM_MEMBER, teamMember.getId(), projectId, ChangeEntry.Operation.DELETE);
         logger.info("Successfully removed team member from project");
     }
 }
\ No newline at end of file
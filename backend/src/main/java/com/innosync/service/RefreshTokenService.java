@@ -6,14 +6,17 @@ import com.innosync.model.User;
 import com.innosync.repository.RefreshTokenRepository;
 import com.innosync.repository.UserRepository;
 import com.innosync.security.JwtUtil;
+import com.innosync.security.TokenHashing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Optional;
-import java.util.UUID;
 
 import static java.lang.Long.valueOf;
 
@@ -21,9 +24,13 @@ import static java.lang.Long.valueOf;
 public class RefreshTokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
 
     private final JwtUtil jwtUtil;
     private Long refreshTokenDurationMs = valueOf(604800000);
+    @Value("${refresh-token.max-per-user:5}")
+    private int maxTokensPerUser = 5;
     private UserRepository userRepository;
     private RefreshTokenRepository refreshTokenRepository;
 
@@ -33,29 +40,38 @@ public class RefreshTokenService {
         this.jwtUtil = jwtUtil;
     }
 
+    @Transactional
     public RefreshToken createRefreshToken(User user) {
         if (user == null) {
             logger.warn("Attempted to create refresh token for null user");
             throw new IllegalArgumentException("User cannot be null");
         }
         logger.info("Creating refresh token for user: {}", user.getEmail());
+        if (user.getId() != null) {
+            int evicted = refreshTokenRepository.deleteOldestBeyond(user.getId(), Math.max(0, maxTokensPerUser - 1));
+            if (evicted > 0) {
+                logger.debug("Evicted {} oldest refresh token(s) for user: {}", evicted, user.getEmail());
+            }
+        }
+        String token = newToken();
         RefreshToken refreshToken = new RefreshToken();
         refreshToken.setUser(user);
         refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
+        refreshToken.setTokenHash(TokenHashing.sha256Hex(token));
+        refreshToken.setToken(token);
         RefreshToken saved = refreshTokenRepository.save(refreshToken);
-        logger.debug("Refresh token created: {}", saved.getToken());
+        logger.debug("Refresh token created for user: {}", user.getEmail());
         return saved;
     }
 
     public Optional<RefreshToken> verifyExpiration(RefreshToken token) {
-        logger.debug("Verifying expiration for refresh token: {}", token.getToken());
+        logger.debug("Verifying expiration for refresh token: {}", token.getId());
         if(token.getExpiryDate().isBefore(Instant.now())) {
-            logger.warn("Refresh token expired: {}", token.getToken());
-            deleteByToken(token.getToken());  // make sure to call transactional method here
+            logger.warn("Refresh token expired: {}", token.getId());
+            refreshTokenRepository.delete(token);
             return Optional.empty();
         }
-        logger.debug("Refresh token valid: {}", token.getToken());
+        logger.debug("Refresh token valid: {}", token.getId());
         return Optional.of(token);
     }
 
@@ -67,19 +83,36 @@ public class RefreshTokenService {
 
     @Transactional
     public void deleteByToken(String token) {
-        logger.info("Deleting refresh token: {}", token);
-        refreshTokenRepository.deleteByToken(token);
+        logger.info("Deleting refresh token");
+        if (token == null) {
+            return;
+        }
+        refreshTokenRepository.deleteByTokenHash(TokenHashing.sha256Hex(token));
     }
 
     public Optional<AuthResponse> refreshTokenAccess(String refreshToken) {
-        logger.info("Refreshing access token using refresh token: {}", refreshToken);
-        return refreshTokenRepository.findByToken(refreshToken)
+        logger.info("Refreshing access token using refresh token");
+        return findByToken(refreshToken)
                 .flatMap(this::verifyExpiration)
                 .map(RefreshToken::getUser)
                 .map(user -> {
-                    String newAccessToken = jwtUtil.generateToken(user.getEmail());
+                    String newAccessToken = jwtUtil.generateToken(user);
                     logger.info("New access token generated for user: {}", user.getEmail());
                     return new AuthResponse(newAccessToken, refreshToken);
                 });
     }
+
+    private Optional<RefreshToken> findByToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        // Rows from before hashing were hashed in place by db/refresh-tokens.sql
+        return refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(token));
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
@@ -0,0 +1,71 @@
+package com.innosync.service;
+
+import com.innosync.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically deletes expired refresh tokens in small batches, each in its own transaction, so
+ * the purge never holds locks on a large part of the table.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenSweeper.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+    private final AtomicLong storedTokens = new AtomicLong();
+    private final Counter purgedTokens;
+    private final Timer sweepTimer;
+
+    public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${refresh-token.sweeper.batch-size:1000}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = batchSize;
+        Gauge.builder("refresh_tokens.stored", storedTokens, AtomicLong::get)
+                .description("Rows in refresh_token as of the last sweep")
+                .register(meterRegistry);
+        this.purgedTokens = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("refresh_tokens.sweep")
+                .description("Time spent purging expired refresh tokens")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.sweeper.interval:PT10M}",
+            initialDelayString = "${refresh-token.sweeper.initial-delay:PT1M}")
+    public void sweep() {
+        long purged = sweepTimer.record(this::purgeExpired);
+        storedTokens.set(refreshTokenRepository.count());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens, {} remaining", purged, storedTokens.get());
+        }
+    }
+
+    long purgeExpired() {
+        Instant now = Instant.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            purgedTokens.increment(deleted);
+        } while (deleted == batchSize);
+        return total;
+    }
+}
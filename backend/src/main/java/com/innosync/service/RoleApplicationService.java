@@ -8,6 +8,7 @@ import com.innosync.model.User;
 import com.innosync.repository.RoleApplicationRepository;
 import com.innosync.repository.ProjectRoleRepository;
 import com.innosync.repository.UserRepository;
+import com.innosync.security.AuthenticatedUser;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -105,8 +106,17 @@ public class RoleApplicationService {
                 .collect(Collectors.toList());
     }
 
+    public List<RoleApplicationResponse> getApplicationsByUser(AuthenticatedUser principal) {
+        if (!principal.hasId()) {
+            return getApplicationsByUser(principal.email());
+        }
+        return applicationRepository.findByUserId(principal.id()).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
 
-    private RoleApplicationResponse mapToResponse(RoleApplication application) {
+    RoleApplicationResponse mapToResponse(RoleApplication application) {
         RoleApplicationResponse response = new RoleApplicationResponse();
 
         // Basic application info
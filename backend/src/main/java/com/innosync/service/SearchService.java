@@ -0,0 +1,49 @@
+package com.innosync.service;
+
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.search.SearchResult;
+import com.innosync.repository.SearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    // Ranked results are sorted in memory by Postgres, so deep pages get no cheaper; cap them
+    public static final int MAX_OFFSET = 1000;
+
+    private final SearchRepository searchRepository;
+
+    public SearchService(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * One page of ranked search results. The cursor is the position of the first result of the
+     * page, as returned in {@code next_cursor} of the previous one.
+     */
+    public CursorPageResponse<SearchResult> search(String text, Set<SearchResult.Type> types, Long cursor, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search text must not be blank");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = cursor == null ? 0 : (int) Math.max(0, Math.min(cursor, MAX_OFFSET));
+        logger.debug("Searching '{}' in {} from position {} (limit {})", text, types, offset, pageSize);
+
+        // One extra row tells whether another page follows
+        List<SearchResult> rows = searchRepository.search(text.trim(), types, offset, pageSize + 1);
+        if (rows.size() <= pageSize || offset + pageSize > MAX_OFFSET) {
+            return new CursorPageResponse<>(rows.subList(0, Math.min(rows.size(), pageSize)), null);
+        }
+        return new CursorPageResponse<>(rows.subList(0, pageSize), (long) offset + pageSize);
+    }
+}
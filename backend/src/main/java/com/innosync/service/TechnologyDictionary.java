@@ -0,0 +1,269 @@
+package com.innosync.service;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.model.Technology;
+import jakarta.persistence.PostRemove;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory, case-insensitive dictionary of technology names to ids.
+ * <p>
+ * The dictionary is loaded once at startup. Names it has not seen yet are looked up and inserted
+ * in one statement ({@code INSERT ... ON CONFLICT DO NOTHING}); only names inserted concurrently
+ * by another transaction need a second lookup. New entries are published after the surrounding
+ * transaction commits, so a rolled back insert never leaves a dangling id behind.
+ */
+@Service
+public class TechnologyDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnologyDictionary.class);
+
+    // Finds case-insensitive matches and inserts whatever is still missing, in a single round trip
+    private static final String RESOLVE_SQL = """
+            WITH wanted(name) AS (SELECT unnest(?::text[])),
+            existing AS (
+                SELECT t.id, t.name FROM technology t JOIN wanted w ON lower(t.name) = lower(w.name)
+            ),
+            inserted AS (
+                INSERT INTO technology (name)
+                SELECT w.name FROM wanted w
+                WHERE NOT EXISTS (SELECT 1 FROM existing e WHERE lower(e.name) = lower(w.name))
+                ON CONFLICT (name) DO NOTHING
+                RETURNING id, name
+            )
+            SELECT id, name, false AS created FROM existing
+            UNION ALL
+            SELECT id, name, true AS created FROM inserted
+            """;
+
+    private static final String LOOKUP_SQL =
+            "SELECT id, name FROM technology WHERE lower(name) = ANY (?::text[]) ORDER BY id";
+
+    private static final RowMapper<Technology> TECHNOLOGY_ROW_MAPPER =
+            (rs, rowNum) -> new Technology(rs.getLong("id"), rs.getString("name"));
+
+    // "Java/Kotlin, Go" lists three words; names are split the same way, so "CI/CD" still matches
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,;/|]+");
+    private static final Pattern EDGE_PUNCTUATION = Pattern.compile("^[^\\p{L}\\p{N}]+|[^\\p{L}\\p{N}+#]+$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeFeedService changeFeedService;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public TechnologyDictionary(JdbcTemplate jdbcTemplate, ChangeFeedService changeFeedService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeFeedService = changeFeedService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Technology> technologies = jdbcTemplate.query("SELECT id, name FROM technology ORDER BY id", TECHNOLOGY_ROW_MAPPER);
+        technologies.forEach(technology -> entries.putIfAbsent(key(technology.getName()), Entry.of(technology)));
+        logger.info("Loaded {} technologies into dictionary", entries.size());
+    }
+
+    /**
+     * Resolves technology names to entities, creating the missing ones. The result follows the
+     * order of {@code names} with blanks and case-insensitive duplicates removed. The returned
+     * instances are detached and only meant to be referenced from other entities.
+     */
+    public List<Technology> resolve(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                requested.putIfAbsent(key(name), name.trim());
+            }
+        }
+
+        Map<String, Entry> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        requested.forEach((key, name) -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                resolved.put(key, entry);
+            } else {
+                missing.add(name);
+            }
+        });
+
+        if (!missing.isEmpty()) {
+            Map<String, Entry> loaded = fetchOrInsert(missing);
+            resolved.putAll(loaded);
+            publish(loaded);
+        }
+
+        List<Technology> result = new ArrayList<>(requested.size());
+        for (String key : requested.keySet()) {
+            Entry entry = resolved.get(key);
+            if (entry == null) {
+                throw new IllegalStateException("Technology could not be resolved: " + requested.get(key));
+            }
+            result.add(entry.toTechnology());
+        }
+        return result;
+    }
+
+    public Optional<Long> findId(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.get(key(name))).map(Entry::id);
+    }
+
+    /**
+     * Ids of the known technologies named in free text, such as a resume, in ascending order.
+     * Names match whole words case-insensitively, ignoring surrounding punctuation, so
+     * "(Spring Boot, Node.js)" finds both; one-letter names like "C" are too ambiguous to match.
+     */
+    public List<Long> findMentioned(String text) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        Map<String, Long> names = new HashMap<>();
+        int maxWords = 1;
+        for (Entry entry : entries.values()) {
+            List<String> words = words(entry.name());
+            if (words.size() > 1 || (words.size() == 1 && words.get(0).length() > 1)) {
+                names.merge(String.join(" ", words), entry.id(), Math::min);
+                maxWords = Math.max(maxWords, words.size());
+            }
+        }
+
+        List<String> words = words(text);
+        SortedSet<Long> found = new TreeSet<>();
+        for (int start = 0; start < words.size(); start++) {
+            StringBuilder phrase = new StringBuilder();
+            for (int end = start; end < Math.min(words.size(), start + maxWords); end++) {
+                if (end > start) {
+                    phrase.append(' ');
+                }
+                phrase.append(words.get(end));
+                Long id = names.get(phrase.toString());
+                if (id != null) {
+                    found.add(id);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    public void evict(String name) {
+        if (name != null) {
+            entries.remove(key(name));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Map<String, Entry> fetchOrInsert(List<String> names) {
+        logger.debug("Resolving {} technologies missing from dictionary", names.size());
+        Map<String, Entry> found = new HashMap<>();
+        List<Long> created = new ArrayList<>();
+        collect(found, jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(RESOLVE_SQL);
+            statement.setArray(1, con.createArrayOf("text", names.toArray()));
+            return statement;
+        }, (rs, rowNum) -> {
+            if (rs.getBoolean("created")) {
+                created.add(rs.getLong("id"));
+            }
+            return TECHNOLOGY_ROW_MAPPER.mapRow(rs, rowNum);
+        }));
+        changeFeedService.recordAll(ChangeEntry.EntityType.TECHNOLOGY, created, null, ChangeEntry.Operation.UPSERT);
+
+        // Names inserted by a concurrent transaction between our lookup and insert
+        List<String> raced = names.stream().filter(name -> !found.containsKey(key(name))).toList();
+        if (!raced.isEmpty()) {
+            String[] keys = raced.stream().map(TechnologyDictionary::key).toArray(String[]::new);
+            collect(found, jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(LOOKUP_SQL);
+                statement.setArray(1, con.createArrayOf("text", keys));
+                return statement;
+            }, TECHNOLOGY_ROW_MAPPER));
+        }
+        return found;
+    }
+
+    private static void collect(Map<String, Entry> target, List<Technology> technologies) {
+        for (Technology technology : technologies) {
+            target.merge(key(technology.getName()), Entry.of(technology),
+                    (current, candidate) -> candidate.id() < current.id() ? candidate : current);
+        }
+    }
+
+    private void publish(Map<String, Entry> loaded) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.putAll(loaded);
+                }
+            });
+        } else {
+            entries.putAll(loaded);
+        }
+    }
+
+    static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Lower-cased words without leading or trailing punctuation, keeping the + and # of C++ and C#
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            String word = EDGE_PUNCTUATION.matcher(token).replaceAll("");
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Keeps the dictionary from handing out ids of technologies deleted through JPA.
+     */
+    public static class RemovalListener {
+
+        // Optional so JPA slices that don't load services can still bootstrap the entity
+        private final ObjectProvider<TechnologyDictionary> technologyDictionary;
+
+        public RemovalListener(ObjectProvider<TechnologyDictionary> technologyDictionary) {
+            this.technologyDictionary = technologyDictionary;
+        }
+
+        @PostRemove
+        public void onRemove(Technology technology) {
+            technologyDictionary.ifAvailable(dictionary -> dictionary.evict(technology.getName()));
+        }
+    }
+
+    private record Entry(long id, String name) {
+        static Entry of(Technology technology) {
+            return new Entry(technology.getId(), technology.getName());
+        }
+
+        Technology toTechnology() {
+            return new Technology(id, name);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.innosync.service;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.model.ExperienceYears;
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.Profile;
+import com.innosync.model.Technology;
+import com.innosync.repository.ChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index from technology id to the ids of the profiles listing it, used to
+ * match candidates to roles without reading profiles.
+ * <p>
+ * Posting lists are sorted {@code long[]} arrays that are replaced, never modified, so lookups
+ * need no locking while writers serialize on the index. The index is built once at startup and
+ * kept current by {@link #update(Profile)}, whose changes are applied after the surrounding
+ * transaction commits. Every instance keeps its own index, so changes made elsewhere, by other
+ * instances or by deletes, reach it through the change feed (see {@link #applyChanges} and
+ * {@link TechnologyIndexRefresher}).
+ * <p>
+ * Technologies a profile's resume mentions without the profile listing them are kept in separate
+ * posting lists and count for half as much (see {@link #updateResumeTechnologies}).
+ */
+@Service
+public class TechnologyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnologyIndex.class);
+
+    private static final long[] EMPTY = new long[0];
+
+    // Share of a technology's weight earned by only mentioning it in a resume
+    private static final double RESUME_MENTION_WEIGHT = 0.5;
+
+    private static final String PROFILES_SQL =
+            "SELECT id, user_id, expertise_level, experience_years, resume_technology_ids FROM user_profile";
+
+    private static final int CHANGE_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeLogRepository changeLogRepository;
+    // Position in the change feed the index has caught up to; -1 until loaded
+    private volatile long changeCursor = -1;
+    private final Map<Long, long[]> postings = new ConcurrentHashMap<>();
+    // Profiles whose resume mentions a technology they do not list
+    private final Map<Long, long[]> resumePostings = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> profiles = new ConcurrentHashMap<>();
+    // Technologies found in each profile's resume, listed or not
+    private final Map<Long, long[]> resumeMentions = new ConcurrentHashMap<>();
+
+    public TechnologyIndex(JdbcTemplate jdbcTemplate, ChangeLogRepository changeLogRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    /**
+     * A profile scored against a set of technologies. {@code score} is the share of the
+     * technologies' total weight the profile covers, from 0 to 1.
+     */
+    public record Match(long profileId, long userId, double score, List<Long> matchedTechnologyIds) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        // Taken first: changes committed while we read are applied again later, none are lost
+        long cursor = changeLogRepository.settledCursor();
+        Map<Long, Entry> loadedProfiles = new HashMap<>();
+        Map<Long, long[]> loadedMentions = new HashMap<>();
+        jdbcTemplate.query(PROFILES_SQL, rs -> {
+            readProfile(rs, loadedProfiles, loadedMentions);
+        });
+
+        // Ordered by technology and profile so every posting list comes out sorted
+        Map<Long, long[]> loadedPostings = new HashMap<>();
+        Map<Long, List<Long>> technologiesByProfile = new HashMap<>();
+        List<Long> current = new ArrayList<>();
+        long[] currentTechnology = {-1};
+        jdbcTemplate.query("SELECT technology_id, user_profile_id FROM user_profile_technology "
+                + "ORDER BY technology_id, user_profile_id", rs -> {
+            long technologyId = rs.getLong("technology_id");
+            long profileId = rs.getLong("user_profile_id");
+            if (technologyId != currentTechnology[0]) {
+                flush(loadedPostings, currentTechnology[0], current);
+                currentTechnology[0] = technologyId;
+            }
+            current.add(profileId);
+            technologiesByProfile.computeIfAbsent(profileId, id -> new ArrayList<>()).add(technologyId);
+        });
+        flush(loadedPostings, currentTechnology[0], current);
+
+        technologiesByProfile.forEach((profileId, technologyIds) -> loadedProfiles.computeIfPresent(profileId,
+                (id, entry) -> entry.withTechnologies(technologyIds.stream().mapToLong(Long::longValue).toArray())));
+
+        Map<Long, List<Long>> mentionedBy = new TreeMap<>();
+        loadedMentions.forEach((profileId, ids) -> {
+            for (long technologyId : resumeOnly(loadedProfiles.get(profileId), ids)) {
+                mentionedBy.computeIfAbsent(technologyId, id -> new ArrayList<>()).add(profileId);
+            }
+        });
+        Map<Long, long[]> loadedResumePostings = new HashMap<>();
+        mentionedBy.forEach((technologyId, profileIds) -> loadedResumePostings.put(technologyId,
+                profileIds.stream().mapToLong(Long::longValue).sorted().toArray()));
+
+        postings.clear();
+        postings.putAll(loadedPostings);
+        resumePostings.clear();
+        resumePostings.putAll(loadedResumePostings);
+        profiles.clear();
+        profiles.putAll(loadedProfiles);
+        resumeMentions.clear();
+        resumeMentions.putAll(loadedMentions);
+        changeCursor = cursor;
+        logger.info("Indexed {} profiles over {} technologies", profiles.size(), postings.size());
+    }
+
+    /**
+     * Catches up with profile changes in the change feed committed since the index was loaded or
+     * last caught up, including those of other instances and deletes, by reading the changed
+     * profiles again. Returns how many profiles were read; does nothing before {@link #load}.
+     */
+    public int applyChanges() {
+        long cursor = changeCursor;
+        if (cursor < 0) {
+            return 0;
+        }
+        Set<Long> changed = new TreeSet<>();
+        List<ChangeEntry> page;
+        do {
+            page = changeLogRepository.readSince(cursor, CHANGE_PAGE_SIZE);
+            for (ChangeEntry change : page) {
+                if (change.getEntityType() == ChangeEntry.EntityType.PROFILE) {
+                    changed.add(change.getEntityId());
+                }
+            }
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getSequence();
+            }
+        } while (page.size() >= CHANGE_PAGE_SIZE);
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        changeCursor = cursor;
+        return changed.size();
+    }
+
+    /**
+     * Reads the given profiles again, dropping those that no longer exist.
+     */
+    public void refresh(Collection<Long> profileIds) {
+        Long[] ids = profileIds.toArray(Long[]::new);
+        Map<Long, Entry> found = new HashMap<>();
+        Map<Long, long[]> mentions = new HashMap<>();
+        jdbcTemplate.query(PROFILES_SQL + " WHERE id = ANY(?)", rs -> {
+            readProfile(rs, found, mentions);
+        }, (Object) ids);
+        Map<Long, List<Long>> technologies = new HashMap<>();
+        jdbcTemplate.query("SELECT user_profile_id, technology_id FROM user_profile_technology WHERE user_profile_id = ANY(?)",
+                rs -> {
+                    technologies.computeIfAbsent(rs.getLong("user_profile_id"), id -> new ArrayList<>())
+                            .add(rs.getLong("technology_id"));
+                }, (Object) ids);
+        synchronized (this) {
+            for (long profileId : ids) {
+                Entry entry = found.get(profileId);
+                if (entry != null) {
+                    entry = entry.withTechnologies(technologies.getOrDefault(profileId, List.of()).stream()
+                            .mapToLong(Long::longValue).distinct().sorted().toArray());
+                }
+                put(profileId, entry);
+                putResume(profileId, entry != null ? mentions.getOrDefault(profileId, EMPTY) : EMPTY);
+            }
+        }
+        logger.debug("Refreshed {} profiles in the technology index, {} gone", ids.length, ids.length - found.size());
+    }
+
+    /**
+     * Reindexes a saved profile. Inside a transaction the change is applied once it commits.
+     */
+    public void update(Profile profile) {
+        long[] technologyIds = profile.getTechnologies().stream()
+                .map(Technology::getId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+        long profileId = profile.getId();
+        Entry entry = new Entry(profile.getUser().getId(), profile.getExpertiseLevel(), profile.getExperienceYears(), technologyIds);
+        afterCommit(() -> put(profileId, entry));
+    }
+
+    /**
+     * Replaces the technologies found in a profile's resume. Inside a transaction the change is
+     * applied once it commits.
+     */
+    public void updateResumeTechnologies(long profileId, Collection<Long> technologyIds) {
+        long[] ids = technologyIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        afterCommit(() -> putResume(profileId, ids));
+    }
+
+    public void remove(long profileId) {
+        afterCommit(() -> {
+            put(profileId, null);
+            putResume(profileId, EMPTY);
+        });
+    }
+
+    /**
+     * The {@code limit} profiles covering the largest weighted share of {@code technologyIds},
+     * best first. Rarer technologies weigh more, and a technology only mentioned in a resume counts
+     * for half. Null or empty filters accept every profile; profiles sharing no technology are
+     * never returned.
+     */
+    public List<Match> topMatches(Collection<Long> technologyIds,
+                                  Set<ExpertiseLevel> expertiseLevels,
+                                  Set<ExperienceYears> experienceYears,
+                                  int limit) {
+        long[] wanted = technologyIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        // Listed technologies first, then resume mentions of the same technologies at wanted.length + i
+        long[][] lists = new long[2 * wanted.length][];
+        double[] weights = new double[2 * wanted.length];
+        double totalWeight = 0;
+        int profileCount = Math.max(1, profiles.size());
+        for (int i = 0; i < wanted.length; i++) {
+            lists[i] = postings.getOrDefault(wanted[i], EMPTY);
+            lists[wanted.length + i] = resumePostings.getOrDefault(wanted[i], EMPTY);
+            // Inverse document frequency, so a shared niche technology counts for more than Git
+            int frequency = lists[i].length + lists[wanted.length + i].length;
+            weights[i] = Math.log(1 + (double) profileCount / Math.max(1, frequency));
+            weights[wanted.length + i] = weights[i] * RESUME_MENTION_WEIGHT;
+            totalWeight += weights[i];
+        }
+        if (limit <= 0 || totalWeight == 0) {
+            return List.of();
+        }
+
+        // Merge the sorted lists, visiting every candidate once, and keep the best in a min-heap
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::score)
+                .thenComparing(Match::profileId, Comparator.reverseOrder());
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, ranking);
+        int[] positions = new int[lists.length];
+        int[] matched = new int[lists.length];
+        while (true) {
+            long candidate = Long.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < lists[i].length && lists[i][positions[i]] < candidate) {
+                    candidate = lists[i][positions[i]];
+                }
+            }
+            if (candidate == Long.MAX_VALUE) {
+                break;
+            }
+
+            double weight = 0;
+            int matchedCount = 0;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < lists[i].length && lists[i][positions[i]] == candidate) {
+                    weight += weights[i];
+                    matched[matchedCount++] = i;
+                    positions[i]++;
+                }
+            }
+
+            double score = weight / totalWeight;
+            if (best.size() == limit && score <= best.peek().score()) {
+                continue;
+            }
+            Entry entry = profiles.get(candidate);
+            if (entry == null || !accepts(expertiseLevels, entry.expertiseLevel())
+                    || !accepts(experienceYears, entry.experienceYears())) {
+                continue;
+            }
+            List<Long> matchedIds = new ArrayList<>(matchedCount);
+            for (int i = 0; i < matchedCount; i++) {
+                matchedIds.add(wanted[matched[i] % wanted.length]);
+            }
+            best.add(new Match(candidate, entry.userId(), score, matchedIds));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(ranking.reversed());
+        return result;
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    private synchronized void put(long profileId, Entry entry) {
+        Entry previous = entry != null ? profiles.put(profileId, entry) : profiles.remove(profileId);
+        long[] mentions = resumeMentions.getOrDefault(profileId, EMPTY);
+        reindex(postings, profileId, previous != null ? previous.technologyIds() : EMPTY,
+                entry != null ? entry.technologyIds() : EMPTY);
+        reindex(resumePostings, profileId, resumeOnly(previous, mentions), resumeOnly(entry, mentions));
+    }
+
+    private synchronized void putResume(long profileId, long[] mentions) {
+        long[] previous = mentions.length > 0 ? resumeMentions.put(profileId, mentions) : resumeMentions.remove(profileId);
+        Entry entry = profiles.get(profileId);
+        reindex(resumePostings, profileId, resumeOnly(entry, previous != null ? previous : EMPTY),
+                resumeOnly(entry, mentions));
+    }
+
+    private static void reindex(Map<Long, long[]> lists, long profileId, long[] before, long[] after) {
+        for (long technologyId : before) {
+            if (Arrays.binarySearch(after, technologyId) < 0) {
+                lists.computeIfPresent(technologyId, (id, list) -> without(list, profileId));
+            }
+        }
+        for (long technologyId : after) {
+            if (Arrays.binarySearch(before, technologyId) < 0) {
+                lists.merge(technologyId, new long[]{profileId}, (list, single) -> with(list, profileId));
+            }
+        }
+    }
+
+    // Mentioned technologies the profile does not list; none until the profile itself is indexed
+    private static long[] resumeOnly(Entry entry, long[] mentions) {
+        if (entry == null || mentions.length == 0) {
+            return EMPTY;
+        }
+        return Arrays.stream(mentions)
+                .filter(technologyId -> Arrays.binarySearch(entry.technologyIds(), technologyId) < 0)
+                .toArray();
+    }
+
+    private static void readProfile(ResultSet rs, Map<Long, Entry> profiles, Map<Long, long[]> mentions) throws SQLException {
+        String level = rs.getString("expertise_level");
+        String years = rs.getString("experience_years");
+        profiles.put(rs.getLong("id"), new Entry(rs.getLong("user_id"),
+                level != null ? ExpertiseLevel.valueOf(level) : null,
+                years != null ? ExperienceYears.valueOf(years) : null,
+                EMPTY));
+        Array mentioned = rs.getArray("resume_technology_ids");
+        if (mentioned != null) {
+            long[] ids = Arrays.stream((Long[]) mentioned.getArray()).mapToLong(Long::longValue).sorted().toArray();
+            mentions.put(rs.getLong("id"), ids);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static void flush(Map<Long, long[]> target, long technologyId, List<Long> profileIds) {
+        if (!profileIds.isEmpty()) {
+            target.put(technologyId, profileIds.stream().mapToLong(Long::longValue).toArray());
+            profileIds.clear();
+        }
+    }
+
+    static long[] with(long[] list, long profileId) {
+        int position = Arrays.binarySearch(list, profileId);
+        if (position >= 0) {
+            return list;
+        }
+        int insertAt = -position - 1;
+        long[] copy = new long[list.length + 1];
+        System.arraycopy(list, 0, copy, 0, insertAt);
+        copy[insertAt] = profileId;
+        System.arraycopy(list, insertAt, copy, insertAt + 1, list.length - insertAt);
+        return copy;
+    }
+
+    // Returning null drops the technology from the map once nobody lists it
+    static long[] without(long[] list, long profileId) {
+        int position = Arrays.binarySearch(list, profileId);
+        if (position < 0) {
+            return list;
+        }
+        if (list.length == 1) {
+            return null;
+        }
+        long[] copy = new long[list.length - 1];
+        System.arraycopy(list, 0, copy, 0, position);
+        System.arraycopy(list, position + 1, copy, position, list.length - position - 1);
+        return copy;
+    }
+
+    private static <T> boolean accepts(Set<T> allowed, T value) {
+        return allowed == null || allowed.isEmpty() || allowed.contains(value);
+    }
+
+    private record Entry(long userId, ExpertiseLevel expertiseLevel, ExperienceYears experienceYears, long[] technologyIds) {
+        Entry withTechnologies(long[] ids) {
+            return new Entry(userId, expertiseLevel, experienceYears, ids);
+        }
+    }
+}
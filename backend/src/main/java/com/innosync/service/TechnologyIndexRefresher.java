@@ -0,0 +1,34 @@
+package com.innosync.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically brings this instance's {@link TechnologyIndex} up to date with profile changes
+ * other instances committed, and with profiles deleted outside the services, by following the
+ * change feed.
+ */
+@Component
+@ConditionalOnProperty(name = "technology-index.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class TechnologyIndexRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnologyIndexRefresher.class);
+
+    private final TechnologyIndex technologyIndex;
+
+    public TechnologyIndexRefresher(TechnologyIndex technologyIndex) {
+        this.technologyIndex = technologyIndex;
+    }
+
+    @Scheduled(fixedDelayString = "${technology-index.refresh.interval:PT5S}",
+            initialDelayString = "${technology-index.refresh.interval:PT5S}")
+    public void refresh() {
+        int refreshed = technologyIndex.applyChanges();
+        if (refreshed > 0) {
+            logger.debug("Refreshed {} changed profiles in the technology index", refreshed);
+        }
+    }
+}
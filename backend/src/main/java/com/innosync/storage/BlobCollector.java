@@ -0,0 +1,107 @@
+package com.innosync.storage;
+
+import com.innosync.repository.BlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically deletes blobs no profile references: those whose count dropped to zero and those
+ * with no row at all (left behind when an upload's transaction rolled back). Blobs are checked in
+ * batches, each in its own transaction, which holds the batch's advisory locks until the files
+ * and rows are gone (see {@link BlobRepository}).
+ */
+@Component
+@ConditionalOnProperty(name = "uploads.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class BlobCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobCollector.class);
+
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final TransactionOperations transaction;
+    private final int batchSize;
+    private final Counter collectedBlobs;
+    private final Timer collectTimer;
+
+    public BlobCollector(BlobStore blobStore, BlobRepository blobRepository,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         @Value("${uploads.gc.batch-size:100}") int batchSize) {
+        this.blobStore = blobStore;
+        this.blobRepository = blobRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.collectedBlobs = Counter.builder("uploads.blobs.collected")
+                .description("Unreferenced upload blobs deleted by the collector")
+                .register(meterRegistry);
+        this.collectTimer = Timer.builder("uploads.blobs.collect")
+                .description("Time spent collecting unreferenced upload blobs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.gc.interval:PT1H}",
+            initialDelayString = "${uploads.gc.initial-delay:PT5M}")
+    public void collect() {
+        long collected = collectTimer.record(() -> {
+            try {
+                return collectUnreferenced();
+            } catch (IOException | UncheckedIOException e) {
+                logger.warn("Blob collection stopped early", e);
+                return 0L;
+            }
+        });
+        if (collected > 0) {
+            logger.info("Collected {} unreferenced upload blobs", collected);
+        }
+    }
+
+    long collectUnreferenced() throws IOException {
+        long[] total = {0};
+        List<String> batch = new ArrayList<>(batchSize);
+        blobStore.forEachKey(key -> {
+            batch.add(key);
+            if (batch.size() == batchSize) {
+                total[0] += sweep(batch);
+                batch.clear();
+            }
+        });
+        total[0] += sweep(batch);
+        // Rows released after their file went missing would otherwise stay forever
+        total[0] += sweep(transaction.execute(status -> blobRepository.findReleased(batchSize)));
+        return total[0];
+    }
+
+    private int sweep(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        int deleted = transaction.execute(status -> {
+            List<String> garbage = blobRepository.lockUnreferenced(keys);
+            for (String key : garbage) {
+                try {
+                    blobStore.delete(key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            blobRepository.deleteUnreferenced(garbage);
+            return garbage.size();
+        });
+        collectedBlobs.increment(deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,101 @@
+package com.innosync.storage;
+
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable files addressed by the hex SHA-256 of their content, so storing the same bytes twice
+ * keeps one copy. Which blobs are still in use is tracked elsewhere (see
+ * {@link com.innosync.repository.BlobRepository}); a store only holds bytes.
+ * <p>
+ * Writing happens in two steps: {@link #stage} copies an upload aside while hashing it, then
+ * {@link StagedBlob#commit()} publishes it under its key in one atomic step, or does nothing
+ * when that content is already stored.
+ */
+public interface BlobStore {
+
+    Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    Pattern VARIANT = Pattern.compile("[0-9a-z]+(\\.[0-9a-z]+)*");
+
+    static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    static boolean isVariant(String variant) {
+        return variant != null && VARIANT.matcher(variant).matches();
+    }
+
+    /**
+     * Copies {@code content} aside, failing with 413 once it exceeds {@code maxBytes}. The caller
+     * must close the result, which discards whatever was not committed.
+     */
+    StagedBlob stage(InputStream content, long maxBytes) throws IOException;
+
+    Optional<Blob> find(String key) throws IOException;
+
+    /**
+     * Stores a version derived from a blob, such as a thumbnail, next to it under
+     * {@code <key>.<variant>}. Variants are replaced when written again, are not listed by
+     * {@link #forEachKey} and go away with their blob.
+     */
+    void putVariant(String key, String variant, byte[] content) throws IOException;
+
+    Optional<Blob> findVariant(String key, String variant) throws IOException;
+
+    /**
+     * Removes a blob and its variants; deleting one that does not exist is not an error.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Calls {@code action} with the key of every stored blob, in no particular order.
+     */
+    void forEachKey(Consumer<String> action) throws IOException;
+
+    interface StagedBlob extends Closeable {
+
+        String key();
+
+        long size();
+
+        /**
+         * The type the content's first bytes announce, {@code application/octet-stream} unless
+         * it is one of the types uploads are served as.
+         */
+        MediaType mediaType();
+
+        /**
+         * Makes the content readable under {@link #key()}. Idempotent.
+         */
+        void commit() throws IOException;
+    }
+
+    interface Blob {
+
+        String key();
+
+        long size();
+
+        /**
+         * The blob as a local file, when the store keeps it on this machine; lets responses use
+         * sendfile instead of copying through the JVM.
+         */
+        Optional<Path> file();
+
+        /**
+         * Bytes {@code start} to {@code end}, both inclusive.
+         */
+        InputStream open(long start, long end) throws IOException;
+
+        default InputStream open() throws IOException {
+            return open(0, size() - 1);
+        }
+    }
+}
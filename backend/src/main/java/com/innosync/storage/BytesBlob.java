@@ -0,0 +1,27 @@
+package com.innosync.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A small blob held in memory, such as a cached thumbnail.
+ */
+record BytesBlob(String key, byte[] content) implements BlobStore.Blob {
+
+    @Override
+    public long size() {
+        return content.length;
+    }
+
+    @Override
+    public Optional<Path> file() {
+        return Optional.empty();
+    }
+
+    @Override
+    public InputStream open(long start, long end) {
+        return new ByteArrayInputStream(content, (int) start, (int) (end - start + 1));
+    }
+}
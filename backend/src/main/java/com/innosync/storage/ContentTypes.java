@@ -0,0 +1,83 @@
+package com.innosync.storage;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The few content types uploads are ever served with. Anything else goes out as
+ * {@code application/octet-stream}: filenames come from the uploader, so an {@code .html} or
+ * {@code .svg} "picture" must never reach a browser as a document it would render.
+ */
+final class ContentTypes {
+
+    static final Set<MediaType> PICTURE = Set.of(MediaType.IMAGE_PNG, MediaType.IMAGE_JPEG, MediaType.IMAGE_GIF);
+    static final Set<MediaType> RESUME = Set.of(MediaType.APPLICATION_PDF);
+
+    /**
+     * How many leading bytes {@link #sniff} looks at.
+     */
+    static final int HEAD_LENGTH = 8;
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89 = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+
+    private ContentTypes() {
+    }
+
+    /**
+     * The type the first {@code length} bytes of a file announce, or
+     * {@code application/octet-stream} when they are none of the served types.
+     */
+    static MediaType sniff(byte[] head, int length) {
+        if (startsWith(head, length, PNG)) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(head, length, JPEG)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(head, length, GIF87) || startsWith(head, length, GIF89)) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (startsWith(head, length, PDF)) {
+            return MediaType.APPLICATION_PDF;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * The type of a file stored before uploads were sniffed, going by its extension.
+     */
+    static MediaType byExtension(String filename) {
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".png")) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (name.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (name.endsWith(".pdf")) {
+            return MediaType.APPLICATION_PDF;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * {@code type} when it is one of {@code allowed}, otherwise {@code application/octet-stream}.
+     */
+    static MediaType restrict(MediaType type, Set<MediaType> allowed) {
+        return allowed.contains(type) ? type : MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean startsWith(byte[] head, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(head, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
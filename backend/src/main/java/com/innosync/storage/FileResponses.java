@@ -0,0 +1,136 @@
+package com.innosync.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves stored files with conditional GETs (ETag and, for legacy files, Last-Modified, answered
+ * with 304) and single byte ranges (206, or 416 when unsatisfiable). Multiple ranges are answered
+ * with the whole file.
+ * <p>
+ * Files on the local disk are handed to Tomcat's sendfile when the connector supports it, so the
+ * kernel copies them to the socket, or else copied with {@link FileChannel#transferTo}. Remote
+ * blobs are streamed, fetching only the requested range.
+ */
+public final class FileResponses {
+
+    // Tomcat request attributes, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponses() {
+    }
+
+    public static void write(HttpServletRequest request, HttpServletResponse response, UploadStorage.StoredFile file,
+                             ContentDisposition.Builder disposition, CacheControl cacheControl) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Browsers must take the allow-listed type as given, never guess a renderable one
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // Sets ETag and Last-Modified, and answers 304 (or 412) when the client's copy is current
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (file.lastModified() == null ? webRequest.checkNotModified(file.etag())
+                : webRequest.checkNotModified(file.etag(), file.lastModified().toEpochMilli())) {
+            return;
+        }
+
+        long size = file.blob().size();
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeStillValid(request, file)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                // A malformed Range header is ignored
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    start = size;
+                }
+                if (start >= size || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(file.mediaType().toString());
+        response.setContentLengthLong(length);
+        // Only non-ASCII names need the encoded filename* form
+        String filename = file.filename();
+        boolean ascii = StandardCharsets.US_ASCII.newEncoder().canEncode(filename);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, (ascii ? disposition.filename(filename)
+                : disposition.filename(filename, StandardCharsets.UTF_8)).build().toString());
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        Path path = file.blob().file().orElse(null);
+        if (path == null) {
+            try (InputStream in = file.blob().open(start, end)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // If-Range: only honour the range when the client's copy is still the current file
+    private static boolean rangeStillValid(HttpServletRequest request, UploadStorage.StoredFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(file.etag());
+        }
+        if (file.lastModified() == null) {
+            return false;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == file.lastModified().toEpochMilli() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
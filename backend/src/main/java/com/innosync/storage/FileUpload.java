@@ -0,0 +1,47 @@
+package com.innosync.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A file arriving in a request body, read as it streams in. Accepts either a
+ * {@code multipart/form-data} body with the file in the given field, or the raw file as the
+ * body with its name in the {@code filename} query parameter.
+ */
+public record FileUpload(String filename, String contentType, InputStream content) {
+
+    private static final String DEFAULT_FILENAME = "upload";
+
+    public static FileUpload from(HttpServletRequest request, String field) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return new FileUpload(baseName(request.getParameter("filename")), contentType, request.getInputStream());
+        }
+
+        String boundary = MultipartStreamReader.boundary(contentType);
+        if (boundary == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Multipart boundary missing");
+        }
+        MultipartStreamReader reader = new MultipartStreamReader(request.getInputStream(), boundary);
+        for (MultipartStreamReader.Part part = reader.next(); part != null; part = reader.next()) {
+            if (field.equals(part.name()) && part.filename() != null) {
+                return new FileUpload(baseName(part.filename()), part.contentType(), part.body());
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No file in part '" + field + "'");
+    }
+
+    // Browsers may send a full client path; only its last segment is kept
+    private static String baseName(String filename) {
+        if (filename == null) {
+            return DEFAULT_FILENAME;
+        }
+        String name = filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1).trim();
+        return name.isEmpty() || name.equals(".") || name.equals("..") ? DEFAULT_FILENAME : name;
+    }
+}
@@ -0,0 +1,172 @@
+package com.innosync.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Blobs as files under {@code root}, sharded by the first two byte pairs of their key
+ * ({@code 3f/a2/3fa2...}) so no directory holds more than a few entries per thousand blobs.
+ * Uploads are staged in {@code root/.staging}, on the same file system as their target, and
+ * renamed into place once hashed, so readers never see a partial blob.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private static final String STAGING_DIRECTORY = ".staging";
+
+    private final Path root;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content, long maxBytes) throws IOException {
+        Path staging = Files.createDirectories(root.resolve(STAGING_DIRECTORY));
+        Path file = Files.createTempFile(staging, "blob-", ".part");
+        return new StagedFile(file, content, maxBytes) {
+            @Override
+            public void commit() throws IOException {
+                Path target = path(key());
+                if (Files.exists(target)) {
+                    // Same content is already stored; close() drops this copy
+                    return;
+                }
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        };
+    }
+
+    @Override
+    public Optional<Blob> find(String key) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            return Optional.empty();
+        }
+        return FileBlob.of(key, path(key));
+    }
+
+    @Override
+    public void putVariant(String key, String variant, byte[] content) throws IOException {
+        Path target = variantPath(key, variant);
+        Path staging = Files.createDirectories(root.resolve(STAGING_DIRECTORY));
+        Path file = Files.createTempFile(staging, "variant-", ".part");
+        try {
+            Files.write(file, content);
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Blob> findVariant(String key, String variant) throws IOException {
+        if (!BlobStore.isKey(key) || !BlobStore.isVariant(variant)) {
+            return Optional.empty();
+        }
+        return FileBlob.of(key + "." + variant, variantPath(key, variant));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            return;
+        }
+        Path path = path(key);
+        Files.deleteIfExists(path);
+        if (Files.isDirectory(path.getParent())) {
+            try (DirectoryStream<Path> variants = Files.newDirectoryStream(path.getParent(), key + ".*")) {
+                for (Path variant : variants) {
+                    Files.deleteIfExists(variant);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Consumer<String> action) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(BlobStore::isKey)
+                    .forEach(action);
+        }
+    }
+
+    Path path(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Path variantPath(String key, String variant) {
+        if (!BlobStore.isKey(key) || !BlobStore.isVariant(variant)) {
+            throw new IllegalArgumentException("Invalid blob variant " + key + "." + variant);
+        }
+        return path(key).resolveSibling(key + "." + variant);
+    }
+
+    /**
+     * A blob, or any other regular file, on the local disk.
+     */
+    record FileBlob(String key, Path path, long size) implements Blob {
+
+        static Optional<Blob> of(String key, Path path) throws IOException {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return Optional.empty();
+            }
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new FileBlob(key, path, attributes.size()));
+        }
+
+        @Override
+        public Optional<Path> file() {
+            return Optional.of(path);
+        }
+
+        @Override
+        public InputStream open(long start, long end) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ).position(start);
+            long[] remaining = {end - start + 1};
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                @Override
+                public int read() throws IOException {
+                    if (remaining[0] <= 0) {
+                        return -1;
+                    }
+                    int read = super.read();
+                    if (read >= 0) {
+                        remaining[0]--;
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    if (remaining[0] <= 0) {
+                        return -1;
+                    }
+                    int read = super.read(buffer, offset, (int) Math.min(length, remaining[0]));
+                    if (read > 0) {
+                        remaining[0] -= read;
+                    }
+                    return read;
+                }
+            };
+        }
+    }
+}
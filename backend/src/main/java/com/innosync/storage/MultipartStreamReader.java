@@ -0,0 +1,206 @@
+package com.innosync.storage;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a {@code multipart/form-data} body part by part straight from the request stream, so
+ * file parts can be copied to storage while they arrive instead of being spooled first. Each
+ * part's body must be read (or is skipped) before the next part is returned.
+ */
+final class MultipartStreamReader {
+
+    record Part(String name, String filename, String contentType, InputStream body) {
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    // CRLF "--" boundary: the line break before a boundary belongs to the boundary, not the part
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean finished;
+    private PartStream current;
+
+    MultipartStreamReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+        // The first boundary opens the body without a line break; pretend it had one so every
+        // delimiter looks alike, and read whatever precedes it as a preamble part
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        limit = 2;
+        current = new PartStream();
+    }
+
+    /**
+     * The boundary parameter of a multipart content type, or null if there is none.
+     */
+    static String boundary(String contentType) {
+        String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+        if (boundary != null && boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary == null || boundary.isEmpty() ? null : boundary;
+    }
+
+    /**
+     * The next part, or null after the closing boundary. Skips the rest of the current part.
+     */
+    Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipToEnd();
+        fill(2);
+        if (limit - pos >= 2 && buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // Rest of the boundary line, which may carry transport padding
+        readLine();
+
+        String disposition = null;
+        String contentType = null;
+        int headerBytes = 0;
+        for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart part headers exceed " + MAX_HEADER_BYTES + " bytes");
+            }
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_DISPOSITION)) {
+                disposition = value;
+            } else if (name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                contentType = value;
+            }
+        }
+
+        current = new PartStream();
+        ContentDisposition parsed = disposition != null ? ContentDisposition.parse(disposition) : ContentDisposition.empty();
+        return new Part(parsed.getName(), parsed.getFilename(), contentType, current);
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            fill(1);
+            if (pos == limit) {
+                throw new EOFException("Multipart stream ended inside part headers");
+            }
+            byte b = buffer[pos++];
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+            if (line.size() > MAX_HEADER_BYTES) {
+                throw new IOException("Multipart header line exceeds " + MAX_HEADER_BYTES + " bytes");
+            }
+        }
+    }
+
+    // Makes at least `wanted` bytes available unless the stream ends first
+    private void fill(int wanted) throws IOException {
+        if (limit - pos >= wanted || eof) {
+            return;
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        while (limit < wanted && !eof) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    // Where a delimiter starts among the next `span` buffered bytes, or -1
+    private int indexOfDelimiter(int span) {
+        int last = Math.min(limit - delimiter.length, pos + span - 1);
+        outer:
+        for (int i = pos; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Body of one part: the bytes up to the next delimiter.
+     */
+    private final class PartStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            fill(delimiter.length);
+            int match = indexOfDelimiter(length);
+            if (match == pos) {
+                done = true;
+                pos += delimiter.length;
+                return -1;
+            }
+            int count;
+            if (match >= 0) {
+                count = match - pos;
+            } else {
+                // Keep enough bytes back to recognise a delimiter split across reads
+                count = Math.min(length, limit - pos - delimiter.length + 1);
+                if (count <= 0) {
+                    throw new EOFException("Multipart stream ended before the closing boundary");
+                }
+            }
+            System.arraycopy(buffer, pos, target, offset, count);
+            pos += count;
+            return count;
+        }
+
+        void skipToEnd() throws IOException {
+            byte[] scratch = new byte[8192];
+            while (read(scratch, 0, scratch.length) >= 0) {
+                // discard
+            }
+        }
+    }
+}
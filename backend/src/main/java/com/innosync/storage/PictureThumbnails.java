@@ -0,0 +1,313 @@
+package com.innosync.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JPEG thumbnails of profile pictures, one per configured size, each fitting in a square of that
+ * many pixels. They are stored as variants of the picture's blob ({@code <key>.128.jpg}), so they
+ * share its lifetime, and are made once per distinct picture.
+ * <p>
+ * Thumbnails are rendered on a small dedicated pool with a bounded queue: uploads schedule them
+ * without waiting, and a request for one that does not exist yet waits for the same job instead
+ * of starting another. The smallest sizes, the ones listings show many of, are also kept in an
+ * in-memory LRU.
+ */
+@Service
+public class PictureThumbnails implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PictureThumbnails.class);
+
+    // Larger images are not decoded at all; their thumbnails fall back to the original
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final BlobStore blobStore;
+    private final int[] sizes;
+    private final Executor executor;
+    private final int cacheMaxDimension;
+    private final Duration maxWait;
+    // <key>.<variant> -> JPEG bytes
+    private final Cache<String, byte[]> hotThumbnails;
+    // Keys of blobs that are not readable images, so requests stop retrying them
+    private final Cache<String, Boolean> unreadable = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> rendering = new ConcurrentHashMap<>();
+    private final AtomicInteger rejections = new AtomicInteger();
+
+    @Autowired
+    public PictureThumbnails(BlobStore blobStore,
+                             @Value("${uploads.picture.thumbnails.sizes:64,128,512}") List<Integer> sizes,
+                             @Value("${uploads.picture.thumbnails.threads:2}") int threads,
+                             @Value("${uploads.picture.thumbnails.queue-capacity:100}") int queueCapacity,
+                             @Value("${uploads.picture.thumbnails.cache-max-dimension:128}") int cacheMaxDimension,
+                             @Value("${uploads.picture.thumbnails.cache-size:16MB}") DataSize cacheSize,
+                             @Value("${uploads.picture.thumbnails.max-wait:PT5S}") Duration maxWait) {
+        this(blobStore, sizes, newExecutor(threads, queueCapacity), cacheMaxDimension, cacheSize.toBytes(), maxWait);
+    }
+
+    public PictureThumbnails(BlobStore blobStore, List<Integer> sizes, Executor executor,
+                             int cacheMaxDimension, long cacheBytes, Duration maxWait) {
+        this.blobStore = blobStore;
+        this.sizes = sizes.stream().mapToInt(Integer::intValue).filter(size -> size > 0).sorted().distinct().toArray();
+        this.executor = executor;
+        this.cacheMaxDimension = cacheMaxDimension;
+        this.maxWait = maxWait;
+        this.hotThumbnails = Caffeine.newBuilder()
+                .maximumWeight(cacheBytes)
+                .weigher((String key, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The smallest thumbnail size at least {@code size} pixels, or empty when {@code size} is
+     * larger than all of them.
+     */
+    public OptionalInt box(int size) {
+        for (int box : sizes) {
+            if (box >= size) {
+                return OptionalInt.of(box);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    public static String variant(int box) {
+        return box + ".jpg";
+    }
+
+    /**
+     * Schedules a picture's thumbnails without waiting for them. When the pool is saturated they
+     * are left to the first request that needs them.
+     */
+    public void generateLater(String key) {
+        try {
+            render(key);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Thumbnail pool saturated, deferring thumbnails of {}", key);
+        }
+    }
+
+    /**
+     * The thumbnail of a picture for one of the configured sizes, rendering the picture's
+     * thumbnails first if needed. Empty when the blob is not a readable image or its thumbnails
+     * are not ready within {@code max-wait}; callers then serve the original.
+     */
+    public Optional<BlobStore.Blob> find(String key, int box) throws IOException {
+        String variant = variant(box);
+        byte[] cached = hotThumbnails.getIfPresent(key + "." + variant);
+        if (cached != null) {
+            return Optional.of(new BytesBlob(key + "." + variant, cached));
+        }
+        Optional<BlobStore.Blob> stored = blobStore.findVariant(key, variant);
+        if (stored.isEmpty()) {
+            if (unreadable.getIfPresent(key) != null || !awaitRendering(key)) {
+                return Optional.empty();
+            }
+            stored = blobStore.findVariant(key, variant);
+        }
+        if (stored.isEmpty() || box > cacheMaxDimension) {
+            return stored;
+        }
+        byte[] content;
+        try (InputStream in = stored.get().open()) {
+            content = in.readAllBytes();
+        }
+        hotThumbnails.put(key + "." + variant, content);
+        return Optional.of(new BytesBlob(key + "." + variant, content));
+    }
+
+    private boolean awaitRendering(String key) {
+        try {
+            return render(key).get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+            logger.debug("Thumbnails of {} not ready, serving the original", key, e);
+            return false;
+        }
+    }
+
+    // One job per picture at a time; later callers get the running one
+    private CompletableFuture<Boolean> render(String key) {
+        CompletableFuture<Boolean> job = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = rendering.putIfAbsent(key, job);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    job.complete(renderNow(key));
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Failed to render thumbnails of {}", key, e);
+                    job.completeExceptionally(e);
+                } finally {
+                    rendering.remove(key, job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rendering.remove(key, job);
+            rejections.incrementAndGet();
+            throw e;
+        }
+        return job;
+    }
+
+    // Renders every size from the largest down, each from the previous one
+    boolean renderNow(String key) throws IOException {
+        Optional<BlobStore.Blob> original = blobStore.find(key);
+        if (original.isEmpty()) {
+            return false;
+        }
+        BufferedImage image;
+        try (InputStream in = original.get().open()) {
+            image = decode(in);
+        }
+        if (image == null) {
+            unreadable.put(key, Boolean.TRUE);
+            return false;
+        }
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = scale(image, sizes[i]);
+            blobStore.putVariant(key, variant(sizes[i]), encode(image));
+        }
+        return true;
+    }
+
+    private BufferedImage decode(InputStream in) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    return null;
+                }
+                // Large photos are decoded at a fraction of their resolution, still twice the
+                // largest thumbnail so scaling down keeps its quality
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (2 * sizes[sizes.length - 1]));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Unreadable picture", e);
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Fits an image in a {@code box} pixel square without enlarging it, halving with bilinear
+     * filtering until the last step so detail is averaged rather than dropped. Transparent areas
+     * become white, as JPEG has no alpha channel.
+     */
+    static BufferedImage scale(BufferedImage image, int box) {
+        double ratio = Math.min(1.0, (double) box / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (executor instanceof ExecutorService executorService) {
+            ExecutorServiceMetrics.monitor(registry, executorService, "uploads.thumbnails");
+        }
+        CaffeineCacheMetrics.monitor(registry, hotThumbnails, "uploads.thumbnails");
+        FunctionCounter.builder("uploads.thumbnails.rejected", rejections, AtomicInteger::get)
+                .description("Thumbnail jobs rejected because the pool was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnails-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,176 @@
+package com.innosync.storage;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.jobs.JobHandler;
+import com.innosync.repository.ResumeTextRepository;
+import com.innosync.service.ChangeFeedService;
+import com.innosync.service.TechnologyDictionary;
+import com.innosync.service.TechnologyIndex;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Extracts the text of uploaded resumes in the background ({@value #TYPE} jobs, queued by
+ * {@link UploadStorage#attachResume}). The text is stored on the profile, where the search
+ * document picks it up, and the technologies it names feed the {@link TechnologyIndex} used to
+ * match candidates.
+ * <p>
+ * Only PDFs are read, up to {@code uploads.resume.text.max-pages} pages and
+ * {@code uploads.resume.text.max-length} characters. Other files, and PDFs that cannot be parsed,
+ * leave the profile without resume text; retrying would not change that, so only failures to
+ * read the blob itself are retried.
+ */
+@Component
+public class ResumeTextExtractor implements JobHandler<ResumeTextExtractor.Job> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeTextExtractor.class);
+
+    public static final String TYPE = "resume-text";
+
+    // Readers accept the header anywhere in the first kilobyte
+    private static final int HEADER_WINDOW = 1024;
+    private static final byte[] PDF_HEADER = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Extract the text of the resume with blob key {@code key} for profile {@code profileId}.
+     */
+    public record Job(long profileId, String key) {
+    }
+
+    private final BlobStore blobStore;
+    private final ResumeTextRepository resumeTextRepository;
+    private final TechnologyDictionary technologyDictionary;
+    private final TechnologyIndex technologyIndex;
+    private final ChangeFeedService changeFeedService;
+    private final TransactionOperations transaction;
+    private final int maxPages;
+    private final int maxLength;
+
+    public ResumeTextExtractor(BlobStore blobStore, ResumeTextRepository resumeTextRepository,
+                               TechnologyDictionary technologyDictionary, TechnologyIndex technologyIndex,
+                               ChangeFeedService changeFeedService, PlatformTransactionManager transactionManager,
+                               @Value("${uploads.resume.text.max-pages:50}") int maxPages,
+                               @Value("${uploads.resume.text.max-length:100000}") int maxLength) {
+        this.blobStore = blobStore;
+        this.resumeTextRepository = resumeTextRepository;
+        this.technologyDictionary = technologyDictionary;
+        this.technologyIndex = technologyIndex;
+        this.changeFeedService = changeFeedService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxPages = maxPages;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Job> payloadType() {
+        return Job.class;
+    }
+
+    @Override
+    public void handle(Job job) throws IOException {
+        Optional<BlobStore.Blob> blob = blobStore.find(job.key());
+        if (blob.isEmpty()) {
+            // Replaced and collected before we got to it
+            logger.debug("Resume {} of profile {} is gone, skipping extraction", job.key(), job.profileId());
+            return;
+        }
+        String text = extract(blob.get());
+        List<Long> technologyIds = technologyDictionary.findMentioned(text);
+        transaction.executeWithoutResult(status -> resumeTextRepository
+                .store(job.profileId(), job.key(), text, technologyIds)
+                .ifPresent(userId -> {
+                    technologyIndex.updateResumeTechnologies(job.profileId(), technologyIds);
+                    changeFeedService.record(ChangeEntry.EntityType.PROFILE, job.profileId(), userId, ChangeEntry.Operation.UPSERT);
+                }));
+        logger.info("Extracted {} characters naming {} technologies from resume {} of profile {}",
+                text != null ? text.length() : 0, technologyIds.size(), job.key(), job.profileId());
+    }
+
+    /**
+     * The text of a PDF blob, or null when it is not a PDF, cannot be parsed or holds no text
+     * (a scan, say). Only failures to read the blob are thrown.
+     */
+    String extract(BlobStore.Blob blob) throws IOException {
+        try (RandomAccessRead source = open(blob)) {
+            if (!isPdf(source)) {
+                return null;
+            }
+            String text;
+            try (PDDocument document = Loader.loadPDF(source)) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setEndPage(maxPages);
+                text = stripper.getText(document);
+            } catch (IOException | RuntimeException e) {
+                logger.info("Could not extract text from resume {}: {}", blob.key(), e.toString());
+                return null;
+            }
+            return clean(text);
+        }
+    }
+
+    private static RandomAccessRead open(BlobStore.Blob blob) throws IOException {
+        Optional<Path> file = blob.file();
+        if (file.isPresent()) {
+            return new RandomAccessReadBufferedFile(file.get());
+        }
+        try (InputStream in = blob.open()) {
+            return new RandomAccessReadBuffer(in);
+        }
+    }
+
+    private static boolean isPdf(RandomAccessRead source) throws IOException {
+        byte[] head = new byte[HEADER_WINDOW];
+        int length = 0;
+        int read;
+        while (length < head.length && (read = source.read(head, length, head.length - length)) > 0) {
+            length += read;
+        }
+        source.seek(0);
+        for (int start = 0; start + PDF_HEADER.length <= length; start++) {
+            int matched = 0;
+            while (matched < PDF_HEADER.length && head[start + matched] == PDF_HEADER[matched]) {
+                matched++;
+            }
+            if (matched == PDF_HEADER.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Postgres text cannot hold NUL; layout whitespace and blank lines are collapsed to keep the column small
+    private String clean(String text) {
+        String cleaned = text.replace("\u0000", "")
+                .replaceAll("[ \\t\\x0B\\f\\r]+", " ")
+                .replaceAll(" ?\\n[ \\n]*", "\n")
+                .strip();
+        if (cleaned.length() > maxLength) {
+            int end = Character.isHighSurrogate(cleaned.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+            cleaned = cleaned.substring(0, end);
+        }
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+}
@@ -0,0 +1,252 @@
+package com.innosync.storage;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Blobs as objects named {@code <prefix><key>} in a bucket of any S3-compatible service (AWS,
+ * MinIO, Ceph...), spoken to over plain HTTP with path-style URLs and SigV4 signatures, so no
+ * SDK is needed. Uploads are staged in a local temporary file while they are hashed, then sent
+ * with one PUT, which S3 applies atomically; the key doubles as the payload checksum S3 verifies.
+ */
+public class S3BlobStore implements BlobStore {
+
+    private static final String EMPTY_PAYLOAD_HASH = S3Signer.sha256Hex(new byte[0]);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(1);
+
+    private final HttpClient client;
+    private final String endpoint;
+    private final String bucket;
+    private final String prefix;
+    private final S3Signer signer;
+
+    public S3BlobStore(URI endpoint, String bucket, String region, String accessKey, String secretKey, String prefix) {
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        this.endpoint = endpoint.toString().replaceAll("/+$", "");
+        this.bucket = bucket;
+        this.prefix = prefix;
+        this.signer = new S3Signer(region, accessKey, secretKey);
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content, long maxBytes) throws IOException {
+        Path file = Files.createTempFile("blob-", ".part");
+        return new StagedFile(file, content, maxBytes) {
+            @Override
+            public void commit() throws IOException {
+                if (find(key()).isPresent()) {
+                    return;
+                }
+                HttpResponse<Void> response = send("PUT", objectUri(key()), Map.of(), key(),
+                        HttpRequest.BodyPublishers.ofFile(file), HttpResponse.BodyHandlers.discarding());
+                check(response, "PUT", key());
+            }
+        };
+    }
+
+    @Override
+    public Optional<Blob> find(String key) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            return Optional.empty();
+        }
+        return head(key);
+    }
+
+    @Override
+    public void putVariant(String key, String variant, byte[] content) throws IOException {
+        if (!BlobStore.isKey(key) || !BlobStore.isVariant(variant)) {
+            throw new IllegalArgumentException("Invalid blob variant " + key + "." + variant);
+        }
+        HttpResponse<Void> response = send("PUT", objectUri(key + "." + variant), Map.of(), S3Signer.sha256Hex(content),
+                HttpRequest.BodyPublishers.ofByteArray(content), HttpResponse.BodyHandlers.discarding());
+        check(response, "PUT", key + "." + variant);
+    }
+
+    @Override
+    public Optional<Blob> findVariant(String key, String variant) throws IOException {
+        if (!BlobStore.isKey(key) || !BlobStore.isVariant(variant)) {
+            return Optional.empty();
+        }
+        return head(key + "." + variant);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (!BlobStore.isKey(key)) {
+            return;
+        }
+        deleteObject(key);
+        List<String> variants = new ArrayList<>();
+        list(prefix + key + ".", variants::add);
+        for (String variant : variants) {
+            deleteObject(variant.substring(prefix.length()));
+        }
+    }
+
+    @Override
+    public void forEachKey(Consumer<String> action) throws IOException {
+        list(prefix, name -> {
+            if (BlobStore.isKey(name.substring(prefix.length()))) {
+                action.accept(name.substring(prefix.length()));
+            }
+        });
+    }
+
+    private Optional<Blob> head(String name) throws IOException {
+        HttpResponse<Void> response = send("HEAD", objectUri(name), Map.of(), EMPTY_PAYLOAD_HASH,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        check(response, "HEAD", name);
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        return Optional.of(new S3Blob(name, size));
+    }
+
+    private void deleteObject(String name) throws IOException {
+        HttpResponse<Void> response = send("DELETE", objectUri(name), Map.of(), EMPTY_PAYLOAD_HASH,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 404) {
+            check(response, "DELETE", name);
+        }
+    }
+
+    // ListObjectsV2, following continuation tokens; passes full object names
+    private void list(String namePrefix, Consumer<String> action) throws IOException {
+        String continuationToken = null;
+        do {
+            String query = "list-type=2&prefix=" + S3Signer.encode(namePrefix, false)
+                    + (continuationToken != null ? "&continuation-token=" + S3Signer.encode(continuationToken, false) : "");
+            URI uri = URI.create(endpoint + "/" + S3Signer.encode(bucket, false) + "?" + query);
+            HttpResponse<InputStream> response = send("GET", uri, Map.of(), EMPTY_PAYLOAD_HASH,
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+            Document listing;
+            try (InputStream body = response.body()) {
+                check(response, "LIST", namePrefix);
+                listing = parse(body);
+            }
+            NodeList contents = listing.getElementsByTagName("Contents");
+            for (int i = 0; i < contents.getLength(); i++) {
+                String name = text((Element) contents.item(i), "Key");
+                if (name != null && name.startsWith(namePrefix)) {
+                    action.accept(name);
+                }
+            }
+            Element result = listing.getDocumentElement();
+            continuationToken = "true".equals(text(result, "IsTruncated")) ? text(result, "NextContinuationToken") : null;
+        } while (continuationToken != null);
+    }
+
+    private URI objectUri(String key) {
+        return URI.create(endpoint + "/" + S3Signer.encode(bucket, false) + "/" + S3Signer.encode(prefix + key, true));
+    }
+
+    private <T> HttpResponse<T> send(String method, URI uri, Map<String, String> extraHeaders, String payloadHash,
+                                     HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler) throws IOException {
+        Instant now = Instant.now();
+        SortedMap<String, String> headers = new TreeMap<>(extraHeaders);
+        headers.put("host", uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+        headers.put("x-amz-content-sha256", payloadHash);
+        headers.put("x-amz-date", S3Signer.AMZ_DATE.format(now));
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).method(method, body);
+        // The client sets Host itself, from the same URI
+        headers.forEach((name, value) -> {
+            if (!name.equals("host")) {
+                request.header(name, value);
+            }
+        });
+        request.header("Authorization", signer.authorization(method, uri, headers, payloadHash, now));
+        try {
+            return client.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during S3 " + method + " " + uri);
+        }
+    }
+
+    private static void check(HttpResponse<?> response, String operation, String key) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 " + operation + " " + key + " failed with HTTP " + response.statusCode());
+        }
+    }
+
+    private static Document parse(InputStream body) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            return factory.newDocumentBuilder().parse(body);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Unreadable S3 listing", e);
+        }
+    }
+
+    private static String text(Element parent, String child) {
+        NodeList nodes = parent.getElementsByTagName(child);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent() : null;
+    }
+
+    private class S3Blob implements Blob {
+
+        private final String key;
+        private final long size;
+
+        S3Blob(String key, long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public Optional<Path> file() {
+            return Optional.empty();
+        }
+
+        @Override
+        public InputStream open(long start, long end) throws IOException {
+            if (end < start) {
+                return InputStream.nullInputStream();
+            }
+            HttpResponse<InputStream> response = send("GET", objectUri(key), Map.of("range", "bytes=" + start + "-" + end),
+                    EMPTY_PAYLOAD_HASH, HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() / 100 != 2) {
+                response.body().close();
+                check(response, "GET", key);
+            }
+            return response.body();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.innosync.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * An upload copied into a local temporary file and hashed on the way, in one pass; its first
+ * bytes tell its type (see {@link ContentTypes#sniff}). Stores decide
+ * in {@link #commit()} where the file goes; {@link #close()} removes it if it is still here.
+ */
+abstract class StagedFile implements BlobStore.StagedBlob {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Path file;
+    private final String key;
+    private final long size;
+    private final MediaType mediaType;
+
+    StagedFile(Path file, InputStream content, long maxBytes) throws IOException {
+        this.file = file;
+        MessageDigest digest = sha256();
+        long total = 0;
+        byte[] head = new byte[ContentTypes.HEAD_LENGTH];
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(file), digest)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = content.read(buffer); read >= 0; read = content.read(buffer)) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "File exceeds the limit of " + maxBytes + " bytes");
+                }
+                if (total - read < head.length) {
+                    int offset = (int) (total - read);
+                    System.arraycopy(buffer, 0, head, offset, Math.min(read, head.length - offset));
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        this.key = HexFormat.of().formatHex(digest.digest());
+        this.size = total;
+        this.mediaType = ContentTypes.sniff(head, (int) Math.min(total, head.length));
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.innosync.storage;
+
+import com.innosync.jobs.JobQueue;
+import com.innosync.model.Profile;
+import com.innosync.repository.BlobRepository;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.service.ProfileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resumes and profile pictures, kept in the {@link BlobStore} by content. A profile stores a
+ * reference {@code <sha256>/<original filename>}; profiles uploading the same file share one blob,
+ * and the blob's reference count (see {@link BlobRepository}) tells the {@link BlobCollector}
+ * when the last profile has moved on.
+ * <p>
+ * Uploads are staged, hashed and sniffed for their type straight from the request stream before
+ * any transaction starts; the type is recorded with the blob, and downloads are only ever served
+ * as one of a few known types (see {@link ContentTypes}).
+ * Storing one then takes three steps, so the possibly slow write to the store never runs while
+ * a transaction holds locks or a connection: a short transaction takes a reference on the blob,
+ * which keeps the {@link BlobCollector} away from it; the blob is committed to the store; and a
+ * second short transaction swaps the profile's reference while holding its row lock, so two
+ * concurrent uploads for one profile cannot both release the same old blob. A resume's text
+ * extraction job (see {@link ResumeTextExtractor}) is queued in that second transaction. When a
+ * later step fails the reference is given back; should the process die in between, the blob is
+ * merely kept longer than needed.
+ * <p>
+ * Paths stored before blobs existed, such as {@code uploads/resumes/cv_user_7_cv.pdf}, still
+ * resolve against {@code uploads.root}, which defaults to the parent of the working directory
+ * (the repository root when run from {@code backend}).
+ */
+@Service
+public class UploadStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadStorage.class);
+
+    public static final String BLOB_DIRECTORY = "uploads/blobs";
+
+    /**
+     * A stored file with the type it is served as and the validators used for conditional
+     * requests. Blobs never change, so their key is a strong ETag and they carry no modification
+     * time ({@code lastModified} is null); legacy files have both.
+     */
+    public record StoredFile(BlobStore.Blob blob, String filename, MediaType mediaType, String etag,
+                             Instant lastModified) {
+    }
+
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final ProfileRepository profileRepository;
+    private final ProfileService profileService;
+    private final PictureThumbnails thumbnails;
+    private final JobQueue jobQueue;
+    private final TransactionOperations transaction;
+    private final Path root;
+    private final long maxResumeBytes;
+    private final long maxPictureBytes;
+
+    public UploadStorage(BlobStore blobStore, BlobRepository blobRepository, ProfileRepository profileRepository,
+                         ProfileService profileService, PictureThumbnails thumbnails, JobQueue jobQueue,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${uploads.root:}") String root,
+                         @Value("${uploads.resume.max-size:10MB}") DataSize maxResumeSize,
+                         @Value("${uploads.picture.max-size:5MB}") DataSize maxPictureSize) {
+        this.blobStore = blobStore;
+        this.blobRepository = blobRepository;
+        this.profileRepository = profileRepository;
+        this.profileService = profileService;
+        this.thumbnails = thumbnails;
+        this.jobQueue = jobQueue;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.root = resolveRoot(root);
+        this.maxResumeBytes = maxResumeSize.toBytes();
+        this.maxPictureBytes = maxPictureSize.toBytes();
+    }
+
+    /**
+     * {@code uploads.root}, or the parent of the working directory when it is empty.
+     */
+    public static Path resolveRoot(String root) {
+        Path base = root.isBlank() ? Paths.get(System.getProperty("user.dir")).getParent() : Paths.get(root);
+        return base.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Stores an upload as the profile's resume and saves the profile; returns the new reference.
+     * Its text is extracted in the background.
+     */
+    public String attachResume(Profile profile, FileUpload upload) throws IOException {
+        return attach(profile, upload, maxResumeBytes, Profile::getResume, Profile::setResume,
+                saved -> jobQueue.enqueue(ResumeTextExtractor.TYPE,
+                        new ResumeTextExtractor.Job(saved.getId(), keyOf(saved.getResume()))));
+    }
+
+    /**
+     * Stores an upload as the profile's picture and saves the profile; returns the new reference.
+     * Its thumbnails are rendered in the background.
+     */
+    public String attachPicture(Profile profile, FileUpload upload) throws IOException {
+        String reference = attach(profile, upload, maxPictureBytes, Profile::getProfilePicture, Profile::setProfilePicture,
+                saved -> { });
+        thumbnails.generateLater(keyOf(reference));
+        return reference;
+    }
+
+    /**
+     * A profile picture scaled to fit in a {@code size} pixel square, or the original when
+     * {@code size} is null or larger than every thumbnail, or the picture has no thumbnails
+     * (stored before blobs existed, or not a readable image). Only PNG, JPEG and GIF pictures
+     * keep their type.
+     */
+    public Optional<StoredFile> findPicture(String reference, Integer size) throws IOException {
+        String key = keyOf(reference);
+        OptionalInt box = size == null ? OptionalInt.empty() : thumbnails.box(size);
+        if (key != null && box.isPresent()) {
+            Optional<BlobStore.Blob> thumbnail = thumbnails.find(key, box.getAsInt());
+            if (thumbnail.isPresent()) {
+                // avatar.png at 128 pixels is served as avatar-128.jpg
+                String filename = reference.substring(key.length() + 1).replaceFirst("\\.[^.]*$", "")
+                        + "-" + box.getAsInt() + ".jpg";
+                return Optional.of(new StoredFile(thumbnail.get(), filename, MediaType.IMAGE_JPEG,
+                        "\"" + key + "-" + box.getAsInt() + "\"", null));
+            }
+        }
+        return find(reference, ContentTypes.PICTURE);
+    }
+
+    /**
+     * The resume behind a profile's stored reference, if it still exists. Only PDFs keep their type.
+     */
+    public Optional<StoredFile> findResume(String reference) throws IOException {
+        return find(reference, ContentTypes.RESUME);
+    }
+
+    /**
+     * The file behind a stored reference, served as the type sniffed at upload if that is one of
+     * {@code allowed} and as {@code application/octet-stream} otherwise. Files from before types
+     * were recorded go by their extension instead.
+     */
+    private Optional<StoredFile> find(String reference, Set<MediaType> allowed) throws IOException {
+        if (reference == null || reference.isBlank()) {
+            return Optional.empty();
+        }
+        String key = keyOf(reference);
+        if (key != null) {
+            String filename = reference.substring(key.length() + 1);
+            Optional<BlobStore.Blob> blob = blobStore.find(key);
+            if (blob.isEmpty()) {
+                return Optional.empty();
+            }
+            MediaType type = blobRepository.findMediaType(key).map(MediaType::parseMediaType)
+                    .orElseGet(() -> ContentTypes.byExtension(filename));
+            return Optional.of(new StoredFile(blob.get(), filename, ContentTypes.restrict(type, allowed),
+                    "\"" + key + "\"", null));
+        }
+        Path path = root.resolve(reference).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        Instant modified = Instant.ofEpochMilli(Files.getLastModifiedTime(path).toMillis());
+        String filename = path.getFileName().toString();
+        MediaType type = ContentTypes.restrict(ContentTypes.byExtension(filename), allowed);
+        return LocalBlobStore.FileBlob.of(null, path).map(blob -> new StoredFile(blob, filename, type,
+                "\"" + Long.toHexString(blob.size()) + "-" + Long.toHexString(modified.toEpochMilli()) + "\"", modified));
+    }
+
+    /**
+     * The blob key of a stored reference, or null for a legacy path.
+     */
+    public static String keyOf(String reference) {
+        if (reference == null || reference.length() < 66 || reference.charAt(64) != '/') {
+            return null;
+        }
+        String key = reference.substring(0, 64);
+        return BlobStore.isKey(key) ? key : null;
+    }
+
+    private String attach(Profile profile, FileUpload upload, long maxBytes,
+                          Function<Profile, String> getter, BiConsumer<Profile, String> setter,
+                          Consumer<Profile> afterSave) throws IOException {
+        try (BlobStore.StagedBlob staged = blobStore.stage(upload.content(), maxBytes)) {
+            String reference = staged.key() + "/" + upload.filename();
+            // The reference comes first: from here on the collector leaves this blob alone
+            transaction.executeWithoutResult(status ->
+                    blobRepository.acquire(staged.key(), staged.size(), staged.mediaType().toString()));
+            try {
+                staged.commit();
+                transaction.executeWithoutResult(status -> {
+                    Profile current = profile.getId() == null ? profile : profileRepository.findForUpdateById(profile.getId())
+                            .orElseThrow(() -> new RuntimeException("Profile not found"));
+                    String previous = keyOf(getter.apply(current));
+                    if (previous != null) {
+                        blobRepository.release(previous);
+                    }
+                    setter.accept(current, reference);
+                    profileService.save(current);
+                    afterSave.accept(current);
+                });
+            } catch (IOException | RuntimeException e) {
+                releaseAfterFailure(staged.key(), e);
+                throw e;
+            }
+            logger.info("Stored upload {} ({} bytes) for user {}", reference, staged.size(), profile.getUser().getId());
+            return reference;
+        }
+    }
+
+    private void releaseAfterFailure(String key, Exception failure) {
+        try {
+            transaction.executeWithoutResult(status -> blobRepository.release(key));
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- Reference counts of content-addressed upload blobs (see BlobRepository). A blob is in use while
+-- a profile's resume or picture points at it; the collector deletes blobs whose count is zero or
+-- that have no row at all. Runs after Hibernate has created its tables and must stay idempotent.
+
+CREATE TABLE IF NOT EXISTS blob (
+    -- Hex SHA-256 of the content, the blob's key in the store
+    hash       varchar(64) PRIMARY KEY,
+    size       bigint      NOT NULL,
+    -- Sniffed from the first bytes at upload (see ContentTypes); null for blobs older than that
+    media_type varchar(100),
+    ref_count  integer     NOT NULL CHECK (ref_count >= 0),
+    updated_at timestamp   NOT NULL DEFAULT now()
+);
+
+ALTER TABLE blob ADD COLUMN IF NOT EXISTS media_type varchar(100);
+
+CREATE INDEX IF NOT EXISTS idx_blob_unreferenced ON blob (updated_at) WHERE ref_count = 0;
@@ -0,0 +1,17 @@
+-- Append-only log of entity changes behind GET /api/changes. The services write it in the same
+-- transaction as the change. Runs after Hibernate has created the tables and must stay idempotent.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id          bigint      GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    -- Writing transaction. Ids are handed out before commit, so readers order and page by this
+    -- instead (see ChangeLogRepository)
+    txid        xid8        NOT NULL DEFAULT pg_current_xact_id(),
+    entity_type varchar(16) NOT NULL,
+    entity_id   bigint      NOT NULL,
+    -- User of a profile, project of a role or team membership
+    parent_id   bigint,
+    operation   varchar(8)  NOT NULL,
+    changed_at  timestamp   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_txid ON change_log (txid, id);
@@ -0,0 +1,37 @@
+-- Entities with sequence-generated ids take blocks of allocationSize ids from their sequence and
+-- hand them out in memory (pooled-lo), so the next block starts at the sequence's next value.
+-- Tables that used IDENTITY before, or that were loaded with explicit ids, can hold rows past
+-- that point; move the sequence beyond them. Runs after Hibernate has created the sequences and
+-- must stay idempotent.
+
+CREATE OR REPLACE FUNCTION sync_id_sequence(table_name text, sequence_name text) RETURNS void LANGUAGE plpgsql AS $$
+DECLARE
+    max_id  bigint;
+    next_id bigint;
+BEGIN
+    EXECUTE format('SELECT max(id) FROM %I', table_name) INTO max_id;
+    EXECUTE format('SELECT CASE WHEN is_called THEN last_value + %s ELSE last_value END FROM %I',
+                   (SELECT s.increment_by FROM pg_sequences s
+                    WHERE s.schemaname = current_schema() AND s.sequencename = sequence_name),
+                   sequence_name)
+        INTO next_id;
+    IF max_id IS NOT NULL AND max_id >= next_id THEN
+        PERFORM setval(sequence_name, max_id + 1, false);
+    END IF;
+    -- Hibernate supplies every id now; an insert relying on the old default should fail
+    -- instead of colliding with a block
+    IF EXISTS (SELECT 1 FROM pg_attribute a
+               WHERE a.attrelid = table_name::regclass AND a.attname = 'id' AND a.attidentity <> '') THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', table_name);
+    END IF;
+END
+$$;
+
+SELECT sync_id_sequence('users', 'users_seq');
+SELECT sync_id_sequence('user_profile', 'user_profile_seq');
+SELECT sync_id_sequence('work_experience', 'work_experience_seq');
+SELECT sync_id_sequence('project', 'project_seq');
+SELECT sync_id_sequence('project_role', 'project_role_seq');
+SELECT sync_id_sequence('project_team_member', 'project_team_member_seq');
+SELECT sync_id_sequence('application', 'application_seq');
+SELECT sync_id_sequence('invitation', 'invitation_seq');
@@ -0,0 +1,18 @@
+-- Background jobs (see JobQueue). A job is PENDING until a worker finishes it, which deletes it;
+-- workers claim due jobs with SKIP LOCKED and push run_at past a lease, so a job whose worker died
+-- runs again once the lease is over. Jobs out of attempts, including those whose last lease ran
+-- out, stay behind as FAILED. Runs after Hibernate has created its tables and must stay idempotent.
+
+CREATE TABLE IF NOT EXISTS job (
+    id         bigint      GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type       varchar(64) NOT NULL,
+    payload    jsonb       NOT NULL,
+    status     varchar(16) NOT NULL DEFAULT 'PENDING',
+    attempts   integer     NOT NULL DEFAULT 0,
+    -- When the job is due: first run, next retry, or end of the current lease
+    run_at     timestamp   NOT NULL DEFAULT now(),
+    last_error text,
+    created_at timestamp   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_due ON job (run_at, id) WHERE status = 'PENDING';
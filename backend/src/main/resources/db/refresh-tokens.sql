@@ -0,0 +1,8 @@
+-- Refresh tokens issued before they were hashed still hold the raw token in the token column.
+-- Replace each with its SHA-256, as TokenHashing computes it, so lookups only ever match hashes
+-- and a leaked hash cannot be presented as a token. Hashes are 64 lowercase hex characters, which
+-- the old UUID tokens never are. Runs after Hibernate has created its tables and must stay
+-- idempotent.
+
+UPDATE refresh_token SET token = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token !~ '^[0-9a-f]{64}$';
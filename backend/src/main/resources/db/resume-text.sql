@@ -0,0 +1,8 @@
+-- Text extracted from profile resumes by the resume-text job (see ResumeTextExtractor), kept out
+-- of the Profile entity so loading profiles does not read it. Runs after Hibernate has created
+-- user_profile, before search-documents.sql indexes it, and must stay idempotent.
+
+ALTER TABLE user_profile
+    ADD COLUMN IF NOT EXISTS resume_text text,
+    -- Known technologies the text names, for candidate matching
+    ADD COLUMN IF NOT EXISTS resume_technology_ids bigint[];
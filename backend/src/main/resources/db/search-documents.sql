@@ -0,0 +1,168 @@
+-- Full-text search documents behind GET /api/search: one row per project, project role and
+-- profile, with a weighted tsvector kept up to date by the triggers below. Runs after Hibernate
+-- has created the tables and must stay idempotent.
+
+CREATE TABLE IF NOT EXISTS search_document (
+    entity_type varchar(16) NOT NULL,
+    entity_id   bigint      NOT NULL,
+    -- Project of a role, user of a profile
+    parent_id   bigint,
+    title       text,
+    summary     text,
+    document    tsvector    NOT NULL,
+    updated_at  timestamp   NOT NULL DEFAULT now(),
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_document_document ON search_document USING GIN (document);
+
+-- Refresh functions rebuild the documents of the given ids from their source rows and drop the
+-- documents whose source row is gone.
+
+CREATE OR REPLACE FUNCTION search_refresh_projects(ids bigint[]) RETURNS void LANGUAGE sql AS $$
+    DELETE FROM search_document d
+    WHERE d.entity_type = 'PROJECT' AND d.entity_id = ANY (ids)
+      AND NOT EXISTS (SELECT 1 FROM project p WHERE p.id = d.entity_id);
+
+    INSERT INTO search_document (entity_type, entity_id, parent_id, title, summary, document, updated_at)
+    SELECT 'PROJECT', p.id, NULL, p.title, left(p.description, 300),
+           setweight(to_tsvector('english', coalesce(p.title, '')), 'A')
+               || setweight(to_tsvector('english', coalesce(p.description, '')), 'B'),
+           now()
+    FROM project p
+    WHERE p.id = ANY (ids)
+    ON CONFLICT (entity_type, entity_id) DO UPDATE
+        SET title = EXCLUDED.title, summary = EXCLUDED.summary,
+            document = EXCLUDED.document, updated_at = EXCLUDED.updated_at;
+$$;
+
+CREATE OR REPLACE FUNCTION search_refresh_roles(ids bigint[]) RETURNS void LANGUAGE sql AS $$
+    DELETE FROM search_document d
+    WHERE d.entity_type = 'ROLE' AND d.entity_id = ANY (ids)
+      AND NOT EXISTS (SELECT 1 FROM project_role r WHERE r.id = d.entity_id);
+
+    -- The project title is indexed with a low weight so "payments developer" finds roles of a
+    -- payments project
+    INSERT INTO search_document (entity_type, entity_id, parent_id, title, summary, document, updated_at)
+    SELECT 'ROLE', r.id, p.id, r.role_name, p.title,
+           setweight(to_tsvector('english', coalesce(r.role_name, '')), 'A')
+               || setweight(to_tsvector('english', coalesce(p.title, '')), 'C'),
+           now()
+    FROM project_role r
+    JOIN project p ON p.id = r.project_id
+    WHERE r.id = ANY (ids)
+    ON CONFLICT (entity_type, entity_id) DO UPDATE
+        SET parent_id = EXCLUDED.parent_id, title = EXCLUDED.title, summary = EXCLUDED.summary,
+            document = EXCLUDED.document, updated_at = EXCLUDED.updated_at;
+$$;
+
+CREATE OR REPLACE FUNCTION search_refresh_profiles(ids bigint[]) RETURNS void LANGUAGE sql AS $$
+    DELETE FROM search_document d
+    WHERE d.entity_type = 'PROFILE' AND d.entity_id = ANY (ids)
+      AND NOT EXISTS (SELECT 1 FROM user_profile pr WHERE pr.id = d.entity_id);
+
+    INSERT INTO search_document (entity_type, entity_id, parent_id, title, summary, document, updated_at)
+    SELECT 'PROFILE', pr.id, u.id, u.full_name, pr.position,
+           setweight(to_tsvector('english', coalesce(pr.position, '') || ' ' || coalesce(pr.expertise, '')), 'A')
+               || setweight(to_tsvector('english', coalesce(pr.bio, '')), 'B')
+               || setweight(to_tsvector('english', coalesce(
+                      (SELECT string_agg(coalesce(w.description, ''), ' ')
+                       FROM work_experience w WHERE w.user_profile_id = pr.id), '')), 'C')
+               || setweight(to_tsvector('english', coalesce(pr.resume_text, '')), 'D'),
+           now()
+    FROM user_profile pr
+    JOIN users u ON u.id = pr.user_id
+    WHERE pr.id = ANY (ids)
+    ON CONFLICT (entity_type, entity_id) DO UPDATE
+        SET parent_id = EXCLUDED.parent_id, title = EXCLUDED.title, summary = EXCLUDED.summary,
+            document = EXCLUDED.document, updated_at = EXCLUDED.updated_at;
+$$;
+
+-- Triggers skip updates that leave the indexed columns alone, since Hibernate writes every
+-- column on update
+
+CREATE OR REPLACE FUNCTION search_project_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM search_refresh_projects(ARRAY[OLD.id]);
+    ELSIF TG_OP = 'INSERT' THEN
+        PERFORM search_refresh_projects(ARRAY[NEW.id]);
+    ELSIF NEW.title IS DISTINCT FROM OLD.title OR NEW.description IS DISTINCT FROM OLD.description THEN
+        PERFORM search_refresh_projects(ARRAY[NEW.id]);
+        IF NEW.title IS DISTINCT FROM OLD.title THEN
+            PERFORM search_refresh_roles(ARRAY(SELECT r.id FROM project_role r WHERE r.project_id = NEW.id));
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION search_role_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM search_refresh_roles(ARRAY[OLD.id]);
+    ELSIF TG_OP = 'INSERT'
+            OR NEW.role_name IS DISTINCT FROM OLD.role_name OR NEW.project_id IS DISTINCT FROM OLD.project_id THEN
+        PERFORM search_refresh_roles(ARRAY[NEW.id]);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION search_profile_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM search_refresh_profiles(ARRAY[OLD.id]);
+    ELSIF TG_OP = 'INSERT'
+            OR NEW.position IS DISTINCT FROM OLD.position OR NEW.expertise IS DISTINCT FROM OLD.expertise
+            OR NEW.bio IS DISTINCT FROM OLD.bio OR NEW.user_id IS DISTINCT FROM OLD.user_id
+            OR NEW.resume_text IS DISTINCT FROM OLD.resume_text THEN
+        PERFORM search_refresh_profiles(ARRAY[NEW.id]);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION search_work_experience_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM search_refresh_profiles(ARRAY[OLD.user_profile_id]);
+    ELSIF TG_OP = 'INSERT' THEN
+        PERFORM search_refresh_profiles(ARRAY[NEW.user_profile_id]);
+    ELSIF NEW.description IS DISTINCT FROM OLD.description OR NEW.user_profile_id IS DISTINCT FROM OLD.user_profile_id THEN
+        PERFORM search_refresh_profiles(ARRAY[OLD.user_profile_id, NEW.user_profile_id]);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION search_user_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.full_name IS DISTINCT FROM OLD.full_name THEN
+        PERFORM search_refresh_profiles(ARRAY(SELECT pr.id FROM user_profile pr WHERE pr.user_id = NEW.id));
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE OR REPLACE TRIGGER search_project AFTER INSERT OR UPDATE OR DELETE ON project
+    FOR EACH ROW EXECUTE FUNCTION search_project_changed();
+CREATE OR REPLACE TRIGGER search_project_role AFTER INSERT OR UPDATE OR DELETE ON project_role
+    FOR EACH ROW EXECUTE FUNCTION search_role_changed();
+CREATE OR REPLACE TRIGGER search_user_profile AFTER INSERT OR UPDATE OR DELETE ON user_profile
+    FOR EACH ROW EXECUTE FUNCTION search_profile_changed();
+CREATE OR REPLACE TRIGGER search_work_experience AFTER INSERT OR UPDATE OR DELETE ON work_experience
+    FOR EACH ROW EXECUTE FUNCTION search_work_experience_changed();
+CREATE OR REPLACE TRIGGER search_users AFTER UPDATE OF full_name ON users
+    FOR EACH ROW EXECUTE FUNCTION search_user_changed();
+
+-- First start with the triggers in place: index whatever was written before they existed
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM search_document) THEN
+        PERFORM search_refresh_projects(ARRAY(SELECT id FROM project));
+        PERFORM search_refresh_roles(ARRAY(SELECT id FROM project_role));
+        PERFORM search_refresh_profiles(ARRAY(SELECT id FROM user_profile));
+    END IF;
+END
+$$;
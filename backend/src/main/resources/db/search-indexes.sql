@@ -0,0 +1,28 @@
+-- Indexes behind GET /api/projects/roles/search. Tables come from Hibernate (ddl-auto), so this
+-- runs after it (spring.jpa.defer-datasource-initialization) and must stay idempotent.
+
+-- Roles are listed newest first by created_at, with the id breaking ties. Ids come from pooled
+-- sequence blocks per instance, so they do not follow insertion order. Roles from before the
+-- column existed take their project's creation time.
+ALTER TABLE project_role ADD COLUMN IF NOT EXISTS created_at timestamp;
+UPDATE project_role r SET created_at = coalesce(p.created_at, now())
+FROM project p WHERE p.id = r.project_id AND r.created_at IS NULL;
+ALTER TABLE project_role ALTER COLUMN created_at SET DEFAULT now();
+ALTER TABLE project_role ALTER COLUMN created_at SET NOT NULL;
+
+-- Recency order, unfiltered and with the expertise filter
+DROP INDEX IF EXISTS idx_project_role_expertise_id;
+CREATE INDEX IF NOT EXISTS idx_project_role_created ON project_role (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_project_role_expertise_created ON project_role (expertise_level, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_project_role_project_id ON project_role (project_id);
+
+-- Technology filter: roles requiring a technology
+CREATE INDEX IF NOT EXISTS idx_role_technology_technology_role ON role_technology (technology_id, role_id);
+CREATE INDEX IF NOT EXISTS idx_role_technology_role ON role_technology (role_id);
+CREATE INDEX IF NOT EXISTS idx_technology_lower_name ON technology (lower(name));
+
+CREATE INDEX IF NOT EXISTS idx_project_type_team_size ON project (project_type, team_size);
+
+-- Free-text search on title and description; queries must use the same expression
+CREATE INDEX IF NOT EXISTS idx_project_search_text ON project
+    USING GIN (to_tsvector('english', coalesce(title, '') || ' ' || coalesce(description, '')));
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innosync.dto.auth.SignInRequest;
 import com.innosync.dto.auth.SignUpRequest;
 import com.innosync.model.User;
+import com.innosync.repository.RefreshTokenRepository;
 import com.innosync.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,19 +16,21 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 @Import(com.innosync.config.TestContainersConfig.class)
-@Transactional
 class AuthControllerIntegrationTest {
 
     @Autowired
@@ -35,6 +39,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -51,9 +58,22 @@ class AuthControllerIntegrationTest {
                 .build();
         
         // Clean database before each test
+        cleanUp();
+    }
+
+    // Sign-up and login finish on the password hashing pool, outside any test transaction
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
         userRepository.deleteAll();
     }
 
+    private ResultActions performAuth(MockHttpServletRequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Test
     void signUp_WithValidData_ShouldCreateUserAndReturnToken() throws Exception {
         // Given
@@ -64,7 +84,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/signup")
+        performAuth(post("/api/auth/signup")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signUpRequest)))
                 .andExpect(status().isOk())
@@ -88,7 +108,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/signup")
+        performAuth(post("/api/auth/signup")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signUpRequest)))
                 .andExpect(status().isConflict());
@@ -104,7 +124,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/signup")
+        performAuth(post("/api/auth/signup")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signUpRequest)))
                 .andExpect(status().isBadRequest());
@@ -122,7 +142,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAuth(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signInRequest)))
                 .andExpect(status().isOk())
@@ -142,7 +162,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAuth(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signInRequest)))
                 .andExpect(status().isUnauthorized());
@@ -157,7 +177,7 @@ class AuthControllerIntegrationTest {
         );
 
         // When & Then
-        mockMvc.perform(post("/api/auth/login")
+        performAuth(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(signInRequest)))
                 .andExpect(status().isUnauthorized());
@@ -5,6 +5,7 @@ import com.innosync.model.RefreshToken;
 import com.innosync.model.User;
 import com.innosync.repository.UserRepository;
 import com.innosync.security.JwtUtil;
+import com.innosync.security.PasswordHashingService;
 import com.innosync.service.RefreshTokenService;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -20,10 +21,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -51,8 +58,9 @@ class AuthControllerTest {
     @BeforeEach
     void setUp() {
         passwordEncoder = new BCryptPasswordEncoder();
-        authController.setPasswordEncoder(passwordEncoder);
-        
+        authController.setPasswordHashingService(new PasswordHashingService(passwordEncoder, Runnable::run));
+        authController.setIoExecutor(Runnable::run);
+
         testUser = new User("test@example.com", "Test User", passwordEncoder.encode("password"));
         testUser.setId(1L);
 
@@ -74,11 +82,11 @@ class AuthControllerTest {
 
         when(userRepository.findByEmail("new@example.com")).thenReturn(Optional.empty());
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(jwtUtil.generateToken("new@example.com")).thenReturn("access-token");
+        when(jwtUtil.generateToken(argThat((User user) -> "new@example.com".equals(user.getEmail())))).thenReturn("access-token");
         when(refreshTokenService.createRefreshToken(any(User.class))).thenReturn(testRefreshToken);
 
         // When
-        ResponseEntity<?> response = authController.signUp(signUpRequest);
+        ResponseEntity<?> response = authController.signUp(signUpRequest).join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -90,10 +98,34 @@ class AuthControllerTest {
 
         verify(userRepository).findByEmail("new@example.com");
         verify(userRepository).save(any(User.class));
-        verify(jwtUtil).generateToken("new@example.com");
+        verify(jwtUtil).generateToken(argThat((User user) -> "new@example.com".equals(user.getEmail())));
         verify(refreshTokenService).createRefreshToken(any(User.class));
     }
 
+    @Test
+    void signIn_ShouldIssueTokensOnTheIoExecutorNotTheHashingPool() {
+        // Given: an executor that holds on to its work
+        List<Runnable> ioWork = new ArrayList<>();
+        authController.setIoExecutor(ioWork::add);
+        SignInRequest signInRequest = new SignInRequest();
+        signInRequest.setEmail("test@example.com");
+        signInRequest.setPassword("password");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn("access-token");
+        when(refreshTokenService.createRefreshToken(testUser)).thenReturn(testRefreshToken);
+
+        // When: the hash has been checked
+        CompletableFuture<ResponseEntity<?>> response = authController.signIn(signInRequest);
+
+        // Then: nothing touched the database or issued tokens until the IO executor ran
+        assertThat(response).isNotDone();
+        verifyNoInteractions(jwtUtil, refreshTokenService);
+        ioWork.forEach(Runnable::run);
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(refreshTokenService).createRefreshToken(testUser);
+    }
+
     @Test
     void signUp_WithExistingEmail_ShouldReturnConflict() {
         // Given
@@ -105,7 +137,7 @@ class AuthControllerTest {
         when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(testUser));
 
         // When
-        ResponseEntity<?> response = authController.signUp(signUpRequest);
+        ResponseEntity<?> response = authController.signUp(signUpRequest).join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
@@ -140,11 +172,11 @@ class AuthControllerTest {
         signInRequest.setPassword("password");
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken("test@example.com")).thenReturn("access-token");
+        when(jwtUtil.generateToken(testUser)).thenReturn("access-token");
         when(refreshTokenService.createRefreshToken(testUser)).thenReturn(testRefreshToken);
 
         // When
-        ResponseEntity<?> response = authController.signIn(signInRequest);
+        ResponseEntity<?> response = authController.signIn(signInRequest).join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -155,7 +187,7 @@ class AuthControllerTest {
         assertThat(authResponse.getRefreshToken()).isEqualTo("refresh-token-123");
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(jwtUtil).generateToken("test@example.com");
+        verify(jwtUtil).generateToken(testUser);
         verify(refreshTokenService).createRefreshToken(testUser);
     }
 
@@ -169,7 +201,7 @@ class AuthControllerTest {
         when(userRepository.findByEmail("invalid@example.com")).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<?> response = authController.signIn(signInRequest);
+        ResponseEntity<?> response = authController.signIn(signInRequest).join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
@@ -189,7 +221,7 @@ class AuthControllerTest {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         // When
-        ResponseEntity<?> response = authController.signIn(signInRequest);
+        ResponseEntity<?> response = authController.signIn(signInRequest).join();
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
@@ -199,6 +231,49 @@ class AuthControllerTest {
         verifyNoInteractions(jwtUtil, refreshTokenService);
     }
 
+    @Test
+    void signIn_WithOutdatedHashCost_ShouldRehashAndSaveUser() {
+        // Given
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        testUser.setPasswordHash(weakHash);
+        SignInRequest signInRequest = new SignInRequest();
+        signInRequest.setEmail("test@example.com");
+        signInRequest.setPassword("password");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn("access-token");
+        when(refreshTokenService.createRefreshToken(testUser)).thenReturn(testRefreshToken);
+
+        // When
+        ResponseEntity<?> response = authController.signIn(signInRequest).join();
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(testUser.getPasswordHash()).isNotEqualTo(weakHash);
+        assertThat(passwordEncoder.upgradeEncoding(testUser.getPasswordHash())).isFalse();
+        assertThat(passwordEncoder.matches("password", testUser.getPasswordHash())).isTrue();
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void signIn_WhenHashingPoolIsSaturated_ShouldRejectWithTooManyRequests() {
+        // Given
+        authController.setPasswordHashingService(new PasswordHashingService(passwordEncoder, task -> {
+            throw new RejectedExecutionException("queue full");
+        }));
+        SignInRequest signInRequest = new SignInRequest();
+        signInRequest.setEmail("test@example.com");
+        signInRequest.setPassword("password");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // When / Then
+        assertThatThrownBy(() -> authController.signIn(signInRequest))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        verifyNoInteractions(jwtUtil, refreshTokenService);
+    }
+
     @Test
     void signIn_WithInvalidRequest_ShouldHaveValidationViolations() {
         // Given
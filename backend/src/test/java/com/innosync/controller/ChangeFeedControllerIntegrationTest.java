@@ -0,0 +1,199 @@
+package com.innosync.controller;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.dto.change.ChangeFeedResponse;
+import com.innosync.dto.project.ProjectRequest;
+import com.innosync.dto.project.ProjectResponse;
+import com.innosync.model.ProjectType;
+import com.innosync.model.TeamSize;
+import com.innosync.model.User;
+import com.innosync.repository.ProjectRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.security.AuthenticatedUser;
+import com.innosync.security.JwtUtil;
+import com.innosync.service.ChangeFeedService;
+import com.innosync.service.ProjectService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the feed only shows committed changes
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+class ChangeFeedControllerIntegrationTest {
+
+    private static final long EXTERNAL_PROFILE_ID = 990_001L;
+    private static final long LATER_PROFILE_ID = 990_002L;
+    private static final long ROLLED_BACK_PROFILE_ID = 990_003L;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+    private User recruiter;
+    private String token;
+    private long cursor;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        recruiter = userRepository.save(new User("feed-recruiter@example.com", "Feed Recruiter", "hash"));
+        token = jwtUtil.generateToken(recruiter);
+        cursor = currentCursor();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        projectRepository.deleteAll(projectRepository.findByRecruiterId(recruiter.getId()));
+        userRepository.delete(recruiter);
+        jdbcTemplate.update("DELETE FROM change_log WHERE entity_type = 'PROFILE' AND entity_id IN (?, ?, ?)",
+                EXTERNAL_PROFILE_ID, LATER_PROFILE_ID, ROLLED_BACK_PROFILE_ID);
+    }
+
+    private long currentCursor() {
+        ChangeFeedResponse page;
+        long position = 0;
+        do {
+            page = changeFeedService.readChanges(position, ChangeFeedService.MAX_PAGE_SIZE);
+            position = page.getNextCursor();
+        } while (page.isHasMore());
+        return position;
+    }
+
+    @Test
+    void getChanges_AfterProjectCreated_ShouldReturnProjectChange() throws Exception {
+        // Given
+        ProjectRequest request = new ProjectRequest();
+        request.setTitle("Feed Project");
+        request.setDescription("Shows up in the change feed");
+        request.setProjectType(ProjectType.FREELANCE);
+        request.setTeamSize(TeamSize.OneThree);
+        ProjectResponse project = projectService.createProject(request,
+                new AuthenticatedUser(recruiter.getId(), recruiter.getEmail(), recruiter.getFullName()));
+
+        // When & Then
+        mockMvc.perform(get("/api/changes")
+                        .param("since", String.valueOf(cursor))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[?(@.entity_type == 'PROJECT')].entity_id", hasItem(project.getId().intValue())))
+                .andExpect(jsonPath("$.changes[?(@.entity_type == 'PROJECT')].parent_id", hasItem(recruiter.getId().intValue())))
+                .andExpect(jsonPath("$.next_cursor", notNullValue()));
+    }
+
+    @Test
+    void getChanges_WithoutToken_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/changes"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void readChanges_ShouldHoldBackChangesUntilEarlierTransactionsFinish() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            // Given: a transaction that records a change and stays open
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO change_log (entity_type, entity_id, operation) "
+                        + "VALUES ('PROFILE', " + EXTERNAL_PROFILE_ID + ", 'UPSERT')");
+            }
+            // ...while a later one commits
+            transactionTemplate.executeWithoutResult(status -> changeFeedService.record(
+                    ChangeEntry.EntityType.PROFILE, LATER_PROFILE_ID, null, ChangeEntry.Operation.UPSERT));
+
+            // When
+            List<Long> whileOpen = profileIds(changeFeedService.readChanges(cursor, 100));
+            connection.commit();
+            List<Long> afterCommit = profileIds(changeFeedService.readChanges(cursor, 100));
+
+            // Then
+            assertThat(whileOpen).doesNotContain(EXTERNAL_PROFILE_ID, LATER_PROFILE_ID);
+            assertThat(afterCommit).containsSubsequence(EXTERNAL_PROFILE_ID, LATER_PROFILE_ID);
+        }
+    }
+
+    @Test
+    void readChanges_ShouldNotPublishRolledBackChanges() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            changeFeedService.record(ChangeEntry.EntityType.PROFILE, ROLLED_BACK_PROFILE_ID, null, ChangeEntry.Operation.UPSERT);
+            status.setRollbackOnly();
+        });
+
+        // When
+        List<Long> ids = profileIds(changeFeedService.readChanges(cursor, 100));
+
+        // Then
+        assertThat(ids).doesNotContain(ROLLED_BACK_PROFILE_ID);
+    }
+
+    @Test
+    void record_OutsideTransaction_ShouldBeRejected() {
+        assertThatThrownBy(() -> changeFeedService.record(
+                ChangeEntry.EntityType.PROFILE, ROLLED_BACK_PROFILE_ID, null, ChangeEntry.Operation.UPSERT))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private static List<Long> profileIds(ChangeFeedResponse response) {
+        List<Long> ids = new ArrayList<>();
+        for (ChangeEntry change : response.getChanges()) {
+            if (change.getEntityType() == ChangeEntry.EntityType.PROFILE) {
+                ids.add(change.getEntityId());
+            }
+        }
+        return ids;
+    }
+}
@@ -91,9 +91,9 @@ class InvitationControllerIntegrationTest {
         userRepository.saveAll(List.of(recruiter, developer1, developer2));
 
         // Create JWT tokens
-        recruiterToken = jwtUtil.generateToken(recruiter.getEmail());
-        developer1Token = jwtUtil.generateToken(developer1.getEmail());
-        developer2Token = jwtUtil.generateToken(developer2.getEmail());
+        recruiterToken = jwtUtil.generateToken(recruiter);
+        developer1Token = jwtUtil.generateToken(developer1);
+        developer2Token = jwtUtil.generateToken(developer2);
 
         // Create test technology
         java = new Technology("Java");
@@ -0,0 +1,112 @@
+package com.innosync.controller;
+
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.TechnologyRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.repository.WorkExperienceRepository;
+import com.innosync.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+@Transactional
+class ProfileControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private String token;
+    private Profile profile;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        User user = userRepository.save(new User("patch@example.com", "Patch Candidate", "hash"));
+        token = jwtUtil.generateToken(user);
+        Technology rust = technologyRepository.save(new Technology("Rust-patch"));
+
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setPosition("Backend Developer");
+        profile.setBio("Old bio");
+        profile.setEducation(Education.MASTER);
+        profile.setExpertiseLevel(ExpertiseLevel.MID);
+        profile.setTechnologies(new HashSet<>(List.of(rust)));
+        profile = profileRepository.save(profile);
+        workExperienceRepository.save(WorkExperience.builder().profile(profile).position("Engineer")
+                .company("Acme").startDate(LocalDate.of(2021, 1, 1)).build());
+        profileRepository.flush();
+    }
+
+    @Test
+    void patchProfile_ShouldUpdateGivenFieldsAndKeepCollections() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/profile")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bio\":\"New bio\",\"expertise_level\":\"SENIOR\",\"technologies\":[]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bio").value("New bio"))
+                .andExpect(jsonPath("$.expertise_level").value("SENIOR"))
+                .andExpect(jsonPath("$.position").value("Backend Developer"))
+                .andExpect(jsonPath("$.technologies[0]").value("Rust-patch"))
+                .andExpect(jsonPath("$.work_experience[0].company").value("Acme"));
+
+        assertThat(workExperienceRepository.findByProfile(profile)).hasSize(1);
+    }
+
+    @Test
+    void getProfilesByIds_ShouldReturnTheFullProfilesAsked() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/profile/by-ids")
+                        .header("Authorization", "Bearer " + token)
+                        .param("ids", profile.getId() + "," + (profile.getId() + 1000)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].bio").value("Old bio"))
+                .andExpect(jsonPath("$[0].work_experience[0].company").value("Acme"));
+    }
+}
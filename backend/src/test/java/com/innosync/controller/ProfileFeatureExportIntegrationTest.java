@@ -0,0 +1,167 @@
+package com.innosync.controller;
+
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.TechnologyRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.repository.WorkExperienceRepository;
+import com.innosync.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+@Transactional
+class ProfileFeatureExportIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private String token;
+    private Profile profile;
+    private Technology kotlin;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        User user = userRepository.save(new User("features@example.com", "Feature Candidate", "hash"));
+        token = jwtUtil.generateToken(user);
+        kotlin = technologyRepository.save(new Technology("Kotlin-features"));
+
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setPosition("Backend Developer");
+        profile.setBio("A long biography the recommender never reads");
+        profile.setEducation(Education.MASTER);
+        profile.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        profile.setExperienceYears(ExperienceYears.THREE_TO_FIVE);
+        profile.setTechnologies(new HashSet<>(List.of(kotlin)));
+        profile = profileRepository.save(profile);
+        workExperienceRepository.saveAll(List.of(
+                WorkExperience.builder().profile(profile).position("Intern").company("Old Corp")
+                        .startDate(LocalDate.of(2018, 1, 1)).build(),
+                WorkExperience.builder().profile(profile).position("Engineer").company("New Corp")
+                        .startDate(LocalDate.of(2022, 1, 1)).build()));
+        profileRepository.flush();
+    }
+
+    @Test
+    void exportFeatures_ShouldReturnGzippedNdjsonWithoutFreeText() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        // Then
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = body.split("\n");
+        assertThat(lines[0]).startsWith("{\"technologies\":{").contains("\"" + kotlin.getId() + "\":\"Kotlin-features\"");
+        assertThat(lines).anySatisfy(line -> assertThat(line)
+                .contains("\"id\":" + profile.getId())
+                .contains("\"position\":\"Backend Developer\"")
+                .contains("\"expertise_level\":\"SENIOR\"")
+                .contains("\"experience_years\":\"THREE_TO_FIVE\"")
+                .contains("\"technology_ids\":[" + kotlin.getId() + "]")
+                .contains("\"company\":\"New Corp\""));
+        assertThat(body).doesNotContain("biography");
+    }
+
+    @Test
+    void exportFeatures_WithoutGzip_ShouldReturnPlainNdjson() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString()).startsWith("{\"technologies\":{");
+    }
+
+    @Test
+    void exportFeatures_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void exportFeatures_AfterProfileChange_ShouldChangeETag() throws Exception {
+        // Given
+        String before = mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        profile.setPosition("Platform Engineer");
+        profileRepository.flush();
+
+        // When & Then
+        mockMvc.perform(get("/api/profile/features")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(before)));
+    }
+}
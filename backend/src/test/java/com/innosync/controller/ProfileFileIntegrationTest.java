@@ -0,0 +1,383 @@
+package com.innosync.controller;
+
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.security.JwtUtil;
+import com.innosync.storage.UploadStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+@TestPropertySource(properties = "uploads.picture.max-size=64KB")
+@Transactional
+class ProfileFileIntegrationTest {
+
+    private static final String BOUNDARY = "----InnoSyncTestBoundary";
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${uploads.root}")
+    private Path uploadsRoot;
+
+    private MockMvc mockMvc;
+    private String token;
+    private Profile profile;
+    private byte[] picture;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        User user = userRepository.save(new User("files@example.com", "File Owner", "hash"));
+        token = jwtUtil.generateToken(user);
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setEducation(Education.BACHELOR);
+        profile.setExpertiseLevel(ExpertiseLevel.MID);
+        profile = profileRepository.save(profile);
+
+        // Random bytes behind a PNG signature: a picture by type, but not a readable image
+        picture = new byte[2000];
+        new Random(7).nextBytes(picture);
+        System.arraycopy(PNG_SIGNATURE, 0, picture, 0, PNG_SIGNATURE.length);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(uploadsRoot);
+    }
+
+    @Test
+    void uploadPicture_ThenDownload_ShouldServeFileWithValidators() throws Exception {
+        // Given
+        uploadPicture(picture);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, picture.length))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + sha256(picture) + "\""))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(picture);
+        assertThat(profileRepository.findById(profile.getId()).orElseThrow().getProfilePicture())
+                .isEqualTo(sha256(picture) + "/avatar.png");
+        assertThat(refCount(sha256(picture))).isEqualTo(1);
+    }
+
+    @Test
+    void uploadPicture_OfAMarkupFile_ShouldNeverBeServedAsSomethingABrowserRenders() throws Exception {
+        // Given: an SVG with a script, once under its own name and once posing as a PNG
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" onload=\"alert(1)\"/>".getBytes(StandardCharsets.UTF_8);
+        for (String filename : List.of("avatar.svg", "avatar.png")) {
+            mockMvc.perform(post("/api/profile/upload-profile-picture")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                            .content(multipart(filename, svg)))
+                    .andExpect(status().isOk());
+
+            // When & Then
+            mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/octet-stream"))
+                    .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT media_type FROM blob WHERE hash = ?", String.class, sha256(svg)))
+                .isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    void uploadPicture_SameFileForTwoProfiles_ShouldShareOneBlob() throws Exception {
+        // Given
+        User other = userRepository.save(new User("files-too@example.com", "Other Owner", "hash"));
+        Profile otherProfile = new Profile();
+        otherProfile.setUser(other);
+        otherProfile.setEducation(Education.MASTER);
+        otherProfile.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        profileRepository.save(otherProfile);
+        uploadPicture(picture);
+
+        // When
+        mockMvc.perform(post("/api/profile/upload-profile-picture")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(other))
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipart("me.png", picture)))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(refCount(sha256(picture))).isEqualTo(2);
+        assertThat(blobFiles()).hasSize(1);
+        mockMvc.perform(get("/api/profile/{id}/picture", otherProfile.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("me.png")));
+    }
+
+    @Test
+    void uploadPicture_ReplacingThePrevious_ShouldReleaseIt() throws Exception {
+        // Given
+        byte[] newer = Arrays.copyOf(picture, 1500);
+        uploadPicture(picture);
+
+        // When
+        uploadPicture(newer);
+
+        // Then
+        assertThat(refCount(sha256(picture))).isZero();
+        assertThat(refCount(sha256(newer))).isEqualTo(1);
+        assertThat(profileRepository.findById(profile.getId()).orElseThrow().getProfilePicture())
+                .isEqualTo(sha256(newer) + "/avatar.png");
+    }
+
+    @Test
+    void downloadResume_StoredBeforeBlobs_ShouldStillBeServed() throws Exception {
+        // Given
+        Path legacy = uploadsRoot.resolve("uploads/resumes/cv_user_" + profile.getUser().getId() + "_old.pdf");
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, picture);
+        profile.setResume("uploads/resumes/cv_user_" + profile.getUser().getId() + "_old.pdf");
+        profileRepository.save(profile);
+
+        // When & Then: typed by extension, as they were
+        mockMvc.perform(get("/api/profile/{id}/resume", profile.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, picture.length))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void downloadPicture_WithSize_ShouldServeAThumbnail() throws Exception {
+        // Given
+        BufferedImage image = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        uploadPicture(png.toByteArray());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()).param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + sha256(png.toByteArray()) + "-128\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("avatar-128.jpg")))
+                .andReturn();
+
+        // Then
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+        assertThat(thumbnail.getWidth()).isEqualTo(128);
+        assertThat(thumbnail.getHeight()).isEqualTo(64);
+    }
+
+    @Test
+    void downloadPicture_WithSizeOfNonImage_ShouldServeTheOriginal() throws Exception {
+        // Given
+        uploadPicture(picture);
+
+        // When & Then
+        mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()).param("size", "64"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, picture.length))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + sha256(picture) + "\""));
+        mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()).param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void downloadPicture_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        uploadPicture(picture);
+        String etag = mockMvc.perform(get("/api/profile/{id}/picture", profile.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/profile/{id}/picture", profile.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void downloadPicture_WithRange_ShouldReturnPartialContent() throws Exception {
+        // Given
+        uploadPicture(picture);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/profile/{id}/picture", profile.getId())
+                        .header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/2000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(picture, 10, 20));
+    }
+
+    @Test
+    void downloadPicture_WithRangeForAnOlderVersion_ShouldReturnWholeFile() throws Exception {
+        // Given
+        uploadPicture(picture);
+
+        // When & Then
+        mockMvc.perform(get("/api/profile/{id}/picture", profile.getId())
+                        .header(HttpHeaders.RANGE, "bytes=10-19")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, picture.length));
+    }
+
+    @Test
+    void downloadPicture_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        // Given
+        uploadPicture(picture);
+
+        // When & Then
+        mockMvc.perform(get("/api/profile/{id}/picture", profile.getId())
+                        .header(HttpHeaders.RANGE, "bytes=5000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */2000"));
+    }
+
+    @Test
+    void uploadPicture_OverSizeLimit_ShouldBeRejectedWithoutLeavingFiles() throws Exception {
+        // Given
+        byte[] tooLarge = new byte[65 * 1024];
+
+        // When & Then
+        mockMvc.perform(post("/api/profile/upload-profile-picture")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipart("avatar.png", tooLarge)))
+                .andExpect(status().isPayloadTooLarge());
+
+        try (Stream<Path> files = Files.walk(uploadsRoot)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThat(profileRepository.findById(profile.getId()).orElseThrow().getProfilePicture()).isNull();
+    }
+
+    @Test
+    void uploadResume_AsRawBody_ShouldBeDownloadableAsAttachment() throws Exception {
+        // Given
+        byte[] resume = "%PDF-1.7 resume".getBytes(StandardCharsets.US_ASCII);
+
+        // When
+        mockMvc.perform(post("/api/profile/upload-resume")
+                        .header("Authorization", "Bearer " + token)
+                        .param("filename", "cv.pdf")
+                        .contentType("application/pdf")
+                        .content(resume))
+                .andExpect(status().isOk());
+
+        // Then
+        MvcResult result = mockMvc.perform(get("/api/profile/{id}/resume", profile.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(resume);
+    }
+
+    @Test
+    void downloadResume_WithoutResume_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/profile/{id}/resume", profile.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private Integer refCount(String hash) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM blob WHERE hash = ?", Integer.class, hash);
+    }
+
+    private List<Path> blobFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadsRoot.resolve(UploadStorage.BLOB_DIRECTORY))) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private void uploadPicture(byte[] content) throws Exception {
+        mockMvc.perform(post("/api/profile/upload-profile-picture")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipart("avatar.png", content)))
+                .andExpect(status().isOk());
+    }
+
+    private static byte[] multipart(String filename, byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.write(content);
+        out.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        return out.toByteArray();
+    }
+}
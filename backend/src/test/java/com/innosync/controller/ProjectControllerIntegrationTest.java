@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -56,6 +57,9 @@ class ProjectControllerIntegrationTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private MockMvc mockMvc;
     private User recruiter1;
     private User recruiter2;
@@ -86,9 +90,9 @@ class ProjectControllerIntegrationTest {
         userRepository.saveAll(List.of(recruiter1, recruiter2, developer));
 
         // Create JWT tokens
-        recruiter1Token = jwtUtil.generateToken(recruiter1.getEmail());
-        recruiter2Token = jwtUtil.generateToken(recruiter2.getEmail());
-        developerToken = jwtUtil.generateToken(developer.getEmail());
+        recruiter1Token = jwtUtil.generateToken(recruiter1);
+        recruiter2Token = jwtUtil.generateToken(recruiter2);
+        developerToken = jwtUtil.generateToken(developer);
 
         // Create test technologies
         java = new Technology("Java");
@@ -263,6 +267,65 @@ class ProjectControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void addRoles_AsOwner_ShouldCreateAllRoles() throws Exception {
+        // Given
+        Project savedProject = projectRepository.save(Project.builder()
+                .title("Hackathon Project")
+                .description("Needs a whole team")
+                .recruiter(recruiter1)
+                .projectType(ProjectType.HACKATHON)
+                .teamSize(TeamSize.SevenPlus)
+                .build());
+
+        ProjectRoleRequest backend = new ProjectRoleRequest();
+        backend.setRoleName("Backend Developer");
+        backend.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        backend.setTechnologies(List.of("Java", "Spring Boot"));
+        ProjectRoleRequest designer = new ProjectRoleRequest();
+        designer.setRoleName("Designer");
+        designer.setExpertiseLevel(ExpertiseLevel.JUNIOR);
+        designer.setTechnologies(List.of("Figma", "java"));
+
+        // When & Then
+        mockMvc.perform(post("/api/projects/{projectId}/roles/bulk", savedProject.getId())
+                        .header("Authorization", "Bearer " + recruiter1Token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(backend, designer))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].roleName", is("Backend Developer")))
+                .andExpect(jsonPath("$[1].roleName", is("Designer")))
+                .andExpect(jsonPath("$[1].technologies[*]", containsInAnyOrder("Figma", "Java")));
+
+        assert projectRoleRepository.findByProjectId(savedProject.getId()).size() == 2;
+    }
+
+    @Test
+    void addRoles_AsNonOwner_ShouldReturnForbidden() throws Exception {
+        // Given
+        Project savedProject = projectRepository.save(Project.builder()
+                .title("Hackathon Project")
+                .description("Needs a whole team")
+                .recruiter(recruiter1)
+                .projectType(ProjectType.HACKATHON)
+                .teamSize(TeamSize.SevenPlus)
+                .build());
+
+        ProjectRoleRequest roleRequest = new ProjectRoleRequest();
+        roleRequest.setRoleName("Backend Developer");
+        roleRequest.setTechnologies(List.of("Java"));
+
+        // When & Then
+        mockMvc.perform(post("/api/projects/{projectId}/roles/bulk", savedProject.getId())
+                        .header("Authorization", "Bearer " + recruiter2Token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(roleRequest))))
+                .andExpect(status().isForbidden());
+
+        assert projectRoleRepository.findByProjectId(savedProject.getId()).isEmpty();
+    }
+
     @Test
     void addRole_ToNonExistentProject_ShouldReturnNotFound() throws Exception {
         // Given
@@ -377,4 +440,126 @@ class ProjectControllerIntegrationTest {
                     .andExpect(jsonPath("$.projectType", is(type.name())));
         }
     }
-} 
\ No newline at end of file
+
+    @Test
+    void searchRoles_WithFilters_ShouldReturnMatchingRolesNewestFirstInPages() throws Exception {
+        // Given
+        Project payments = projectRepository.save(Project.builder()
+                .title("Payments Gateway")
+                .description("Card payments and settlement services")
+                .recruiter(recruiter1)
+                .projectType(ProjectType.FREELANCE)
+                .teamSize(TeamSize.FourSix)
+                .build());
+        Project research = projectRepository.save(Project.builder()
+                .title("Graph Research")
+                .description("Studying graph embeddings")
+                .recruiter(recruiter2)
+                .projectType(ProjectType.RESEARCH)
+                .teamSize(TeamSize.OneThree)
+                .build());
+
+        ProjectRole paymentsApi = searchableRole(payments, "Payments API Developer", ExpertiseLevel.MID, java, spring);
+        ProjectRole paymentsBatch = searchableRole(payments, "Settlement Batch Developer", ExpertiseLevel.MID, java);
+        searchableRole(payments, "Payments Lead", ExpertiseLevel.SENIOR, java);
+        searchableRole(research, "Research Engineer", ExpertiseLevel.MID, java);
+        searchableRole(payments, "Frontend Developer", ExpertiseLevel.MID);
+
+        // When & Then: first page
+        String firstPage = mockMvc.perform(get("/api/projects/roles/search")
+                        .header("Authorization", "Bearer " + developerToken)
+                        .param("technologies", "JAVA")
+                        .param("expertiseLevel", "MID")
+                        .param("projectType", "FREELANCE")
+                        .param("q", "payment")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].roleName", is("Settlement Batch Developer")))
+                .andExpect(jsonPath("$.items[0].projectTitle", is("Payments Gateway")))
+                .andExpect(jsonPath("$.items[0].technologies", contains("Java")))
+                .andExpect(jsonPath("$.next_cursor", is(paymentsBatch.getId().intValue())))
+                .andReturn().getResponse().getContentAsString();
+
+        // When & Then: following page
+        mockMvc.perform(get("/api/projects/roles/search")
+                        .header("Authorization", "Bearer " + developerToken)
+                        .param("technologies", "JAVA")
+                        .param("expertiseLevel", "MID")
+                        .param("projectType", "FREELANCE")
+                        .param("q", "payment")
+                        .param("limit", "1")
+                        .param("cursor", objectMapper.readTree(firstPage).get("next_cursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].roleId", is(paymentsApi.getId().intValue())))
+                .andExpect(jsonPath("$.items[0].technologies", contains("Java", "Spring Boot")))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void searchRoles_ShouldOrderByCreationTimeRatherThanId() throws Exception {
+        // Given: with pooled ids, another instance can hand a newer role a lower id
+        Project project = projectRepository.save(Project.builder()
+                .title("Recency Project")
+                .description("Roles from two instances")
+                .recruiter(recruiter1)
+                .projectType(ProjectType.HACKATHON)
+                .teamSize(TeamSize.OneThree)
+                .build());
+        ProjectRole newer = searchableRole(project, "Newer Role", ExpertiseLevel.MID, java);
+        ProjectRole older = searchableRole(project, "Older Role", ExpertiseLevel.MID, java);
+        jdbcTemplate.update("UPDATE project_role SET created_at = created_at - interval '1 day' WHERE id = ?", older.getId());
+
+        // When & Then: first page
+        String firstPage = mockMvc.perform(get("/api/projects/roles/search")
+                        .header("Authorization", "Bearer " + developerToken)
+                        .param("q", "recency")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].roleId", is(newer.getId().intValue())))
+                .andExpect(jsonPath("$.next_cursor", is(newer.getId().intValue())))
+                .andReturn().getResponse().getContentAsString();
+
+        // When & Then: following page
+        mockMvc.perform(get("/api/projects/roles/search")
+                        .header("Authorization", "Bearer " + developerToken)
+                        .param("q", "recency")
+                        .param("limit", "1")
+                        .param("cursor", objectMapper.readTree(firstPage).get("next_cursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].roleId", is(older.getId().intValue())))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void searchRoles_WithUnknownTechnology_ShouldReturnEmptyPage() throws Exception {
+        // Given
+        Project project = projectRepository.save(Project.builder()
+                .title("Any Project")
+                .description("Any description")
+                .recruiter(recruiter1)
+                .projectType(ProjectType.ACADEMIC)
+                .teamSize(TeamSize.OneThree)
+                .build());
+        searchableRole(project, "Developer", ExpertiseLevel.JUNIOR, java);
+
+        // When & Then
+        mockMvc.perform(get("/api/projects/roles/search")
+                        .header("Authorization", "Bearer " + developerToken)
+                        .param("technologies", "COBOL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    private ProjectRole searchableRole(Project project, String name, ExpertiseLevel level, Technology... technologies) {
+        ProjectRole role = new ProjectRole();
+        role.setProject(project);
+        role.setRoleName(name);
+        role.setExpertiseLevel(level);
+        role.setTechnologies(new java.util.ArrayList<>(List.of(technologies)));
+        return projectRoleRepository.saveAndFlush(role);
+    }
+}
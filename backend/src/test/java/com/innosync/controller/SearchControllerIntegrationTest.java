@@ -0,0 +1,179 @@
+package com.innosync.controller;
+
+import com.innosync.model.*;
+import com.innosync.repository.*;
+import com.innosync.security.JwtUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+@Transactional
+class SearchControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectRoleRepository projectRoleRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private User recruiter;
+    private User candidate;
+    private String token;
+    private Project project;
+    private ProjectRole role;
+    private Profile profile;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        recruiter = userRepository.save(new User("search-recruiter@example.com", "Search Recruiter", "hash"));
+        candidate = userRepository.save(new User("search-candidate@example.com", "Quinn Candidate", "hash"));
+        token = jwtUtil.generateToken(recruiter);
+
+        project = projectRepository.save(Project.builder()
+                .title("Zephyr Telemetry")
+                .description("Collecting telemetry from wind turbines")
+                .recruiter(recruiter)
+                .projectType(ProjectType.RESEARCH)
+                .teamSize(TeamSize.FourSix)
+                .build());
+
+        role = new ProjectRole();
+        role.setProject(project);
+        role.setRoleName("Telemetry Pipeline Engineer");
+        role.setExpertiseLevel(ExpertiseLevel.MID);
+        role = projectRoleRepository.save(role);
+
+        profile = new Profile();
+        profile.setUser(candidate);
+        profile.setEducation(Education.MASTER);
+        profile.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        profile.setPosition("Data Engineer");
+        profile.setBio("I like building ingestion systems");
+        profile = profileRepository.save(profile);
+        workExperienceRepository.save(WorkExperience.builder()
+                .profile(profile)
+                .position("Engineer")
+                .company("Windmill Inc")
+                .description("Built telemetry dashboards for turbines")
+                .startDate(LocalDate.of(2020, 1, 1))
+                .build());
+
+        entityManager.flush();
+    }
+
+    private ResultActions search(String q, String... params) throws Exception {
+        var request = get("/api/search").header("Authorization", "Bearer " + token).param("q", q);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        return mockMvc.perform(request);
+    }
+
+    @Test
+    void search_ShouldFindEveryTypeRankedByWeight() throws Exception {
+        search("telemetry")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                // Title hits (weight A) outrank a match in work experience (weight C)
+                .andExpect(jsonPath("$.items[2].type", is("PROFILE")))
+                .andExpect(jsonPath("$.items[2].id", is(profile.getId().intValue())))
+                .andExpect(jsonPath("$.items[2].parentId", is(candidate.getId().intValue())))
+                .andExpect(jsonPath("$.items[2].title", is("Quinn Candidate")))
+                .andExpect(jsonPath("$.items[*].type", containsInAnyOrder("PROJECT", "ROLE", "PROFILE")));
+    }
+
+    @Test
+    void search_WithTypeFilterAndLimit_ShouldPage() throws Exception {
+        search("telemetry", "type", "PROJECT", "type", "ROLE", "limit", "1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next_cursor", is(1)));
+
+        search("telemetry", "type", "PROJECT", "type", "ROLE", "limit", "1", "cursor", "1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].type", in(new String[]{"PROJECT", "ROLE"})))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void search_AfterUpdates_ShouldReflectNewText() throws Exception {
+        // Given
+        project.setTitle("Aurora Forecasting");
+        profile.setBio("Now mostly doing stream processing");
+        entityManager.flush();
+
+        // When & Then
+        search("zephyr")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+        search("aurora")
+                .andExpect(status().isOk())
+                // The project and, through its project title, the role
+                .andExpect(jsonPath("$.items[*].type", containsInAnyOrder("PROJECT", "ROLE")))
+                .andExpect(jsonPath("$.items[?(@.type == 'ROLE')].summary", contains("Aurora Forecasting")));
+        search("stream processing", "type", "PROFILE")
+                .andExpect(jsonPath("$.items", hasSize(1)));
+    }
+
+    @Test
+    void search_AfterDelete_ShouldDropDocument() throws Exception {
+        // Given
+        projectRoleRepository.delete(role);
+        entityManager.flush();
+
+        // When & Then
+        search("pipeline")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void search_WithBlankText_ShouldReturnBadRequest() throws Exception {
+        search("  ").andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,163 @@
+package com.innosync.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innosync.repository.JobRepository;
+import com.innosync.repository.JobRepository.ClaimedJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobWorkersTest {
+
+    @Mock
+    private JobQueue jobQueue;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final RecordingHandler handler = new RecordingHandler();
+    private SimpleMeterRegistry meterRegistry;
+    private JobWorkers workers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workers = new JobWorkers(jobQueue, jobRepository, List.of(handler), new ObjectMapper(), meterRegistry,
+                1, Duration.ofSeconds(10), Duration.ofMinutes(10), 3, Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workers.destroy();
+    }
+
+    @Test
+    void runNext_ShouldHandleTheJobAndDeleteIt() {
+        // Given
+        ClaimedJob job = new ClaimedJob(1, "greet", "{\"name\":\"Ada\"}", 1);
+        when(jobRepository.claim(Duration.ofMinutes(10), 3)).thenReturn(Optional.of(job));
+        when(jobRepository.complete(job)).thenReturn(true);
+
+        // When
+        boolean ran = workers.runNext();
+
+        // Then
+        assertThat(ran).isTrue();
+        assertThat(handler.handled).containsExactly("Ada");
+        verify(jobRepository).complete(job);
+        assertThat(meterRegistry.get("jobs.run").tag("type", "greet").tag("outcome", "completed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void runNext_WithNothingDue_ShouldReturnFalse() {
+        // Given
+        when(jobRepository.claim(any(), anyInt())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(workers.runNext()).isFalse();
+        verify(jobRepository, never()).complete(any());
+    }
+
+    @Test
+    void runNext_WhenTheHandlerFails_ShouldRetryWithBackoff() {
+        // Given
+        handler.failure = new IOException("store unavailable");
+        ClaimedJob job = new ClaimedJob(1, "greet", "{\"name\":\"Ada\"}", 2);
+        when(jobRepository.claim(any(), anyInt())).thenReturn(Optional.of(job));
+
+        // When
+        workers.runNext();
+
+        // Then: 30s doubled once for the second attempt
+        verify(jobRepository).retry(job, Duration.ofSeconds(60), "java.io.IOException: store unavailable");
+        verify(jobRepository, never()).complete(any());
+        verify(jobRepository, never()).fail(any(), anyString());
+    }
+
+    @Test
+    void runNext_WhenTheLastAttemptFails_ShouldGiveUp() {
+        // Given
+        handler.failure = new IOException("store unavailable");
+        ClaimedJob job = new ClaimedJob(1, "greet", "{\"name\":\"Ada\"}", 3);
+        when(jobRepository.claim(any(), anyInt())).thenReturn(Optional.of(job));
+
+        // When
+        workers.runNext();
+
+        // Then
+        verify(jobRepository).fail(job, "java.io.IOException: store unavailable");
+        verify(jobRepository, never()).retry(any(), any(), anyString());
+    }
+
+    @Test
+    void runNext_WithUnknownTypeOrUnreadablePayload_ShouldFailWithoutRetrying() {
+        // Given
+        ClaimedJob unknown = new ClaimedJob(1, "unknown", "{}", 1);
+        ClaimedJob unreadable = new ClaimedJob(2, "greet", "not json", 1);
+        when(jobRepository.claim(any(), anyInt())).thenReturn(Optional.of(unknown), Optional.of(unreadable));
+
+        // When
+        workers.runNext();
+        workers.runNext();
+
+        // Then
+        verify(jobRepository).fail(eq(unknown), anyString());
+        verify(jobRepository).fail(eq(unreadable), anyString());
+        verify(jobRepository, never()).retry(any(), any(), anyString());
+        assertThat(handler.handled).isEmpty();
+    }
+
+    @Test
+    void retryDelay_ShouldDoubleUpToTheMaximum() {
+        assertThat(workers.retryDelay(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(workers.retryDelay(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(workers.retryDelay(3)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(workers.retryDelay(40)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    record Greeting(String name) {
+    }
+
+    static class RecordingHandler implements JobHandler<Greeting> {
+
+        final List<String> handled = new ArrayList<>();
+        Exception failure;
+
+        @Override
+        public String type() {
+            return "greet";
+        }
+
+        @Override
+        public Class<Greeting> payloadType() {
+            return Greeting.class;
+        }
+
+        @Override
+        public void handle(Greeting payload) throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            handled.add(payload.name());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.innosync.load;
+
+import com.innosync.config.TestContainersConfig;
+import com.innosync.model.User;
+import com.innosync.security.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the real controllers against a large seeded dataset (see {@link LargeDatasetSeeder})
+ * with concurrent clients and reports latency percentiles per endpoint to
+ * {@code target/load-results/endpoints.csv}.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn test -P load-test}. {@code load.scale}
+ * shrinks the dataset (1.0 is 100k users, 20k projects, 100k roles and a million applications
+ * and invitations); {@code load.concurrency} and {@code load.duration} shape the workload.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "refresh-token.sweeper.enabled=false",
+        // Latency is measured here, not gated: report budget violations instead of failing requests
+        "query-budget.mode=WARN",
+        "logging.level.com.innosync=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.com.innosync.load=INFO"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointLoadTest.class);
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("load.scale", "1.0"));
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final int PAGE_SIZE = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private LargeDatasetSeeder seeder;
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        seeder = new LargeDatasetSeeder(dataSource, LargeDatasetSeeder.Scale.of(SCALE));
+        seeder.seed();
+    }
+
+    @Test
+    void endpointsUnderLoad() throws Exception {
+        List<LoadDriver.Target> targets = targets();
+        LoadDriver driver = new LoadDriver();
+        driver.run(targets, CONCURRENCY, WARM_UP);
+        List<LoadDriver.Sample> samples = driver.run(targets, CONCURRENCY, DURATION);
+
+        LatencyReport report = new LatencyReport();
+        List<LatencyReport.Row> rows = report.addPerTarget(samples, DURATION);
+        report.add("all", samples, DURATION);
+        Path output = report.write("endpoints.csv");
+        logger.info("Endpoint latencies ({}, {} clients, {}), written to {}:\n{}",
+                seeder.scale(), CONCURRENCY, DURATION, output, report.toCsv());
+
+        assertThat(rows).hasSize(targets.size());
+        assertThat(rows).allSatisfy(row -> assertThat(row.errorRate()).as(row.name()).isLessThan(0.01));
+    }
+
+    private List<LoadDriver.Target> targets() {
+        int users = seeder.scale().users();
+        int projects = seeder.scale().projects();
+        int roles = seeder.scale().roles();
+        int recruiters = seeder.scale().recruiters();
+        return List.of(
+                target("GET /api/projects/me", random -> get("/api/projects/me", random.nextLong(1, recruiters + 1L))),
+                target("GET /api/projects/{id}", random -> get("/api/projects/" + random.nextLong(1, projects + 1L),
+                        seeder.candidate(random))),
+                target("GET /api/projects/{id}/roles", random -> get("/api/projects/" + random.nextLong(1, projects + 1L) + "/roles",
+                        seeder.candidate(random))),
+                target("GET /api/profile/me", random -> get("/api/profile/me", seeder.candidate(random))),
+                target("GET /api/profile/page", random -> get("/api/profile/page?limit=" + PAGE_SIZE
+                        + "&cursor=" + random.nextLong(0, users), seeder.candidate(random))),
+                target("GET /api/applications", random -> get("/api/applications", seeder.candidate(random))),
+                target("GET /api/applications/project-roles/{id}", random -> {
+                    long roleId = random.nextLong(1, roles + 1L);
+                    return get("/api/applications/project-roles/" + roleId,
+                            seeder.recruiterOfProject(seeder.projectOfRole(roleId)));
+                }),
+                target("GET /api/invitations/sent", random -> get("/api/invitations/sent", random.nextLong(1, recruiters + 1L))),
+                target("GET /api/invitations/received", random -> get("/api/invitations/received", seeder.candidate(random))));
+        // /api/projects/roles returns every role with its project and is left out until it is paginated
+    }
+
+    private static LoadDriver.Target target(String name, Function<SplittableRandom, HttpRequest.Builder> request) {
+        return new LoadDriver.Target(name, request);
+    }
+
+    private HttpRequest.Builder get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token(userId))
+                .GET();
+    }
+
+    private String token(long userId) {
+        return tokens.computeIfAbsent(userId, id -> {
+            User user = new User(LargeDatasetSeeder.email(id), LargeDatasetSeeder.fullName(id), "");
+            user.setId(id);
+            return jwtUtil.generateToken(user);
+        });
+    }
+}
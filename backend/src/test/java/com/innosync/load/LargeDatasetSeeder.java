@@ -0,0 +1,229 @@
+package com.innosync.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk loads a large, deterministic object graph with {@code COPY ... FROM STDIN} into the schema
+ * Hibernate created. Ids are assigned here and the identity sequences are moved past them
+ * afterwards, so the layout is known to the load tests:
+ * <ul>
+ *     <li>users {@code 1..recruiters} are recruiters; project {@code p} belongs to recruiter
+ *     {@code (p - 1) % recruiters + 1}</li>
+ *     <li>every user has a profile with the same id</li>
+ *     <li>role {@code r} belongs to project {@code (r - 1) % projects + 1}</li>
+ * </ul>
+ * Applications and invitations go from non-recruiter users to random roles.
+ */
+final class LargeDatasetSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LargeDatasetSeeder.class);
+
+    static final String PASSWORD = "Password123!";
+    private static final int FLUSH_BYTES = 1 << 20;
+    private static final int TECHNOLOGIES_PER_PROFILE = 5;
+    private static final int TECHNOLOGIES_PER_ROLE = 3;
+    private static final int EXPERIENCES_PER_PROFILE = 2;
+    private static final String CREATED_AT = "2025-01-01 00:00:00";
+
+    private static final List<String> SEQUENCED_TABLES = List.of("technology");
+    // Tables whose ids come from a pooled sequence (see db/id-sequences.sql)
+    private static final List<String> POOLED_TABLES = List.of(
+            "users", "user_profile", "work_experience", "project", "project_role", "application", "invitation");
+
+    private static final String[] EDUCATION = {"NO_DEGREE", "BACHELOR", "MASTER", "PHD"};
+    private static final String[] EXPERTISE_LEVEL = {"ENTRY", "JUNIOR", "MID", "SENIOR", "RESEARCHER"};
+    private static final String[] EXPERIENCE_YEARS = {"ZERO_TO_ONE", "ONE_TO_THREE", "THREE_TO_FIVE", "FIVE_TO_SEVEN", "SEVEN_TO_TEN", "MORE_THAN_TEN"};
+    private static final String[] PROJECT_TYPE = {"FREELANCE", "RESEARCH", "ACADEMIC", "HACKATHON"};
+    private static final String[] TEAM_SIZE = {"OneThree", "FourSix", "SevenPlus"};
+    private static final String[] APPLICATION_STATUS = {"PENDING", "UNDER_REVIEW", "ACCEPTED", "REJECTED", "WITHDRAWN"};
+    private static final String[] INVITATION_STATUS = {"INVITED", "ACCEPTED", "DECLINED", "REVOKED"};
+
+    /**
+     * Row counts; {@link #of(double)} scales the production-sized defaults down for quick runs.
+     */
+    record Scale(int users, int technologies, int projects, int roles, int applications, int invitations) {
+
+        static Scale of(double factor) {
+            return new Scale(
+                    scaled(100_000, factor), 200, scaled(20_000, factor), scaled(100_000, factor),
+                    scaled(1_000_000, factor), scaled(1_000_000, factor));
+        }
+
+        private static int scaled(int count, double factor) {
+            return Math.max(2, (int) Math.round(count * factor));
+        }
+
+        int recruiters() {
+            return Math.max(1, Math.min(projects / 2, users / 2));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long id, StringBuilder row);
+    }
+
+    private final DataSource dataSource;
+    private final Scale scale;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    LargeDatasetSeeder(DataSource dataSource, Scale scale) {
+        this.dataSource = dataSource;
+        this.scale = scale;
+    }
+
+    Scale scale() {
+        return scale;
+    }
+
+    static String email(long userId) {
+        return "user" + userId + "@load.test";
+    }
+
+    static String fullName(long userId) {
+        return "User " + userId;
+    }
+
+    long recruiterOfProject(long projectId) {
+        return (projectId - 1) % scale.recruiters() + 1;
+    }
+
+    long projectOfRole(long roleId) {
+        return (roleId - 1) % scale.projects() + 1;
+    }
+
+    long candidate(SplittableRandom random) {
+        return random.nextLong(scale.recruiters() + 1, scale.users() + 1L);
+    }
+
+    void seed() throws SQLException {
+        long started = System.nanoTime();
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        int technologies = scale.technologies();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            PGConnection pg = connection.unwrap(PGConnection.class);
+
+            copy(pg, "users (id, email, password_hash, full_name, created_at)", scale.users(), (id, row) ->
+                    row.append(id).append(',').append(email(id)).append(',').append(passwordHash).append(',')
+                            .append(fullName(id)).append(',').append(CREATED_AT));
+
+            copy(pg, "technology (id, name)", technologies, (id, row) -> row.append(id).append(",Technology ").append(id));
+
+            copy(pg, "user_profile (id, user_id, education, expertise_level, experience_years, position, bio, telegram, github, expertise)",
+                    scale.users(), (id, row) ->
+                    row.append(id).append(',').append(id).append(',')
+                            .append(pick(EDUCATION)).append(',').append(pick(EXPERTISE_LEVEL)).append(',')
+                            .append(pick(EXPERIENCE_YEARS)).append(",Engineer ").append(id % 50)
+                            .append(",Seeded profile ").append(id).append(" for load testing")
+                            .append(",@user").append(id).append(",github.com/user").append(id)
+                            .append(",Backend development"));
+
+            copy(pg, "user_profile_technology (user_profile_id, technology_id)",
+                    (long) scale.users() * TECHNOLOGIES_PER_PROFILE, (n, row) -> {
+                        long profileId = (n - 1) / TECHNOLOGIES_PER_PROFILE + 1;
+                        long k = (n - 1) % TECHNOLOGIES_PER_PROFILE;
+                        row.append(profileId).append(',').append((profileId * 7 + k * 13) % technologies + 1);
+                    });
+
+            copy(pg, "work_experience (id, user_profile_id, start_date, end_date, position, company, description)",
+                    (long) scale.users() * EXPERIENCES_PER_PROFILE, (id, row) -> {
+                        long profileId = (id - 1) / EXPERIENCES_PER_PROFILE + 1;
+                        int year = 2010 + (int) (id % 10);
+                        row.append(id).append(',').append(profileId).append(',').append(year).append("-01-01,")
+                                .append(year + 2).append("-01-01,Engineer,Company ").append(id % 1000)
+                                .append(",Worked on backend services");
+                    });
+
+            copy(pg, "project (id, title, description, recruiter_id, created_at, updated_at, project_type, team_size)",
+                    scale.projects(), (id, row) ->
+                    row.append(id).append(",Project ").append(id).append(",Seeded project ").append(id).append(',')
+                            .append(recruiterOfProject(id)).append(',').append(CREATED_AT).append(',').append(CREATED_AT)
+                            .append(',').append(pick(PROJECT_TYPE)).append(',').append(pick(TEAM_SIZE)));
+
+            copy(pg, "project_role (id, project_id, role_name, expertise_level)", scale.roles(), (id, row) ->
+                    row.append(id).append(',').append(projectOfRole(id)).append(",Role ").append(id % 100)
+                            .append(',').append(pick(EXPERTISE_LEVEL)));
+
+            copy(pg, "role_technology (role_id, technology_id)", (long) scale.roles() * TECHNOLOGIES_PER_ROLE, (n, row) -> {
+                long roleId = (n - 1) / TECHNOLOGIES_PER_ROLE + 1;
+                long k = (n - 1) % TECHNOLOGIES_PER_ROLE;
+                row.append(roleId).append(',').append((roleId * 11 + k * 17) % technologies + 1);
+            });
+
+            copy(pg, "application (id, user_id, project_role_id, status, applied_at, updated_at)", scale.applications(), (id, row) ->
+                    row.append(id).append(',').append(candidate(random)).append(',').append(randomRole())
+                            .append(',').append(pick(APPLICATION_STATUS)).append(',').append(CREATED_AT).append(',').append(CREATED_AT));
+
+            copy(pg, "invitation (id, project_role_id, sender_id, recipient_id, status, sent_at, responded_at)", scale.invitations(), (id, row) -> {
+                long roleId = randomRole();
+                row.append(id).append(',').append(roleId).append(',').append(recruiterOfProject(projectOfRole(roleId)))
+                        .append(',').append(candidate(random)).append(',').append(pick(INVITATION_STATUS))
+                        .append(',').append(CREATED_AT).append(',');
+            });
+
+            try (Statement statement = connection.createStatement()) {
+                for (String table : SEQUENCED_TABLES) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT max(id) FROM " + table + "))");
+                }
+                for (String table : POOLED_TABLES) {
+                    statement.execute("SELECT sync_id_sequence('" + table + "', '" + table + "_seq')");
+                }
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        logger.info("Seeded {} in {} s", scale, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private long randomRole() {
+        return random.nextLong(1, scale.roles() + 1L);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void copy(PGConnection connection, String target, long rows, RowWriter writer) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn("COPY " + target + " FROM STDIN (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+            for (long id = 1; id <= rows; id++) {
+                writer.write(id, buffer);
+                buffer.append('\n');
+                if (buffer.length() >= FLUSH_BYTES) {
+                    write(copy, buffer);
+                }
+            }
+            write(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
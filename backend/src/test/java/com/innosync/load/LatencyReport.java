@@ -0,0 +1,76 @@
+package com.innosync.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and latency percentiles per group of samples, written as CSV to
+ * {@code target/load-results/} so runs can be compared.
+ */
+final class LatencyReport {
+
+    private static final String HEADER = "name,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+    private final List<Row> rows = new ArrayList<>();
+
+    record Row(String name, long requests, long errors, double throughput,
+               double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        double errorRate() {
+            return requests == 0 ? 1 : (double) errors / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                    name, requests, errors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    Row add(String name, List<LoadDriver.Sample> samples, Duration duration) {
+        long[] latencies = samples.stream().mapToLong(LoadDriver.Sample::nanos).sorted().toArray();
+        long errors = samples.stream().filter(sample -> !sample.ok()).count();
+        Row row = new Row(name, latencies.length, errors,
+                latencies.length / (duration.toMillis() / 1000.0),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        rows.add(row);
+        return row;
+    }
+
+    // One row per target, in first-seen order
+    List<Row> addPerTarget(List<LoadDriver.Sample> samples, Duration duration) {
+        Map<String, List<LoadDriver.Sample>> byTarget = samples.stream()
+                .collect(Collectors.groupingBy(LoadDriver.Sample::target, LinkedHashMap::new, Collectors.toList()));
+        List<Row> added = new ArrayList<>();
+        byTarget.forEach((target, targetSamples) -> added.add(add(target, targetSamples, duration)));
+        return added;
+    }
+
+    List<Row> rows() {
+        return List.copyOf(rows);
+    }
+
+    String toCsv() {
+        return HEADER + "\n" + rows.stream().map(Row::toString).collect(Collectors.joining("\n")) + "\n";
+    }
+
+    Path write(String fileName) throws IOException {
+        Path output = Path.of("target", "load-results", fileName);
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, toCsv());
+        return output;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
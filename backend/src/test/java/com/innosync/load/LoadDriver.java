@@ -0,0 +1,72 @@
+package com.innosync.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP load generator: each client sends requests back to back until the deadline,
+ * cycling through the targets. Clients run on virtual threads so the generator itself is not
+ * the bottleneck at high concurrency.
+ */
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * A named endpoint. The function builds a fresh request per call, so ids and tokens can be
+     * varied with the client's random source.
+     */
+    record Target(String name, Function<SplittableRandom, HttpRequest.Builder> request) {
+    }
+
+    record Sample(String target, long nanos, boolean ok) {
+    }
+
+    List<Sample> run(List<Target> targets, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Sample>>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                futures.add(clients.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(offset);
+                    List<Sample> samples = new ArrayList<>();
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        Target target = targets.get(i % targets.size());
+                        HttpRequest request = target.request().apply(random).timeout(REQUEST_TIMEOUT).build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        samples.add(new Sample(target.name(), System.nanoTime() - start, ok));
+                    }
+                    return samples;
+                }));
+            }
+            List<Sample> all = new ArrayList<>();
+            for (Future<List<Sample>> future : futures) {
+                all.addAll(future.get());
+            }
+            return all;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.innosync.load;
+
+import com.innosync.BackendApplication;
+import com.innosync.model.*;
+import com.innosync.repository.ProjectRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.security.JwtUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same read-heavy workload against the backend with platform threads and with the
+ * {@code virtual-threads} profile, and reports throughput and latency percentiles for both.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn test -P load-test}. Uses a Testcontainers
+ * PostgreSQL unless {@code load.datasource.url} (plus {@code .username}/{@code .password}) is set.
+ * Workload size is tuned with {@code load.concurrency} and {@code load.duration} (ISO-8601).
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final int PROJECTS = 200;
+    private static final String RECRUITER_EMAIL = "load-recruiter@example.com";
+    private static final List<String> ENDPOINTS = List.of("/api/projects/me", "/api/projects/roles", "/api/profile/page?limit=20");
+
+    private static PostgreSQLContainer<?> postgres;
+    private static Map<String, String> datasource;
+
+    @BeforeAll
+    static void startDatabase() {
+        String url = System.getProperty("load.datasource.url");
+        if (url != null) {
+            datasource = Map.of(
+                    "spring.datasource.url", url,
+                    "spring.datasource.username", System.getProperty("load.datasource.username", "postgres"),
+                    "spring.datasource.password", System.getProperty("load.datasource.password", ""));
+            return;
+        }
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+        postgres.start();
+        datasource = Map.of(
+                "spring.datasource.url", postgres.getJdbcUrl(),
+                "spring.datasource.username", postgres.getUsername(),
+                "spring.datasource.password", postgres.getPassword());
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        LatencyReport report = new LatencyReport();
+        LatencyReport.Row platform = run(report, "platform", "test");
+        LatencyReport.Row virtual = run(report, "virtual", "test", "virtual-threads");
+
+        Path output = report.write("threading-modes.csv");
+        logger.info("Threading mode comparison ({} clients, {}), written to {}:\n{}",
+                CONCURRENCY, DURATION, output, report.toCsv());
+
+        assertThat(platform.errorRate()).isLessThan(0.01);
+        assertThat(virtual.errorRate()).isLessThan(0.01);
+    }
+
+    private LatencyReport.Row run(LatencyReport report, String mode, String... profiles) throws Exception {
+        Map<String, String> properties = new HashMap<>(datasource);
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        // Same connection pool in both modes so only the request threading differs
+        properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("refresh-token.sweeper.enabled", "false");
+        // Latency is measured here, not gated: report budget violations instead of failing requests
+        properties.put("query-budget.mode", "WARN");
+        properties.put("logging.level.com.innosync", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        // Keep pinning reports from VirtualThreadPinningMonitor visible
+        properties.put("logging.level.com.innosync.config", "INFO");
+
+        // Passed as command line arguments so they take precedence over the profile files
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles(profiles)
+                .run(args)) {
+            User recruiter = seed(context);
+            // Keys are per context unless JWT_SECRET is set, so tokens are issued by the app under test
+            String token = context.getBean(JwtUtil.class).generateToken(recruiter);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            List<LoadDriver.Target> targets = ENDPOINTS.stream()
+                    .map(endpoint -> new LoadDriver.Target(endpoint, random -> HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()))
+                    .toList();
+            LoadDriver driver = new LoadDriver();
+            driver.run(targets, CONCURRENCY, WARM_UP);
+            return report.add(mode, driver.run(targets, CONCURRENCY, DURATION), DURATION);
+        }
+    }
+
+    private static User seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        Optional<User> existing = userRepository.findByEmail(RECRUITER_EMAIL);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        User recruiter = userRepository.save(new User(RECRUITER_EMAIL, "Load Recruiter", "not-a-real-hash"));
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(Project.builder()
+                    .title("Load project " + i)
+                    .description("Seeded for the threading mode load test")
+                    .recruiter(recruiter)
+                    .projectType(ProjectType.values()[i % ProjectType.values().length])
+                    .teamSize(TeamSize.FourSix)
+                    .build());
+        }
+        context.getBean(ProjectRepository.class).saveAll(projects);
+        return recruiter;
+    }
+}
@@ -0,0 +1,103 @@
+package com.innosync.metrics;
+
+import com.innosync.config.TestContainersConfig;
+import com.innosync.model.User;
+import com.innosync.repository.UserRepository;
+import com.innosync.security.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Metrics export is disabled in tests by default; the Prometheus endpoint needs it
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+class MetricsIntegrationTest {
+
+    private static final String ENDPOINT = "/api/projects/me";
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void request_ShouldRecordStatementsAndRepositoryTimingsByEndpointTemplate() {
+        // Given
+        User recruiter = userRepository.save(new User("metrics@example.com", "Metrics User", "hash"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(recruiter));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange("http://localhost:" + port + ENDPOINT,
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            DistributionSummary statements = meterRegistry.find("hibernate.statements.per.request")
+                    .tag(EndpointTags.ENDPOINT, ENDPOINT).summary();
+            assertThat(statements).isNotNull();
+            assertThat(statements.totalAmount()).isPositive();
+            assertThat(meterRegistry.find("spring.data.repository.invocations")
+                    .tag(EndpointTags.ENDPOINT, ENDPOINT).tag("repository", "ProjectRepository").timer()).isNotNull();
+            assertThat(meterRegistry.find("http.server.requests")
+                    .tag("uri", ENDPOINT).tag("handler", "ProjectController.getMyProjects").timer()).isNotNull();
+        });
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldBeServedOnManagementPortWithoutToken() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("jvm_gc_", "hikaricp_connections");
+    }
+
+    @Test
+    void actuator_ShouldNotBeServedOnApplicationPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isFalse();
+    }
+}
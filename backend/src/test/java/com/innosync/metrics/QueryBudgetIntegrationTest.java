@@ -0,0 +1,196 @@
+package com.innosync.metrics;
+
+import com.innosync.model.*;
+import com.innosync.repository.*;
+import com.innosync.security.JwtUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lists several rows through endpoints that used to load each row's associations separately.
+ * The test profile runs the query budget in FAIL mode, so a regression fails the request.
+ * Statements issued through {@code JdbcTemplate} count towards the same budget.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(com.innosync.config.TestContainersConfig.class)
+@Transactional
+class QueryBudgetIntegrationTest {
+
+    private static final int MEMBERS = 6;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectRoleRepository projectRoleRepository;
+
+    @Autowired
+    private ProjectTeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private RoleApplicationRepository applicationRepository;
+
+    @Autowired
+    private InvitationRepository invitationRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Project project;
+    private ProjectRole role;
+    private String recruiterToken;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        User recruiter = userRepository.save(new User("budget-recruiter@example.com", "Recruiter", "hash"));
+        recruiterToken = jwtUtil.generateToken(recruiter);
+
+        project = projectRepository.save(Project.builder()
+                .title("Budget Project")
+                .description("Project with a full team")
+                .recruiter(recruiter)
+                .projectType(ProjectType.FREELANCE)
+                .teamSize(TeamSize.SevenPlus)
+                .build());
+
+        List<ProjectRole> roles = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            ProjectRole projectRole = new ProjectRole();
+            projectRole.setProject(project);
+            projectRole.setRoleName("Role " + i);
+            projectRole.setExpertiseLevel(ExpertiseLevel.MID);
+            projectRole.setTechnologies(new ArrayList<>(List.of(
+                    technologyRepository.save(new Technology("Budget Technology " + i)))));
+            roles.add(projectRole);
+        }
+        projectRoleRepository.saveAll(roles);
+        role = roles.get(0);
+
+        for (int i = 0; i < MEMBERS; i++) {
+            User member = userRepository.save(new User("member" + i + "@example.com", "Member " + i, "hash"));
+
+            ProjectTeamMember teamMember = new ProjectTeamMember();
+            teamMember.setProject(project);
+            teamMember.setProjectRole(roles.get(i));
+            teamMember.setUser(member);
+            teamMember.setJoinedVia(ProjectTeamMember.JoinMethod.INVITATION);
+            teamMemberRepository.save(teamMember);
+
+            RoleApplication application = new RoleApplication();
+            application.setUser(member);
+            application.setProjectRole(role);
+            application.setStatus(ApplicationStatus.PENDING);
+            application.setAppliedAt(LocalDateTime.now());
+            applicationRepository.save(application);
+
+            invitationRepository.save(Invitation.builder()
+                    .projectRole(roles.get(i))
+                    .sender(recruiter)
+                    .recipient(member)
+                    .status(InvitationStatus.INVITED)
+                    .sentAt(LocalDateTime.now())
+                    .build());
+        }
+
+        // Start the requests from an empty persistence context so associations really are loaded
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getTeamMembers_ShouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/projects/{projectId}/team-members", project.getId())
+                        .header("Authorization", "Bearer " + recruiterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MEMBERS)));
+    }
+
+    @Test
+    void getApplicationsForRole_ShouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/applications/project-roles/{projectRoleId}", role.getId())
+                        .header("Authorization", "Bearer " + recruiterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MEMBERS)));
+    }
+
+    @Test
+    void getProjectRoles_ShouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/projects/{projectId}/roles", project.getId())
+                        .header("Authorization", "Bearer " + recruiterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MEMBERS)))
+                .andExpect(jsonPath("$[0].technologies", hasSize(1)));
+    }
+
+    @Test
+    void getSentInvitations_ShouldStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/invitations/sent")
+                        .header("Authorization", "Bearer " + recruiterToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MEMBERS)));
+    }
+
+    @Test
+    void jdbcTemplateStatements_ShouldCountTowardsTheBudget() {
+        // Given
+        RequestStatementCounter.open();
+        try {
+            // When
+            for (int i = 0; i < MEMBERS; i++) {
+                jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE id = ?", Long.class, (long) i);
+            }
+            jdbcTemplate.queryForObject("SELECT count(*) FROM project", Long.class);
+
+            // Then
+            RequestStatementCounter.Statements statements = RequestStatementCounter.current();
+            assertThat(statements.total()).isEqualTo(MEMBERS + 1);
+            assertThat(statements.mostRepeated().getKey()).isEqualTo("SELECT count(*) FROM users WHERE id = ?");
+            assertThat(statements.mostRepeated().getValue()).isEqualTo(MEMBERS);
+        } finally {
+            RequestStatementCounter.close();
+        }
+    }
+}
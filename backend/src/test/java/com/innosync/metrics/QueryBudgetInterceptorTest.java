@@ -0,0 +1,175 @@
+package com.innosync.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetInterceptorTest {
+
+    private static final String ENDPOINT = "/api/projects/{projectId}/team-members";
+
+    private QueryBudgetProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryBudgetProperties();
+        properties.setDefaultBudget(5);
+        properties.setRepeatedStatementThreshold(3);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new QueryBudgetInterceptor(properties, meterRegistry);
+
+        request = new MockHttpServletRequest("GET", "/api/projects/1/team-members");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ENDPOINT);
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatementCounter.close();
+    }
+
+    @Test
+    void postHandle_WithinBudget_ShouldNotReport() {
+        // Given
+        interceptor.preHandle(request, response, null);
+        RequestStatementCounter.record("select * from project where id=?");
+        RequestStatementCounter.record("select * from project_team_member where project_id=?");
+
+        // When
+        interceptor.postHandle(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertThat(meterRegistry.find("hibernate.statements.budget.exceeded").counter()).isNull();
+        assertThat(RequestStatementCounter.current()).isNull();
+    }
+
+    @Test
+    void postHandle_OverBudgetInWarnMode_ShouldCountViolation() {
+        // Given
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 6; i++) {
+            RequestStatementCounter.record("select * from table_" + i);
+        }
+
+        // When
+        interceptor.postHandle(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertThat(meterRegistry.get("hibernate.statements.budget.exceeded")
+                .tag(EndpointTags.ENDPOINT, ENDPOINT)
+                .tag("method", "GET")
+                .tag("reason", "budget")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void postHandle_RepeatedStatementInFailMode_ShouldThrow() {
+        // Given
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 4; i++) {
+            RequestStatementCounter.record("select * from users where id=?");
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.postHandle(request, response, null, null))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("reason=repeated_statement")
+                .hasMessageContaining("select * from users where id=?");
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(meterRegistry.get("hibernate.statements.budget.exceeded").tag("reason", "repeated_statement")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void postHandle_InFailModeAfterTheResponseWasCommitted_ShouldOnlyReport() throws Exception {
+        // Given
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 4; i++) {
+            RequestStatementCounter.record("select * from users where id=?");
+        }
+        response.flushBuffer();
+
+        // When
+        interceptor.postHandle(request, response, null, null);
+
+        // Then
+        assertThat(meterRegistry.get("hibernate.statements.budget.exceeded").tag("reason", "repeated_statement")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkBeforeBody_WithinBudget_ShouldLeaveLaterStatementsToPostHandle() {
+        // Given
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        interceptor.preHandle(request, response, null);
+        RequestStatementCounter.record("select * from project where id=?");
+        interceptor.checkBeforeBody(request);
+        for (int i = 0; i < 6; i++) {
+            RequestStatementCounter.record("select * from table_" + i);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.postHandle(request, response, null, null))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("reason=budget");
+    }
+
+    @Test
+    void postHandle_WithEndpointBudget_ShouldUseItInsteadOfDefault() {
+        // Given
+        properties.setMode(QueryBudgetProperties.Mode.FAIL);
+        properties.setEndpoints(Map.of(ENDPOINT, 8));
+        interceptor.preHandle(request, response, null);
+        for (int i = 0; i < 8; i++) {
+            RequestStatementCounter.record("select * from table_" + i);
+        }
+
+        // When
+        interceptor.postHandle(request, response, null, null);
+
+        // Then
+        assertThat(meterRegistry.find("hibernate.statements.budget.exceeded").counter()).isNull();
+    }
+
+    @Test
+    void preHandle_WithCountAlreadyOpen_ShouldLeaveItToTheOpener() {
+        // Given
+        RequestStatementCounter.open();
+
+        // When
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertThat(RequestStatementCounter.current()).isNotNull();
+    }
+
+    @Test
+    void preHandle_InOffMode_ShouldNotCount() {
+        // Given
+        properties.setMode(QueryBudgetProperties.Mode.OFF);
+
+        // When
+        interceptor.preHandle(request, response, null);
+
+        // Then
+        assertThat(RequestStatementCounter.current()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package com.innosync.repository;
+
+import com.innosync.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Postgres DDL is transactional, so the scratch table and sequence roll back with the test
+@Transactional
+class IdSequencesIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // A table as Hibernate created it before its entity moved from IDENTITY to a pooled sequence
+        jdbcTemplate.execute("CREATE TABLE legacy_item (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name text)");
+        jdbcTemplate.execute("INSERT INTO legacy_item (name) SELECT 'item ' || g FROM generate_series(1, 120) g");
+        jdbcTemplate.execute("CREATE SEQUENCE legacy_item_seq START WITH 1 INCREMENT BY 50");
+    }
+
+    @Test
+    void syncIdSequence_ShouldMoveSequencePastExistingRowsAndDropIdentity() {
+        // When
+        jdbcTemplate.execute("SELECT sync_id_sequence('legacy_item', 'legacy_item_seq')");
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('legacy_item_seq')", Long.class)).isEqualTo(121L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attidentity FROM pg_attribute WHERE attrelid = 'legacy_item'::regclass AND attname = 'id'",
+                String.class)).isEmpty();
+    }
+
+    @Test
+    void syncIdSequence_WhenSequenceIsAhead_ShouldLeaveItAlone() {
+        // Given: a block [200, 249] was handed out, possibly to rows not inserted yet
+        jdbcTemplate.execute("SELECT setval('legacy_item_seq', 200)");
+
+        // When
+        jdbcTemplate.execute("SELECT sync_id_sequence('legacy_item', 'legacy_item_seq')");
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('legacy_item_seq')", Long.class)).isEqualTo(250L);
+    }
+}
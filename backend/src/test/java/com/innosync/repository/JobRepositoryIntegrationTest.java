@@ -0,0 +1,149 @@
+package com.innosync.repository;
+
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.repository.JobRepository.ClaimedJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional, and without workers: claims must commit, and nobody else may take the jobs
+@TestPropertySource(properties = "jobs.enabled=false")
+class JobRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM job");
+    }
+
+    @Test
+    void claim_ShouldTakeDueJobsOldestFirstAndHoldThemForTheLease() {
+        // Given
+        jobRepository.insert("test", "{\"n\":1}");
+        jobRepository.insert("test", "{\"n\":2}");
+
+        // When
+        ClaimedJob first = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+        ClaimedJob second = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+        Optional<ClaimedJob> third = jobRepository.claim(LEASE, MAX_ATTEMPTS);
+
+        // Then
+        assertThat(first.payload()).isEqualTo("{\"n\": 1}");
+        assertThat(first.type()).isEqualTo("test");
+        assertThat(first.attempts()).isEqualTo(1);
+        assertThat(second.payload()).isEqualTo("{\"n\": 2}");
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    void claim_ShouldSkipJobsAnotherWorkerIsClaiming() {
+        // Given
+        jobRepository.insert("test", "{\"n\":1}");
+        jobRepository.insert("test", "{\"n\":2}");
+
+        // When: the second claim runs while the first one's transaction still holds its row
+        ClaimedJob[] claims = new TransactionTemplate(transactionManager).execute(status -> {
+            ClaimedJob mine = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+            ClaimedJob theirs = CompletableFuture.supplyAsync(() -> jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow())
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            return new ClaimedJob[]{mine, theirs};
+        });
+
+        // Then
+        assertThat(claims[0].id()).isNotEqualTo(claims[1].id());
+    }
+
+    @Test
+    void complete_AfterTheLeaseWasOver_ShouldLeaveTheNewAttemptAlone() {
+        // Given: a worker outlives its lease and the job is claimed again
+        jobRepository.insert("test", "{}");
+        ClaimedJob stale = jobRepository.claim(Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+        ClaimedJob current = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // When
+        boolean staleCompleted = jobRepository.complete(stale);
+        boolean currentCompleted = jobRepository.complete(current);
+
+        // Then
+        assertThat(current.attempts()).isEqualTo(2);
+        assertThat(staleCompleted).isFalse();
+        assertThat(currentCompleted).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM job", Long.class)).isZero();
+    }
+
+    @Test
+    void retry_ShouldMakeTheJobDueAgainAfterTheDelay() {
+        // Given
+        jobRepository.insert("test", "{}");
+        ClaimedJob job = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // When
+        jobRepository.retry(job, Duration.ZERO, "java.io.IOException: store unavailable");
+
+        // Then
+        ClaimedJob retried = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+        assertThat(retried.id()).isEqualTo(job.id());
+        assertThat(retried.attempts()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_error FROM job WHERE id = ?", String.class, job.id()))
+                .isEqualTo("java.io.IOException: store unavailable");
+    }
+
+    @Test
+    void fail_ShouldKeepTheJobWithoutRunningItAgain() {
+        // Given
+        jobRepository.insert("test", "{}");
+        ClaimedJob job = jobRepository.claim(Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+
+        // When
+        jobRepository.fail(job, "gave up");
+
+        // Then
+        assertThat(jobRepository.claim(LEASE, MAX_ATTEMPTS)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM job WHERE id = ?", String.class, job.id()))
+                .isEqualTo("FAILED");
+    }
+
+    @Test
+    void claim_AfterTheLeaseRanOutOnTheLastAttempt_ShouldFailTheJob() {
+        // Given: every worker that took the job died with it
+        jobRepository.insert("test", "{}");
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            jobRepository.claim(Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+        }
+        jobRepository.insert("test", "{}");
+
+        // When
+        ClaimedJob next = jobRepository.claim(LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // Then
+        assertThat(next.attempts()).isEqualTo(1);
+        assertThat(jobRepository.claim(LEASE, MAX_ATTEMPTS)).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT status || ': ' || last_error FROM job WHERE id <> ?",
+                String.class, next.id())).containsExactly("FAILED: Lease ran out on attempt 3");
+    }
+}
@@ -8,9 +8,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,7 +70,7 @@ class ProfileRepositoryIntegrationTest {
         profile.setExpertiseLevel(ExpertiseLevel.SENIOR);
         profile.setResume("/uploads/resumes/john_doe_resume.pdf");
         profile.setProfilePicture("/uploads/profiles/john_doe_avatar.jpg");
-        profile.setTechnologies(List.of(java, spring, react));
+        profile.setTechnologies(Set.of(java, spring, react));
 
         // When
         Profile savedProfile = profileRepository.save(profile);
@@ -164,7 +165,7 @@ class ProfileRepositoryIntegrationTest {
     void save_WithMultipleTechnologies_ShouldPersistManyToManyRelationship() {
         // Given
         Profile profile = createBasicProfile(user1);
-        profile.setTechnologies(List.of(java, python, react, spring));
+        profile.setTechnologies(Set.of(java, python, react, spring));
 
         // When
         Profile savedProfile = profileRepository.save(profile);
@@ -183,7 +184,7 @@ class ProfileRepositoryIntegrationTest {
     void save_WithEmptyTechnologies_ShouldHandleEmptyList() {
         // Given
         Profile profile = createBasicProfile(user1);
-        profile.setTechnologies(List.of()); // Empty list
+        profile.setTechnologies(Set.of()); // Empty set
 
         // When
         Profile savedProfile = profileRepository.save(profile);
@@ -199,7 +200,7 @@ class ProfileRepositoryIntegrationTest {
         User savedUser = userRepository.save(user);
         
         Profile profile = createBasicProfile(savedUser);
-        profile.setTechnologies(new ArrayList<>(List.of(java))); // Use ArrayList to avoid UnsupportedOperation
+        profile.setTechnologies(new HashSet<>(List.of(java))); // Use HashSet to avoid UnsupportedOperation
         Profile savedProfile = profileRepository.save(profile);
 
         // When
@@ -207,7 +208,7 @@ class ProfileRepositoryIntegrationTest {
         savedProfile.setPosition("Tech Lead");
         savedProfile.setEducation(Education.MASTER);
         savedProfile.setExpertiseLevel(ExpertiseLevel.SENIOR);
-        savedProfile.setTechnologies(new ArrayList<>(List.of(java, python, spring))); // Use ArrayList
+        savedProfile.setTechnologies(new HashSet<>(List.of(java, python, spring))); // Use HashSet
         Profile updatedProfile = profileRepository.save(savedProfile);
 
         // Then
@@ -224,7 +225,7 @@ class ProfileRepositoryIntegrationTest {
     void delete_ExistingProfile_ShouldRemoveProfileButKeepUserAndTechnologies() {
         // Given
         Profile profile = createBasicProfile(user1);
-        profile.setTechnologies(List.of(java, python));
+        profile.setTechnologies(Set.of(java, python));
         Profile savedProfile = profileRepository.save(profile);
         Long profileId = savedProfile.getId();
 
@@ -275,11 +276,11 @@ class ProfileRepositoryIntegrationTest {
         // Given
         Profile profile1 = createBasicProfile(user1);
         profile1.setPosition("Senior Developer");
-        profile1.setTechnologies(List.of(java, spring));
+        profile1.setTechnologies(Set.of(java, spring));
 
         Profile profile2 = createBasicProfile(user2);
         profile2.setPosition("Data Scientist");
-        profile2.setTechnologies(List.of(python));
+        profile2.setTechnologies(Set.of(python));
 
         profileRepository.saveAll(List.of(profile1, profile2));
 
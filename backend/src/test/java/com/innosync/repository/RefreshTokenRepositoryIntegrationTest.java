@@ -0,0 +1,128 @@
+package com.innosync.repository;
+
+import com.innosync.model.RefreshToken;
+import com.innosync.model.User;
+import com.innosync.security.TokenHashing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({com.innosync.config.TestContainersConfig.class})
+class RefreshTokenRepositoryIntegrationTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("tokens@example.com", "Token Owner", "hash"));
+    }
+
+    @Test
+    void deleteOldestBeyond_ShouldKeepMostRecentTokens() {
+        // Given
+        Instant now = Instant.now();
+        for (int i = 0; i < 6; i++) {
+            save("hash-" + i, now.plus(i, ChronoUnit.HOURS));
+        }
+        entityManager.flush();
+
+        // When
+        int deleted = refreshTokenRepository.deleteOldestBeyond(user.getId(), 4);
+        entityManager.clear();
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash)
+                .containsExactlyInAnyOrder("hash-2", "hash-3", "hash-4", "hash-5");
+    }
+
+    @Test
+    void deleteExpiredBatch_ShouldDeleteOnlyExpiredTokensUpToBatchSize() {
+        // Given
+        Instant now = Instant.now();
+        save("expired-1", now.minus(2, ChronoUnit.DAYS));
+        save("expired-2", now.minus(1, ChronoUnit.DAYS));
+        save("expired-3", now.minus(1, ChronoUnit.HOURS));
+        save("valid", now.plus(1, ChronoUnit.DAYS));
+        entityManager.flush();
+
+        // When
+        int firstBatch = refreshTokenRepository.deleteExpiredBatch(now, 2);
+        int secondBatch = refreshTokenRepository.deleteExpiredBatch(now, 2);
+        entityManager.clear();
+
+        // Then
+        assertThat(firstBatch).isEqualTo(2);
+        assertThat(secondBatch).isEqualTo(1);
+        List<RefreshToken> remaining = refreshTokenRepository.findAll();
+        assertThat(remaining).extracting(RefreshToken::getTokenHash).containsExactly("valid");
+    }
+
+    @Test
+    void findByTokenHash_ShouldReturnMatchingToken() {
+        // Given
+        save("abc123", Instant.now().plus(1, ChronoUnit.DAYS));
+        entityManager.flush();
+
+        // When & Then
+        assertThat(refreshTokenRepository.findByTokenHash("abc123")).isPresent();
+        assertThat(refreshTokenRepository.findByTokenHash("other")).isEmpty();
+    }
+
+    @Test
+    void refreshTokensScript_ShouldHashTokensStoredBeforeHashingOnce() {
+        // Given
+        String legacyToken = UUID.randomUUID().toString();
+        String hashed = TokenHashing.sha256Hex("issued-after-hashing");
+        save(legacyToken, Instant.now().plus(1, ChronoUnit.DAYS));
+        save(hashed, Instant.now().plus(1, ChronoUnit.DAYS));
+        entityManager.flush();
+
+        // When: twice, as on every startup
+        ResourceDatabasePopulator script = new ResourceDatabasePopulator(new ClassPathResource("db/refresh-tokens.sql"));
+        script.execute(dataSource);
+        script.execute(dataSource);
+        entityManager.clear();
+
+        // Then
+        assertThat(refreshTokenRepository.findByTokenHash(legacyToken)).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(legacyToken))).isPresent();
+        assertThat(refreshTokenRepository.findByTokenHash(hashed)).isPresent();
+    }
+
+    private void save(String tokenHash, Instant expiryDate) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(tokenHash);
+        token.setExpiryDate(expiryDate);
+        refreshTokenRepository.save(token);
+    }
+}
@@ -0,0 +1,26 @@
+package com.innosync.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCalibrationTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void chooseStrength_ShouldRaiseCostWhileWithinTarget() {
+        // 60 ms at cost 10 -> 120 ms at 11 -> 240 ms at 12 -> 480 ms at 13
+        assertThat(BCryptCalibration.chooseStrength(60 * MILLIS, 250 * MILLIS, 10, 14)).isEqualTo(12);
+    }
+
+    @Test
+    void chooseStrength_ShouldNotGoBelowMinimumOnSlowHosts() {
+        assertThat(BCryptCalibration.chooseStrength(400 * MILLIS, 250 * MILLIS, 10, 14)).isEqualTo(10);
+    }
+
+    @Test
+    void chooseStrength_ShouldCapAtMaximumOnFastHosts() {
+        assertThat(BCryptCalibration.chooseStrength(MILLIS, 250 * MILLIS, 10, 14)).isEqualTo(14);
+    }
+}
@@ -0,0 +1,94 @@
+package com.innosync.security;
+
+import com.innosync.model.User;
+import com.innosync.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private JwtAuthFilter jwtAuthFilter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithTokenCarryingUserClaims_ShouldAuthenticateWithoutLookup() throws Exception {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "test@example.com", "Test User");
+        when(jwtUtil.resolvePrincipal(eq("token"), any())).thenReturn(Optional.of(principal));
+
+        // When
+        jwtAuthFilter.doFilter(bearer("token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        assertThat(authentication.getName()).isEqualTo("test@example.com");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void doFilter_WithLegacyToken_ShouldFillInUserFromDatabase() throws Exception {
+        // Given
+        User user = new User("test@example.com", "Test User", "hash");
+        user.setId(7L);
+        when(jwtUtil.resolvePrincipal(eq("token"), any())).thenAnswer(invocation -> {
+            UnaryOperator<AuthenticatedUser> complete = invocation.getArgument(1);
+            return Optional.of(complete.apply(new AuthenticatedUser(null, "test@example.com", null)));
+        });
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // When
+        jwtAuthFilter.doFilter(bearer("token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isEqualTo(new AuthenticatedUser(7L, "test@example.com", "Test User"));
+    }
+
+    @Test
+    void doFilter_WithInvalidToken_ShouldNotAuthenticate() throws Exception {
+        // Given
+        when(jwtUtil.resolvePrincipal(eq("token"), any())).thenReturn(Optional.empty());
+
+        // When
+        jwtAuthFilter.doFilter(bearer("token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -1,20 +1,33 @@
 package com.innosync.security;
 
+import com.innosync.model.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilTest {
 
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+    private static final String PREVIOUS_SECRET = "previous-secret-that-is-long-enough-for-hs256";
+
     private JwtUtil jwtUtil;
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
+        jwtUtil = new JwtUtil(new JwtKeyRing(SECRET, "current", ""));
     }
 
     @Test
@@ -122,7 +135,7 @@ class JwtUtilTest {
     @Test
     void generateToken_WithNullEmail_ShouldCreateTokenWithNullSubject() {
         // When
-        String token = jwtUtil.generateToken(null);
+        String token = jwtUtil.generateToken((String) null);
 
         // Then
         assertThat(token).isNotNull();
@@ -200,4 +213,222 @@ class JwtUtilTest {
         // Then
         assertThat(isValid).isFalse();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void validateAndExtractClaims_WithValidToken_ShouldReturnClaims() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+
+        // When
+        Optional<Claims> claims = jwtUtil.validateAndExtractClaims(token);
+
+        // Then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("test@example.com");
+        assertThat(claims.get().getExpiration()).isAfter(new Date());
+    }
+
+    @Test
+    void validateAndExtractClaims_WithTamperedToken_ShouldReturnEmpty() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+        String tamperedToken = token.substring(0, token.length() - 5) + "tamper";
+
+        // When & Then
+        assertThat(jwtUtil.validateAndExtractClaims(tamperedToken)).isEmpty();
+        assertThat(jwtUtil.validateAndExtractClaims(null)).isEmpty();
+    }
+
+    @Test
+    void resolvePrincipal_WithRepeatedToken_ShouldServeFromCache() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+
+        // When
+        Optional<String> first = jwtUtil.resolvePrincipal(token).map(AuthenticatedUser::email);
+        Optional<String> second = jwtUtil.resolvePrincipal(token).map(AuthenticatedUser::email);
+
+        // Then
+        assertThat(first).contains("test@example.com");
+        assertThat(second).contains("test@example.com");
+        assertThat(jwtUtil.verificationCacheStats().missCount()).isEqualTo(1);
+        assertThat(jwtUtil.verificationCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resolvePrincipal_WithTokenWithoutUserClaims_ShouldCacheTheCompletedPrincipal() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+        AtomicInteger lookups = new AtomicInteger();
+        UnaryOperator<AuthenticatedUser> complete = principal -> {
+            lookups.incrementAndGet();
+            return new AuthenticatedUser(7L, principal.email(), "Test User");
+        };
+
+        // When
+        Optional<AuthenticatedUser> first = jwtUtil.resolvePrincipal(token, complete);
+        Optional<AuthenticatedUser> second = jwtUtil.resolvePrincipal(token, complete);
+
+        // Then
+        AuthenticatedUser expected = new AuthenticatedUser(7L, "test@example.com", "Test User");
+        assertThat(first).contains(expected);
+        assertThat(second).contains(expected);
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    void resolvePrincipal_WithTokenCarryingUserClaims_ShouldNotCompleteIt() {
+        // Given
+        User user = new User("test@example.com", "Test User", "hash");
+        user.setId(7L);
+        String token = jwtUtil.generateToken(user);
+
+        // When
+        Optional<AuthenticatedUser> principal = jwtUtil.resolvePrincipal(token, p -> {
+            throw new AssertionError("no lookup expected");
+        });
+
+        // Then
+        assertThat(principal).contains(new AuthenticatedUser(7L, "test@example.com", "Test User"));
+    }
+
+    @Test
+    void resolvePrincipal_WithInvalidToken_ShouldNotCacheIt() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+        String tamperedToken = token.substring(0, token.length() - 5) + "tamper";
+
+        // When
+        Optional<String> first = jwtUtil.resolvePrincipal(tamperedToken).map(AuthenticatedUser::email);
+        Optional<String> second = jwtUtil.resolvePrincipal(tamperedToken).map(AuthenticatedUser::email);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(jwtUtil.verificationCacheStats().hitCount()).isZero();
+    }
+
+    @Test
+    void resolvePrincipal_WithZeroTtl_ShouldVerifyEveryTime() {
+        // Given
+        JwtUtil uncached = new JwtUtil(new JwtKeyRing(SECRET, "current", ""), 10, Duration.ZERO);
+        String token = uncached.generateToken("test@example.com");
+
+        // When
+        uncached.resolvePrincipal(token);
+        Optional<String> principal = uncached.resolvePrincipal(token).map(AuthenticatedUser::email);
+
+        // Then
+        assertThat(principal).contains("test@example.com");
+        assertThat(uncached.verificationCacheStats().hitCount()).isZero();
+    }
+
+    @Test
+    void bindTo_ShouldExposeCacheMetrics() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtUtil.bindTo(registry);
+        String token = jwtUtil.generateToken("test@example.com");
+
+        // When
+        jwtUtil.resolvePrincipal(token);
+        jwtUtil.resolvePrincipal(token);
+
+        // Then
+        assertThat(registry.get("cache.gets").tag("cache", "jwt.verification").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "jwt.verification").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void generateToken_ShouldCarryCurrentKeyId() {
+        // Given
+        String token = jwtUtil.generateToken("test@example.com");
+
+        // When
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(header).contains("\"kid\":\"current\"");
+    }
+
+    @Test
+    void validateToken_FromAnotherInstanceWithSameSecret_ShouldReturnTrue() {
+        // Given
+        JwtUtil otherNode = new JwtUtil(new JwtKeyRing(SECRET, "current", ""));
+        String token = otherNode.generateToken("test@example.com");
+
+        // When & Then
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("test@example.com");
+    }
+
+    @Test
+    void validateToken_SignedWithRotatedOutKey_ShouldStillBeAccepted() {
+        // Given
+        JwtUtil beforeRotation = new JwtUtil(new JwtKeyRing(PREVIOUS_SECRET, "old", ""));
+        JwtUtil afterRotation = new JwtUtil(new JwtKeyRing(SECRET, "new", "old:" + PREVIOUS_SECRET));
+        String oldToken = beforeRotation.generateToken("test@example.com");
+
+        // When & Then
+        assertThat(afterRotation.validateToken(oldToken)).isTrue();
+        assertThat(beforeRotation.validateToken(afterRotation.generateToken("test@example.com"))).isFalse();
+    }
+
+    @Test
+    void validateToken_WithUnknownKeyId_ShouldReturnFalse() {
+        // Given
+        JwtUtil otherRing = new JwtUtil(new JwtKeyRing(SECRET, "unknown", ""));
+        String token = otherRing.generateToken("test@example.com");
+
+        // When & Then
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void keyRing_WithShortSecret_ShouldFailFast() {
+        assertThatThrownBy(() -> new JwtKeyRing("too-short", "current", ""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+
+    @Test
+    void keyRing_WithoutSecret_ShouldFallBackToRandomKey() {
+        // Given
+        JwtUtil first = new JwtUtil(new JwtKeyRing("", null, ""));
+        JwtUtil second = new JwtUtil(new JwtKeyRing("", null, ""));
+
+        // When
+        String token = first.generateToken("test@example.com");
+
+        // Then
+        assertThat(first.validateToken(token)).isTrue();
+        assertThat(second.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void generateToken_ForUser_ShouldEmbedIdAndName() {
+        // Given
+        User user = new User("test@example.com", "Test User", "hash");
+        user.setId(42L);
+
+        // When
+        Optional<AuthenticatedUser> principal = jwtUtil.resolvePrincipal(jwtUtil.generateToken(user));
+
+        // Then
+        assertThat(principal).contains(new AuthenticatedUser(42L, "test@example.com", "Test User"));
+        assertThat(principal.get().getName()).isEqualTo("test@example.com");
+    }
+
+    @Test
+    void resolvePrincipal_WithTokenWithoutUserClaims_ShouldLeaveIdEmpty() {
+        // When
+        Optional<AuthenticatedUser> principal = jwtUtil.resolvePrincipal(jwtUtil.generateToken("test@example.com"));
+
+        // Then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().hasId()).isFalse();
+        assertThat(principal.get().email()).isEqualTo("test@example.com");
+    }
+}
@@ -0,0 +1,149 @@
+package com.innosync.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateFeatureExportTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MutableClock clock;
+    private CandidateFeatureExport export;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        export = new CandidateFeatureExport(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                new ObjectMapper(), Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void snapshot_ShouldBeGzippedNdjsonStartingWithTechnologies() throws Exception {
+        // When
+        CandidateFeatureExport.Snapshot snapshot = export.snapshot();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzipped()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"technologies\":{}}\n");
+        }
+        assertThat(snapshot.profiles()).isZero();
+        assertThat(snapshot.etag()).matches("W/\"[0-9a-f]{32}\"");
+    }
+
+    @Test
+    void snapshot_WithinMaxAge_ShouldBeServedFromMemory() {
+        // Given
+        CandidateFeatureExport.Snapshot first = export.snapshot();
+        clock.advance(Duration.ofSeconds(29));
+
+        // When
+        CandidateFeatureExport.Snapshot second = export.snapshot();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void snapshot_OlderThanMaxAge_ShouldBeRebuiltWithTheSameETag() {
+        // Given
+        CandidateFeatureExport.Snapshot first = export.snapshot();
+        clock.advance(Duration.ofSeconds(31));
+
+        // When
+        CandidateFeatureExport.Snapshot second = export.snapshot();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(second.builtAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    void invalidate_OutsideTransaction_ShouldRebuildOnNextSnapshot() {
+        // Given
+        CandidateFeatureExport.Snapshot first = export.snapshot();
+
+        // When
+        export.invalidate();
+        CandidateFeatureExport.Snapshot second = export.snapshot();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void invalidate_WhileRebuilding_ShouldNotLeaveTheRebuiltSnapshotCached() {
+        // Given: a profile save commits while the export is reading
+        doAnswer(invocation -> {
+            export.invalidate();
+            return null;
+        }).doNothing().when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        CandidateFeatureExport.Snapshot first = export.snapshot();
+
+        // When
+        CandidateFeatureExport.Snapshot second = export.snapshot();
+        CandidateFeatureExport.Snapshot third = export.snapshot();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(third).isSameAs(second);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
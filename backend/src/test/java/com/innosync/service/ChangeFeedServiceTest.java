@@ -0,0 +1,96 @@
+package com.innosync.service;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.dto.change.ChangeFeedResponse;
+import com.innosync.repository.ChangeLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void readChanges_ShouldAdvanceCursorToLastSequence() {
+        // Given
+        when(changeLogRepository.readSince(10L, 2)).thenReturn(List.of(change(11L), change(14L), change(14L)));
+
+        // When
+        ChangeFeedResponse result = changeFeedService.readChanges(10L, 2);
+
+        // Then
+        assertThat(result.getChanges()).hasSize(3);
+        assertThat(result.getNextCursor()).isEqualTo(14L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void readChanges_WithNoNewChanges_ShouldKeepCursor() {
+        // Given
+        when(changeLogRepository.readSince(42L, 100)).thenReturn(List.of());
+
+        // When
+        ChangeFeedResponse result = changeFeedService.readChanges(42L, 100);
+
+        // Then
+        assertThat(result.getChanges()).isEmpty();
+        assertThat(result.getNextCursor()).isEqualTo(42L);
+        assertThat(result.isHasMore()).isFalse();
+    }
+
+    @Test
+    void readChanges_ShouldCapPageSize() {
+        // Given
+        when(changeLogRepository.readSince(0L, ChangeFeedService.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        // When
+        changeFeedService.readChanges(null, 1_000_000);
+
+        // Then
+        verify(changeLogRepository).readSince(0L, ChangeFeedService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void readChanges_WithNegativeCursor_ShouldReturnBadRequest() {
+        // When & Then
+        assertThatThrownBy(() -> changeFeedService.readChanges(-1L, 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(changeLogRepository);
+    }
+
+    @Test
+    void recordAll_WithNoIds_ShouldNotWrite() {
+        // When
+        changeFeedService.recordAll(ChangeEntry.EntityType.TECHNOLOGY, List.of(), null, ChangeEntry.Operation.UPSERT);
+
+        // Then
+        verify(changeLogRepository, never()).append(any(), any(), any(), any());
+    }
+
+    private static ChangeEntry change(long sequence) {
+        return ChangeEntry.builder()
+                .sequence(sequence)
+                .entityType(ChangeEntry.EntityType.PROFILE)
+                .entityId(1L)
+                .operation(ChangeEntry.Operation.UPSERT)
+                .build();
+    }
+}
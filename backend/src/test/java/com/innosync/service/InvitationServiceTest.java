@@ -4,6 +4,7 @@ import com.innosync.dto.project.InvitationRequest;
 import com.innosync.dto.project.InvitationResponse;
 import com.innosync.model.*;
 import com.innosync.repository.*;
+import com.innosync.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -267,4 +268,32 @@ class InvitationServiceTest {
         verify(userRepository).findByEmail(userEmail);
         verify(invitationRepository).findByRecipientId(recipient.getId());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getReceivedInvitations_WithAuthenticatedUser_ShouldNotLookUpUser() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(recipient.getId(), recipient.getEmail(), recipient.getFullName());
+        when(invitationRepository.findByRecipientId(recipient.getId())).thenReturn(List.of(invitation));
+
+        // When
+        List<InvitationResponse> result = invitationService.getReceivedInvitations(principal);
+
+        // Then
+        assertThat(result).hasSize(1);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getSentInvitations_WithAuthenticatedUser_ShouldNotLookUpUser() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(recruiter.getId(), recruiter.getEmail(), recruiter.getFullName());
+        when(invitationRepository.findBySenderId(recruiter.getId())).thenReturn(List.of(invitation));
+
+        // When
+        List<InvitationResponse> result = invitationService.getSentInvitations(principal);
+
+        // Then
+        assertThat(result).hasSize(1);
+        verifyNoInteractions(userRepository);
+    }
+}
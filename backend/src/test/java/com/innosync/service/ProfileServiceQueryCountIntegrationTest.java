@@ -0,0 +1,242 @@
+package com.innosync.service;
+
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.profile.ProfileRequest;
+import com.innosync.dto.profile.ProfileResponse;
+import com.innosync.dto.profile.WorkExperienceRequest;
+import com.innosync.dto.profile.WorkExperienceResponse;
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.TechnologyRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.repository.WorkExperienceRepository;
+import com.innosync.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProfileServiceQueryCountIntegrationTest extends BaseIntegrationTest {
+
+    private static final int PROFILE_COUNT = 30;
+    // page select + technologies batch + work experience batch
+    private static final long MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    @Autowired
+    private WorkExperienceRepository workExperienceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Technology> technologies = technologyRepository.saveAll(List.of(
+                new Technology("Java"), new Technology("Spring"), new Technology("PostgreSQL")));
+
+        for (int i = 0; i < PROFILE_COUNT; i++) {
+            User user = userRepository.save(new User("candidate" + i + "@example.com", "Candidate " + i, "hash"));
+
+            Profile profile = new Profile();
+            profile.setUser(user);
+            profile.setEducation(Education.BACHELOR);
+            profile.setExpertiseLevel(ExpertiseLevel.MID);
+            profile.setTechnologies(new LinkedHashSet<>(technologies));
+            Profile saved = profileRepository.save(profile);
+
+            workExperienceRepository.saveAll(List.of(
+                    WorkExperience.builder().profile(saved).position("Intern").company("A")
+                            .startDate(LocalDate.of(2019, 1, 1)).build(),
+                    WorkExperience.builder().profile(saved).position("Engineer").company("B")
+                            .startDate(LocalDate.of(2021, 1, 1)).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getProfilesPage_ShouldUseConstantNumberOfStatementsRegardlessOfPageSize() {
+        CursorPageResponse<ProfileResponse> smallPage = profileService.getProfilesPage(null, 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPageResponse<ProfileResponse> largePage = profileService.getProfilesPage(null, PROFILE_COUNT);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.getItems()).hasSize(5);
+        assertThat(largePage.getItems()).hasSize(PROFILE_COUNT);
+        assertThat(largePage.getItems()).allSatisfy(profile -> {
+            assertThat(profile.getTechnologies()).hasSize(3);
+            assertThat(profile.getWorkExperience()).hasSize(2);
+        });
+        assertThat(smallPageStatements).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    void getAllProfiles_ShouldNotIssueQueriesPerProfile() {
+        List<ProfileResponse> profiles = profileService.getAllProfiles();
+
+        assertThat(profiles).hasSize(PROFILE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void createOrUpdateProfile_ShouldBatchWorkExperienceInserts() {
+        // Given
+        userRepository.save(new User("history@example.com", "Long History", "hash"));
+        ProfileRequest request = new ProfileRequest();
+        request.setPosition("Engineer");
+        request.setEducation(Education.BACHELOR);
+        request.setExpertiseLevel(ExpertiseLevel.MID);
+        request.setTechnologies(List.of("Java", "Spring"));
+        List<WorkExperienceRequest> history = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            WorkExperienceRequest job = new WorkExperienceRequest();
+            job.setPosition("Job " + i);
+            job.setCompany("Company " + i);
+            job.setStartDate(LocalDate.of(2000 + i, 1, 1));
+            history.add(job);
+        }
+        request.setWorkExperience(history);
+        entityManager.flush();
+        statistics.clear();
+
+        // When
+        profileService.createOrUpdateProfile("history@example.com", request);
+        entityManager.flush();
+
+        // Then
+        assertThat(workExperienceRepository.count()).isEqualTo(PROFILE_COUNT * 2L + 20);
+        // One INSERT per table, not one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void createOrUpdateProfile_WithUnchangedRequest_ShouldNotWriteAnything() {
+        // Given
+        userRepository.save(new User("autosave@example.com", "Auto Save", "hash"));
+        ProfileRequest request = autosaveRequest();
+        profileService.createOrUpdateProfile("autosave@example.com", request);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        profileService.createOrUpdateProfile("autosave@example.com", autosaveRequest());
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+    }
+
+    @Test
+    void createOrUpdateProfile_WithOneEditedJob_ShouldOnlyWriteTheDifference() {
+        // Given
+        userRepository.save(new User("autosave@example.com", "Auto Save", "hash"));
+        profileService.createOrUpdateProfile("autosave@example.com", autosaveRequest());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ProfileRequest request = autosaveRequest();
+        request.getWorkExperience().get(1).setDescription("Led the payments team");
+        request.setTechnologies(List.of("Java", "PostgreSQL"));
+
+        // When
+        ProfileResponse response = profileService.createOrUpdateProfile("autosave@example.com", request);
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        // The join set changed row by row instead of being rewritten
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(response.getTechnologies()).containsExactlyInAnyOrder("Java", "PostgreSQL");
+        assertThat(response.getWorkExperience()).extracting(WorkExperienceResponse::getDescription)
+                .containsExactlyInAnyOrder(null, "Led the payments team", null);
+    }
+
+    private static ProfileRequest autosaveRequest() {
+        ProfileRequest request = new ProfileRequest();
+        request.setPosition("Engineer");
+        request.setEducation(Education.BACHELOR);
+        request.setExpertiseLevel(ExpertiseLevel.MID);
+        request.setTechnologies(List.of("Java", "Spring"));
+        List<WorkExperienceRequest> history = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            WorkExperienceRequest job = new WorkExperienceRequest();
+            job.setPosition("Job " + i);
+            job.setCompany("Company " + i);
+            job.setStartDate(LocalDate.of(2010 + i, 1, 1));
+            history.add(job);
+        }
+        request.setWorkExperience(history);
+        return request;
+    }
+
+    @Test
+    void getMyProfile_ShouldLoadGraphInBoundedStatements() {
+        ProfileResponse profile = profileService.getMyProfile("candidate0@example.com");
+
+        assertThat(profile.getTechnologies()).hasSize(3);
+        assertThat(profile.getWorkExperience()).hasSize(2);
+        // user lookup + profile lookup + technologies batch + work experience batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void getMyProfile_WithAuthenticatedUser_ShouldSkipUserLookup() {
+        User user = userRepository.findByEmail("candidate0@example.com").orElseThrow();
+        statistics.clear();
+
+        ProfileResponse profile = profileService.getMyProfile(
+                new AuthenticatedUser(user.getId(), user.getEmail(), user.getFullName()));
+
+        assertThat(profile.getEmail()).isEqualTo("candidate0@example.com");
+        // profile lookup + technologies batch + work experience batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+}
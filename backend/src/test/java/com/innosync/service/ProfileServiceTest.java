@@ -1,5 +1,8 @@
 package com.innosync.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.dto.profile.ProfileRequest;
 import com.innosync.dto.profile.ProfileResponse;
 import com.innosync.dto.profile.WorkExperienceRequest;
@@ -9,15 +12,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import jakarta.persistence.EntityManager;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +43,22 @@ class ProfileServiceTest {
     private WorkExperienceRepository workExperienceRepository;
 
     @Mock
-    private TechnologyRepository technologyRepository;
+    private TechnologyDictionary technologyDictionary;
+
+    @Mock
+    private TechnologyIndex technologyIndex;
+
+    @Mock
+    private CandidateFeatureExport candidateFeatureExport;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks
     private ProfileService profileService;
@@ -63,7 +88,7 @@ class ProfileServiceTest {
 
         javaTechnology = Technology.builder().id(1L).name("Java").build();
         springTechnology = Technology.builder().id(2L).name("Spring").build();
-        testProfile.setTechnologies(Arrays.asList(javaTechnology, springTechnology));
+        testProfile.setTechnologies(new LinkedHashSet<>(List.of(javaTechnology, springTechnology)));
 
         workExperienceRequest = new WorkExperienceRequest();
         workExperienceRequest.setStartDate(LocalDate.of(2020, 1, 1));
@@ -91,10 +116,9 @@ class ProfileServiceTest {
         
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
-        when(technologyRepository.findByName("Java")).thenReturn(Optional.of(javaTechnology));
-        when(technologyRepository.findByName("Spring")).thenReturn(Optional.of(springTechnology));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(javaTechnology, springTechnology));
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -115,8 +139,10 @@ class ProfileServiceTest {
         verify(userRepository).findByEmail(userEmail);
         verify(profileRepository).findByUser(testUser);
         verify(profileRepository).save(any(Profile.class));
-        verify(workExperienceRepository).deleteByProfile(any(Profile.class));
+        // A new profile has no stored work experience to diff against
+        verify(workExperienceRepository, never()).findByProfile(any());
         verify(workExperienceRepository).saveAll(any());
+        verify(changeFeedService).record(ChangeEntry.EntityType.PROFILE, testProfile.getId(), testUser.getId(), ChangeEntry.Operation.UPSERT);
     }
 
     @Test
@@ -126,10 +152,9 @@ class ProfileServiceTest {
         
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
-        when(technologyRepository.findByName("Java")).thenReturn(Optional.of(javaTechnology));
-        when(technologyRepository.findByName("Spring")).thenReturn(Optional.of(springTechnology));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(javaTechnology, springTechnology));
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -169,11 +194,9 @@ class ProfileServiceTest {
         
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
-        when(technologyRepository.findByName("Java")).thenReturn(Optional.of(javaTechnology));
-        when(technologyRepository.findByName("NewTech")).thenReturn(Optional.empty());
-        when(technologyRepository.save(any(Technology.class))).thenReturn(newTechnology);
+        when(technologyDictionary.resolve(List.of("Java", "NewTech"))).thenReturn(List.of(javaTechnology, newTechnology));
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -181,9 +204,8 @@ class ProfileServiceTest {
         // Then
         assertThat(result).isNotNull();
 
-        verify(technologyRepository).findByName("Java");
-        verify(technologyRepository).findByName("NewTech");
-        verify(technologyRepository).save(any(Technology.class));
+        verify(technologyDictionary).resolve(List.of("Java", "NewTech"));
+        verify(profileRepository).save(argThat(profile -> profile.getTechnologies().contains(newTechnology)));
     }
 
     @Test
@@ -195,7 +217,7 @@ class ProfileServiceTest {
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -217,7 +239,7 @@ class ProfileServiceTest {
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -237,10 +259,9 @@ class ProfileServiceTest {
         
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
-        when(technologyRepository.findByName("Java")).thenReturn(Optional.of(javaTechnology));
-        when(technologyRepository.findByName("Spring")).thenReturn(Optional.of(springTechnology));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(javaTechnology, springTechnology));
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -248,7 +269,7 @@ class ProfileServiceTest {
         // Then
         assertThat(result).isNotNull();
 
-        verify(workExperienceRepository).deleteByProfile(testProfile);
+        verify(workExperienceRepository, never()).deleteAll(any());
         verify(workExperienceRepository).saveAll(argThat(experiences -> {
             List<WorkExperience> expList = new ArrayList<>();
             experiences.forEach(expList::add);
@@ -262,13 +283,14 @@ class ProfileServiceTest {
         // Given
         String userEmail = "developer@example.com";
         profileRequest.setWorkExperience(Collections.emptyList());
-        
+        WorkExperience stored = storedExperience(workExperienceRequest);
+
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
-        when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
-        when(technologyRepository.findByName("Java")).thenReturn(Optional.of(javaTechnology));
-        when(technologyRepository.findByName("Spring")).thenReturn(Optional.of(springTechnology));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(javaTechnology, springTechnology));
         when(profileRepository.save(any(Profile.class))).thenReturn(testProfile);
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(List.of(stored));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.createOrUpdateProfile(userEmail, profileRequest);
@@ -276,8 +298,160 @@ class ProfileServiceTest {
         // Then
         assertThat(result).isNotNull();
 
-        verify(workExperienceRepository).deleteByProfile(testProfile);
+        verify(workExperienceRepository).deleteAll(List.of(stored));
+        verify(workExperienceRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createOrUpdateProfile_WithUnchangedProfile_ShouldWriteNothing() {
+        // Given
+        String userEmail = "developer@example.com";
+        Set<Technology> technologies = testProfile.getTechnologies();
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(technologyDictionary.resolve(List.of("Java", "Spring")))
+                .thenReturn(List.of(new Technology(1L, "Java"), new Technology(2L, "Spring")));
+        when(profileRepository.save(testProfile)).thenReturn(testProfile);
+        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(List.of(storedExperience(workExperienceRequest)));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        profileService.createOrUpdateProfile(userEmail, profileRequest);
+
+        // Then
+        assertThat(testProfile.getTechnologies()).isSameAs(technologies).containsExactly(javaTechnology, springTechnology);
         verify(workExperienceRepository, never()).saveAll(any());
+        verify(workExperienceRepository, never()).deleteAll(any());
+        verifyNoInteractions(technologyIndex, candidateFeatureExport, changeFeedService);
+    }
+
+    @Test
+    void createOrUpdateProfile_WithEditedWorkExperience_ShouldUpdateStoredRowInPlace() {
+        // Given
+        String userEmail = "developer@example.com";
+        WorkExperience kept = storedExperience(workExperienceRequest);
+        WorkExperienceRequest oldJob = new WorkExperienceRequest();
+        oldJob.setStartDate(LocalDate.of(2018, 1, 1));
+        oldJob.setPosition("Intern");
+        oldJob.setCompany("Old Company");
+        WorkExperience edited = storedExperience(oldJob);
+        WorkExperienceRequest newJob = new WorkExperienceRequest();
+        newJob.setStartDate(LocalDate.of(2018, 1, 1));
+        newJob.setPosition("Junior Developer");
+        newJob.setCompany("Old Company");
+        profileRequest.setWorkExperience(List.of(newJob, workExperienceRequest));
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(javaTechnology, springTechnology));
+        when(profileRepository.save(testProfile)).thenReturn(testProfile);
+        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(List.of(kept, edited));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        profileService.createOrUpdateProfile(userEmail, profileRequest);
+
+        // Then
+        assertThat(kept.getPosition()).isEqualTo("Software Developer");
+        assertThat(edited.getPosition()).isEqualTo("Junior Developer");
+        verify(workExperienceRepository, never()).saveAll(any());
+        verify(workExperienceRepository, never()).deleteAll(any());
+        verify(changeFeedService).record(ChangeEntry.EntityType.PROFILE, 1L, 1L, ChangeEntry.Operation.UPSERT);
+    }
+
+    @Test
+    void createOrUpdateProfile_WithChangedTechnologies_ShouldOnlyAddAndRemoveTheDifference() {
+        // Given
+        String userEmail = "developer@example.com";
+        profileRequest.setTechnologies(List.of("Java", "Kotlin"));
+        Technology kotlinTechnology = new Technology(3L, "Kotlin");
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(technologyDictionary.resolve(List.of("Java", "Kotlin")))
+                .thenReturn(List.of(new Technology(1L, "Java"), kotlinTechnology));
+        when(profileRepository.save(testProfile)).thenReturn(testProfile);
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        profileService.createOrUpdateProfile(userEmail, profileRequest);
+
+        // Then
+        assertThat(testProfile.getTechnologies()).containsExactly(javaTechnology, kotlinTechnology);
+        verify(technologyIndex).update(testProfile);
+    }
+
+    @Test
+    void patchProfile_ShouldOnlyChangeGivenFields() {
+        // Given
+        String userEmail = "developer@example.com";
+        ProfileRequest patch = new ProfileRequest();
+        patch.setBio("Now leading a team");
+        patch.setExpertiseLevel(ExpertiseLevel.RESEARCHER);
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(profileRepository.save(testProfile)).thenReturn(testProfile);
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        ProfileResponse result = profileService.patchProfile(userEmail, patch);
+
+        // Then
+        assertThat(result.getBio()).isEqualTo("Now leading a team");
+        assertThat(result.getExpertiseLevel()).isEqualTo(ExpertiseLevel.RESEARCHER);
+        assertThat(result.getTelegram()).isEqualTo("@johndeveloper");
+        assertThat(result.getPosition()).isEqualTo("Senior Developer");
+        assertThat(result.getTechnologies()).containsExactly("Java", "Spring");
+        verifyNoInteractions(technologyDictionary);
+        verify(workExperienceRepository, never()).findByProfile(any());
+        verify(technologyIndex).update(testProfile);
+        verify(changeFeedService).record(ChangeEntry.EntityType.PROFILE, 1L, 1L, ChangeEntry.Operation.UPSERT);
+    }
+
+    @Test
+    void patchProfile_WithNoChanges_ShouldNotSave() {
+        // Given
+        String userEmail = "developer@example.com";
+        ProfileRequest patch = new ProfileRequest();
+        patch.setBio("Experienced developer");
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        // When
+        profileService.patchProfile(userEmail, patch);
+
+        // Then
+        verify(profileRepository, never()).save(any());
+        verifyNoInteractions(technologyIndex, candidateFeatureExport, changeFeedService);
+    }
+
+    @Test
+    void patchProfile_WithNonExistentProfile_ShouldThrowException() {
+        // Given
+        String userEmail = "developer@example.com";
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
+        when(profileRepository.findByUser(testUser)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> profileService.patchProfile(userEmail, new ProfileRequest()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Profile not found");
+    }
+
+    private WorkExperience storedExperience(WorkExperienceRequest request) {
+        return WorkExperience.builder()
+                .profile(testProfile)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .position(request.getPosition())
+                .company(request.getCompany())
+                .description(request.getDescription())
+                .build();
     }
 
     @Test
@@ -287,7 +461,7 @@ class ProfileServiceTest {
         
         when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
         when(profileRepository.findByUser(testUser)).thenReturn(Optional.of(testProfile));
-        when(workExperienceRepository.findByProfile(testProfile)).thenReturn(Collections.emptyList());
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L))).thenReturn(Collections.emptyList());
 
         // When
         ProfileResponse result = profileService.getMyProfile(userEmail);
@@ -300,7 +474,7 @@ class ProfileServiceTest {
 
         verify(userRepository).findByEmail(userEmail);
         verify(profileRepository).findByUser(testUser);
-        verify(workExperienceRepository).findByProfile(testProfile);
+        verify(workExperienceRepository).findByProfileIdIn(List.of(1L));
     }
 
     @Test
@@ -417,4 +591,114 @@ class ProfileServiceTest {
 
         verify(profileRepository).findById(profileId);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getProfilesPage_WithFullPage_ShouldReturnCursorOfLastProfile() {
+        // Given
+        Profile second = new Profile();
+        second.setId(7L);
+        second.setUser(testUser);
+        second.setTechnologies(new LinkedHashSet<>());
+
+        when(profileRepository.findPageAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(testProfile, second));
+        when(workExperienceRepository.findByProfileIdIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        // When
+        CursorPageResponse<ProfileResponse> page = profileService.getProfilesPage(null, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(ProfileResponse::getId).containsExactly(1L, 7L);
+        assertThat(page.getNextCursor()).isEqualTo(7L);
+    }
+
+    @Test
+    void getProfilesPage_WithLastPage_ShouldReturnNullCursor() {
+        // Given
+        when(profileRepository.findPageAfter(1L, PageRequest.of(0, ProfileService.MAX_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        CursorPageResponse<ProfileResponse> page = profileService.getProfilesPage(1L, 10_000);
+
+        // Then
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void streamAllProfiles_ShouldWriteOneJsonLinePerProfile() throws Exception {
+        // Given
+        Profile second = new Profile();
+        second.setId(2L);
+        second.setUser(testUser);
+        second.setTechnologies(new LinkedHashSet<>());
+
+        when(profileRepository.streamAllOrderById()).thenReturn(Stream.of(testProfile, second));
+        when(workExperienceRepository.findByProfileIdIn(anyCollection())).thenReturn(Collections.emptyList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        profileService.streamAllProfiles(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], ProfileResponse.class).getTechnologies())
+                .containsExactly("Java", "Spring");
+        assertThat(objectMapper.readValue(lines[1], ProfileResponse.class).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getProfilesPage_ShouldLoadTechnologiesAndExperienceOncePerPage() {
+        // Given
+        Profile second = new Profile();
+        second.setId(2L);
+        second.setUser(testUser);
+        second.setTechnologies(new LinkedHashSet<>(List.of(springTechnology)));
+
+        WorkExperience firstJob = WorkExperience.builder().id(10L).profile(testProfile)
+                .position("Intern").company("A").startDate(LocalDate.of(2018, 1, 1)).build();
+        WorkExperience secondJob = WorkExperience.builder().id(11L).profile(second)
+                .position("Engineer").company("B").startDate(LocalDate.of(2021, 1, 1)).build();
+
+        when(profileRepository.findPageAfter(0L, PageRequest.of(0, 10))).thenReturn(List.of(testProfile, second));
+        when(profileRepository.findWithUserAndTechnologiesByIdIn(List.of(1L, 2L))).thenReturn(List.of(testProfile, second));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L, 2L))).thenReturn(List.of(firstJob, secondJob));
+
+        // When
+        CursorPageResponse<ProfileResponse> page = profileService.getProfilesPage(null, 10);
+
+        // Then
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getItems().get(0).getWorkExperience()).extracting("position").containsExactly("Intern");
+        assertThat(page.getItems().get(1).getWorkExperience()).extracting("position").containsExactly("Engineer");
+        assertThat(page.getItems().get(1).getTechnologies()).containsExactly("Spring");
+
+        verify(profileRepository, times(1)).findWithUserAndTechnologiesByIdIn(anyCollection());
+        verify(workExperienceRepository, times(1)).findByProfileIdIn(anyCollection());
+        verify(workExperienceRepository, never()).findByProfile(any());
+    }
+
+    @Test
+    void getProfilesByIds_ShouldReturnFullProfilesOrderedById() {
+        // Given
+        Profile second = new Profile();
+        second.setId(7L);
+        second.setUser(testUser);
+        second.setBio("Builds things");
+        second.setTechnologies(new LinkedHashSet<>());
+        WorkExperience job = WorkExperience.builder().id(10L).profile(second)
+                .position("Engineer").company("B").startDate(LocalDate.of(2021, 1, 1)).build();
+
+        when(profileRepository.findAllById(List.of(7L, 1L, 99L))).thenReturn(List.of(second, testProfile));
+        when(workExperienceRepository.findByProfileIdIn(List.of(1L, 7L))).thenReturn(List.of(job));
+
+        // When
+        List<ProfileResponse> profiles = profileService.getProfilesByIds(List.of(7L, 1L, 99L));
+
+        // Then
+        assertThat(profiles).extracting(ProfileResponse::getId).containsExactly(1L, 7L);
+        assertThat(profiles.get(1).getBio()).isEqualTo("Builds things");
+        assertThat(profiles.get(1).getWorkExperience()).extracting("company").containsExactly("B");
+    }
+}
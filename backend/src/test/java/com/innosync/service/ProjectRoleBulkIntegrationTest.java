@@ -0,0 +1,100 @@
+package com.innosync.service;
+
+import com.innosync.dto.project.ProjectRoleRequest;
+import com.innosync.dto.project.ProjectRoleResponse;
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.*;
+import com.innosync.repository.ProjectRepository;
+import com.innosync.repository.ProjectRoleRepository;
+import com.innosync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProjectRoleBulkIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ROLE_COUNT = 15;
+    // project select + id block + technology resolution + role batch + role_technology batch
+    private static final long MAX_STATEMENTS = 5;
+
+    @Autowired
+    private ProjectRoleService projectRoleService;
+
+    @Autowired
+    private ProjectRoleRepository projectRoleRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Project project;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User recruiter = userRepository.save(new User("bulk-recruiter@example.com", "Bulk Recruiter", "hash"));
+        project = projectRepository.save(Project.builder()
+                .title("Hackathon")
+                .description("Lots of roles")
+                .recruiter(recruiter)
+                .projectType(ProjectType.HACKATHON)
+                .teamSize(TeamSize.SevenPlus)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void addRolesToProject_ShouldBatchInserts() {
+        // Given
+        List<ProjectRoleRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROLE_COUNT; i++) {
+            ProjectRoleRequest request = new ProjectRoleRequest();
+            request.setRoleName("Role " + i);
+            request.setExpertiseLevel(ExpertiseLevel.MID);
+            request.setTechnologies(List.of("Bulk-Java", "Bulk-Spring", "Bulk-Tech-" + i));
+            requests.add(request);
+        }
+
+        // When
+        List<ProjectRoleResponse> created = projectRoleService.addRolesToProject(project.getId(), requests, "bulk-recruiter@example.com");
+        entityManager.flush();
+
+        // Then
+        assertThat(created).hasSize(ROLE_COUNT);
+        assertThat(created).extracting(ProjectRoleResponse::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROLE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+
+        entityManager.clear();
+        List<ProjectRole> roles = projectRoleRepository.findByProjectId(project.getId());
+        assertThat(roles).hasSize(ROLE_COUNT);
+        assertThat(roles).allSatisfy(role -> assertThat(role.getTechnologies()).hasSize(3));
+    }
+}
@@ -1,12 +1,15 @@
 package com.innosync.service;
 
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.dto.project.ProjectRoleRequest;
 import com.innosync.dto.project.ProjectRoleResponse;
 import com.innosync.dto.project.ProjectRoleWithProjectResponse;
+import com.innosync.dto.project.RoleSearchResult;
 import com.innosync.model.*;
 import com.innosync.repository.ProjectRepository;
 import com.innosync.repository.ProjectRoleRepository;
-import com.innosync.repository.TechnologyRepository;
+import com.innosync.repository.RoleSearchCriteria;
 import com.innosync.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +25,10 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +44,13 @@ class ProjectRoleServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private TechnologyRepository technologyRepository;
+    private TechnologyDictionary technologyDictionary;
+
+    @Mock
+    private TechnologyIndex technologyIndex;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
 
     @InjectMocks
     private ProjectRoleService projectRoleService;
@@ -85,7 +98,7 @@ class ProjectRoleServiceTest {
         String creatorEmail = "creator@example.com";
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(technologyRepository.findByNameIgnoreCase("Java")).thenReturn(Optional.of(testTechnology));
+        when(technologyDictionary.resolve(List.of("Java"))).thenReturn(List.of(testTechnology));
         when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
         // When
@@ -98,7 +111,7 @@ class ProjectRoleServiceTest {
         assertThat(result.getExpertiseLevel()).isEqualTo(ExpertiseLevel.MID);
 
         verify(projectRepository).findById(projectId);
-        verify(technologyRepository).findByNameIgnoreCase("Java");
+        verify(technologyDictionary).resolve(List.of("Java"));
         verify(roleRepository).save(any(ProjectRole.class));
     }
 
@@ -149,8 +162,7 @@ class ProjectRoleServiceTest {
         roleRequest.setTechnologies(Arrays.asList(newTechName));
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(technologyRepository.findByNameIgnoreCase(newTechName)).thenReturn(Optional.empty());
-        when(technologyRepository.save(any(Technology.class))).thenReturn(newTechnology);
+        when(technologyDictionary.resolve(List.of(newTechName))).thenReturn(List.of(newTechnology));
         when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
         // When
@@ -159,8 +171,7 @@ class ProjectRoleServiceTest {
         // Then
         assertThat(result).isNotNull();
         
-        verify(technologyRepository).findByNameIgnoreCase(newTechName);
-        verify(technologyRepository).save(any(Technology.class));
+        verify(technologyDictionary).resolve(List.of(newTechName));
         verify(roleRepository).save(any(ProjectRole.class));
     }
 
@@ -176,8 +187,7 @@ class ProjectRoleServiceTest {
         roleRequest.setTechnologies(Arrays.asList("Java", "Spring"));
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(technologyRepository.findByNameIgnoreCase("Java")).thenReturn(Optional.of(testTechnology));
-        when(technologyRepository.findByNameIgnoreCase("Spring")).thenReturn(Optional.of(springTech));
+        when(technologyDictionary.resolve(List.of("Java", "Spring"))).thenReturn(List.of(testTechnology, springTech));
         when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
         // When
@@ -186,8 +196,7 @@ class ProjectRoleServiceTest {
         // Then
         assertThat(result).isNotNull();
         
-        verify(technologyRepository).findByNameIgnoreCase("Java");
-        verify(technologyRepository).findByNameIgnoreCase("Spring");
+        verify(technologyDictionary).resolve(List.of("Java", "Spring"));
         verify(roleRepository).save(any(ProjectRole.class));
     }
 
@@ -210,7 +219,7 @@ class ProjectRoleServiceTest {
         
         verify(projectRepository).findById(projectId);
         verify(roleRepository).save(any(ProjectRole.class));
-        verifyNoInteractions(technologyRepository);
+        verify(technologyDictionary).resolve(Collections.emptyList());
     }
 
     @Test
@@ -223,7 +232,7 @@ class ProjectRoleServiceTest {
         testProjectRole.setExpertiseLevel(ExpertiseLevel.ENTRY  );
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(technologyRepository.findByNameIgnoreCase("Java")).thenReturn(Optional.of(testTechnology));
+        when(technologyDictionary.resolve(List.of("Java"))).thenReturn(List.of(testTechnology));
         when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
         // When
@@ -243,12 +252,15 @@ class ProjectRoleServiceTest {
         roleRequest.setTechnologies(null);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+        when(technologyDictionary.resolve(null)).thenReturn(new ArrayList<>());
+        when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
-        // When & Then
-        assertThatThrownBy(() -> projectRoleService.addRoleToProject(projectId, roleRequest, creatorEmail))
-                .isInstanceOf(NullPointerException.class);
+        // When
+        ProjectRoleResponse result = projectRoleService.addRoleToProject(projectId, roleRequest, creatorEmail);
 
-        verify(projectRepository).findById(projectId);
+        // Then
+        assertThat(result).isNotNull();
+        verify(roleRepository).save(argThat(role -> role.getTechnologies().isEmpty()));
     }
 
     @Test
@@ -262,7 +274,7 @@ class ProjectRoleServiceTest {
         testProjectRole.setRoleName(longRoleName);
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
-        when(technologyRepository.findByNameIgnoreCase("Java")).thenReturn(Optional.of(testTechnology));
+        when(technologyDictionary.resolve(List.of("Java"))).thenReturn(List.of(testTechnology));
         when(roleRepository.save(any(ProjectRole.class))).thenReturn(testProjectRole);
 
         // When
@@ -272,4 +284,106 @@ class ProjectRoleServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getRoleName()).isEqualTo(longRoleName);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void addRolesToProject_ShouldResolveTechnologiesOnceForAllRoles() {
+        // Given
+        Technology spring = Technology.builder().id(2L).name("Spring").build();
+        ProjectRoleRequest frontend = new ProjectRoleRequest();
+        frontend.setRoleName("Fullstack Developer");
+        frontend.setExpertiseLevel(ExpertiseLevel.JUNIOR);
+        frontend.setTechnologies(List.of("spring", "JAVA", "Spring"));
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(technologyDictionary.resolve(List.of("Java", "spring", "JAVA", "Spring"))).thenReturn(List.of(testTechnology, spring));
+        when(roleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ProjectRole> roles = invocation.getArgument(0);
+            long id = 10;
+            for (ProjectRole role : roles) {
+                role.setId(id++);
+            }
+            return roles;
+        });
+
+        // When
+        List<ProjectRoleResponse> result = projectRoleService.addRolesToProject(1L, List.of(roleRequest, frontend), "creator@example.com");
+
+        // Then
+        assertThat(result).extracting(ProjectRoleResponse::getId).containsExactly(10L, 11L);
+        assertThat(result.get(0).getTechnologies()).containsExactly("Java");
+        assertThat(result.get(1).getTechnologies()).containsExactly("Spring", "Java");
+        verify(projectRepository, times(1)).findById(1L);
+        verify(technologyDictionary, times(1)).resolve(anyList());
+        verify(roleRepository, never()).save(any(ProjectRole.class));
+        verify(changeFeedService).recordAll(ChangeEntry.EntityType.ROLE, List.of(10L, 11L), 1L, ChangeEntry.Operation.UPSERT);
+    }
+
+    @Test
+    void addRolesToProject_WithUnauthorizedUser_ShouldNotCreateAnyRole() {
+        // Given
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+
+        // When & Then
+        assertThatThrownBy(() -> projectRoleService.addRolesToProject(1L, List.of(roleRequest), "unauthorized@example.com"))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(roleRepository, technologyDictionary);
+    }
+
+    @Test
+    void addRolesToProject_WithNoRoles_ShouldReturnBadRequest() {
+        // When & Then
+        assertThatThrownBy(() -> projectRoleService.addRolesToProject(1L, List.of(), "creator@example.com"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("400 BAD_REQUEST");
+        verifyNoInteractions(projectRepository, roleRepository);
+    }
+
+    @Test
+    void addRolesToProject_WithTooManyRoles_ShouldReturnBadRequest() {
+        // Given
+        List<ProjectRoleRequest> requests = Collections.nCopies(ProjectRoleService.MAX_BULK_ROLES + 1, roleRequest);
+
+        // When & Then
+        assertThatThrownBy(() -> projectRoleService.addRolesToProject(1L, requests, "creator@example.com"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("400 BAD_REQUEST");
+        verifyNoInteractions(projectRepository, roleRepository);
+    }
+
+    @Test
+    void searchRoles_WithMoreRowsThanLimit_ShouldReturnCursorOfLastItem() {
+        // Given
+        List<RoleSearchResult> rows = List.of(
+                RoleSearchResult.builder().roleId(9L).build(),
+                RoleSearchResult.builder().roleId(7L).build(),
+                RoleSearchResult.builder().roleId(4L).build());
+        when(roleRepository.search(any(RoleSearchCriteria.class), eq(10L), eq(3))).thenReturn(rows);
+
+        // When
+        CursorPageResponse<RoleSearchResult> page = projectRoleService.searchRoles(
+                List.of("Java", " "), ExpertiseLevel.MID, null, null, "payments", 10L, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(RoleSearchResult::getRoleId).containsExactly(9L, 7L);
+        assertThat(page.getNextCursor()).isEqualTo(7L);
+        verify(roleRepository).search(
+                eq(new RoleSearchCriteria(List.of("Java"), ExpertiseLevel.MID, null, null, "payments")), eq(10L), eq(3));
+    }
+
+    @Test
+    void searchRoles_OnLastPage_ShouldReturnNoCursorAndClampLimit() {
+        // Given
+        when(roleRepository.search(any(RoleSearchCriteria.class), isNull(), anyInt()))
+                .thenReturn(List.of(RoleSearchResult.builder().roleId(1L).build()));
+
+        // When
+        CursorPageResponse<RoleSearchResult> page = projectRoleService.searchRoles(
+                null, null, null, null, null, null, 10_000);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+        verify(roleRepository).search(any(RoleSearchCriteria.class), isNull(),
+                eq(ProjectRoleService.MAX_SEARCH_PAGE_SIZE + 1));
+    }
+}
@@ -1,5 +1,6 @@
 package com.innosync.service;
 
+import com.innosync.dto.change.ChangeEntry;
 import com.innosync.dto.project.ProjectRequest;
 import com.innosync.dto.project.ProjectResponse;
 import com.innosync.model.Project;
@@ -9,6 +10,7 @@ import com.innosync.model.User;
 import com.innosync.repository.ProjectRepository;
 import com.innosync.repository.ProjectRoleRepository;
 import com.innosync.repository.UserRepository;
+import com.innosync.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,8 +29,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ProjectServiceTest {
@@ -42,6 +43,9 @@ class ProjectServiceTest {
     @Mock
     private ProjectRoleRepository projectRoleRepository;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -92,6 +96,7 @@ class ProjectServiceTest {
         
         verify(userRepository).findByEmail(recruiterEmail);
         verify(projectRepository).save(any(Project.class));
+        verify(changeFeedService).record(ChangeEntry.EntityType.PROJECT, 1L, testUser.getId(), ChangeEntry.Operation.UPSERT);
     }
 
     @Test
@@ -246,4 +251,50 @@ class ProjectServiceTest {
         assertThat(result.getProjectType()).isEqualTo(ProjectType.FREELANCE);
         assertThat(result.getTeamSize()).isEqualTo(TeamSize.SevenPlus);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMyProjects_WithAuthenticatedUser_ShouldNotLookUpUser() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "recruiter@example.com", "Test Recruiter");
+        when(projectRepository.findByRecruiterId(1L)).thenReturn(List.of(testProject));
+
+        // When
+        List<ProjectResponse> result = projectService.getMyProjects(principal);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTitle()).isEqualTo("Test Project");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getMyProjects_WithPrincipalWithoutId_ShouldFallBackToEmailLookup() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(null, "recruiter@example.com", null);
+        when(userRepository.findByEmail("recruiter@example.com")).thenReturn(Optional.of(testUser));
+        when(projectRepository.findByRecruiter(testUser)).thenReturn(List.of(testProject));
+
+        // When
+        List<ProjectResponse> result = projectService.getMyProjects(principal);
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(userRepository).findByEmail("recruiter@example.com");
+    }
+
+    @Test
+    void createProject_WithAuthenticatedUser_ShouldReferenceRecruiterById() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "recruiter@example.com", "Test Recruiter");
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(projectRepository.save(any(Project.class))).thenReturn(testProject);
+
+        // When
+        ProjectResponse result = projectService.createProject(projectRequest, principal);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(projectRepository).save(argThat(project -> project.getRecruiter() == testUser));
+        verify(userRepository, never()).findByEmail(any());
+    }
+}
@@ -6,6 +6,7 @@ import com.innosync.model.User;
 import com.innosync.repository.RefreshTokenRepository;
 import com.innosync.repository.UserRepository;
 import com.innosync.security.JwtUtil;
+import com.innosync.security.TokenHashing;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +48,7 @@ class RefreshTokenServiceTest {
 
         testRefreshToken = new RefreshToken();
         testRefreshToken.setId(UUID.randomUUID());
+        testRefreshToken.setTokenHash(TokenHashing.sha256Hex("test-refresh-token"));
         testRefreshToken.setToken("test-refresh-token");
         testRefreshToken.setUser(testUser);
         testRefreshToken.setExpiryDate(Instant.now().plusSeconds(604800)); // 7 days
@@ -69,6 +71,33 @@ class RefreshTokenServiceTest {
         verify(refreshTokenRepository).save(any(RefreshToken.class));
     }
 
+    @Test
+    void createRefreshToken_ShouldStoreOnlyHashOfIssuedToken() {
+        // Given
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        RefreshToken result = refreshTokenService.createRefreshToken(testUser);
+
+        // Then
+        assertThat(result.getToken()).isNotBlank();
+        assertThat(result.getTokenHash()).isEqualTo(TokenHashing.sha256Hex(result.getToken()));
+        assertThat(result.getTokenHash()).isNotEqualTo(result.getToken());
+    }
+
+    @Test
+    void createRefreshToken_ShouldEvictOldestTokensBeyondCap() {
+        // Given
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(testRefreshToken);
+
+        // When
+        refreshTokenService.createRefreshToken(testUser);
+
+        // Then
+        // Leaves room for the token being issued within the default cap of 5
+        verify(refreshTokenRepository).deleteOldestBeyond(testUser.getId(), 4);
+    }
+
     @Test
     void verifyExpiration_WithValidToken_ShouldReturnToken() {
         // Given
@@ -95,7 +124,7 @@ class RefreshTokenServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(refreshTokenRepository).deleteByToken(testRefreshToken.getToken());
+        verify(refreshTokenRepository).delete(testRefreshToken);
     }
 
     @Test
@@ -116,7 +145,7 @@ class RefreshTokenServiceTest {
         refreshTokenService.deleteByToken(token);
 
         // Then
-        verify(refreshTokenRepository).deleteByToken(token);
+        verify(refreshTokenRepository).deleteByTokenHash(TokenHashing.sha256Hex(token));
     }
 
     @Test
@@ -125,12 +154,12 @@ class RefreshTokenServiceTest {
         String refreshTokenString = "valid-refresh-token";
         String newAccessToken = "new-access-token";
         
-        testRefreshToken.setToken(refreshTokenString);
+        testRefreshToken.setTokenHash(TokenHashing.sha256Hex(refreshTokenString));
         testRefreshToken.setExpiryDate(Instant.now().plusSeconds(3600)); // Valid
         
-        when(refreshTokenRepository.findByToken(refreshTokenString))
+        when(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(refreshTokenString)))
                 .thenReturn(Optional.of(testRefreshToken));
-        when(jwtUtil.generateToken(testUser.getEmail())).thenReturn(newAccessToken);
+        when(jwtUtil.generateToken(testUser)).thenReturn(newAccessToken);
 
         // When
         Optional<AuthResponse> result = refreshTokenService.refreshTokenAccess(refreshTokenString);
@@ -140,8 +169,23 @@ class RefreshTokenServiceTest {
         assertThat(result.get().getAccessToken()).isEqualTo(newAccessToken);
         assertThat(result.get().getRefreshToken()).isEqualTo(refreshTokenString);
         
-        verify(refreshTokenRepository).findByToken(refreshTokenString);
-        verify(jwtUtil).generateToken(testUser.getEmail());
+        verify(refreshTokenRepository).findByTokenHash(TokenHashing.sha256Hex(refreshTokenString));
+        verify(jwtUtil).generateToken(testUser);
+    }
+
+    @Test
+    void refreshTokenAccess_WithTheStoredHashInsteadOfTheToken_ShouldReturnEmpty() {
+        // Given: a hash leaked from the table
+        String storedHash = TokenHashing.sha256Hex("valid-refresh-token");
+        when(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(storedHash))).thenReturn(Optional.empty());
+
+        // When
+        Optional<AuthResponse> result = refreshTokenService.refreshTokenAccess(storedHash);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(refreshTokenRepository, never()).findByTokenHash(storedHash);
+        verifyNoInteractions(jwtUtil);
     }
 
     @Test
@@ -149,7 +193,7 @@ class RefreshTokenServiceTest {
         // Given
         String invalidToken = "invalid-token";
         
-        when(refreshTokenRepository.findByToken(invalidToken)).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
 
         // When
         Optional<AuthResponse> result = refreshTokenService.refreshTokenAccess(invalidToken);
@@ -157,7 +201,8 @@ class RefreshTokenServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(refreshTokenRepository).findByToken(invalidToken);
+        verify(refreshTokenRepository).findByTokenHash(TokenHashing.sha256Hex(invalidToken));
+        verify(refreshTokenRepository, never()).findByTokenHash(invalidToken);
         verifyNoInteractions(jwtUtil);
     }
 
@@ -166,10 +211,10 @@ class RefreshTokenServiceTest {
         // Given
         String expiredTokenString = "expired-refresh-token";
         
-        testRefreshToken.setToken(expiredTokenString);
+        testRefreshToken.setTokenHash(TokenHashing.sha256Hex(expiredTokenString));
         testRefreshToken.setExpiryDate(Instant.now().minusSeconds(3600)); // Expired
         
-        when(refreshTokenRepository.findByToken(expiredTokenString))
+        when(refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(expiredTokenString)))
                 .thenReturn(Optional.of(testRefreshToken));
 
         // When
@@ -178,23 +223,20 @@ class RefreshTokenServiceTest {
         // Then
         assertThat(result).isEmpty();
         
-        verify(refreshTokenRepository).findByToken(expiredTokenString);
-        verify(refreshTokenRepository).deleteByToken(expiredTokenString); // Should delete expired token
+        verify(refreshTokenRepository).findByTokenHash(TokenHashing.sha256Hex(expiredTokenString));
+        verify(refreshTokenRepository).delete(testRefreshToken); // Should delete expired token
         verifyNoInteractions(jwtUtil);
     }
 
     @Test
     void refreshTokenAccess_WithNullToken_ShouldReturnEmpty() {
-        // Given
-        when(refreshTokenRepository.findByToken(null)).thenReturn(Optional.empty());
-
         // When
         Optional<AuthResponse> result = refreshTokenService.refreshTokenAccess(null);
 
         // Then
         assertThat(result).isEmpty();
         
-        verify(refreshTokenRepository).findByToken(null);
+        verifyNoInteractions(refreshTokenRepository);
     }
 
     @Test
@@ -0,0 +1,61 @@
+package com.innosync.service;
+
+import com.innosync.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenSweeperTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new RefreshTokenSweeper(refreshTokenRepository, meterRegistry, 100);
+    }
+
+    @Test
+    void sweep_ShouldDeleteInBatchesUntilNothingIsLeft() {
+        // Given
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(100, 100, 42);
+        when(refreshTokenRepository.count()).thenReturn(7L);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(100));
+        assertThat(meterRegistry.get("refresh_tokens.purged").counter().count()).isEqualTo(242.0);
+        assertThat(meterRegistry.get("refresh_tokens.stored").gauge().value()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("refresh_tokens.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sweep_WithNothingExpired_ShouldRunSingleBatch() {
+        // Given
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(0);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(refreshTokenRepository, times(1)).deleteExpiredBatch(any(Instant.class), eq(100));
+        assertThat(meterRegistry.get("refresh_tokens.purged").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,82 @@
+package com.innosync.service;
+
+import com.innosync.dto.CursorPageResponse;
+import com.innosync.dto.search.SearchResult;
+import com.innosync.repository.SearchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    private static List<SearchResult> results(int count) {
+        return LongStream.range(0, count)
+                .mapToObj(id -> SearchResult.builder().type(SearchResult.Type.PROJECT).id(id).build())
+                .toList();
+    }
+
+    @Test
+    void search_WithMoreResultsThanLimit_ShouldReturnPositionOfNextPage() {
+        // Given
+        when(searchRepository.search("java", Set.of(SearchResult.Type.ROLE), 20, 11)).thenReturn(results(11));
+
+        // When
+        CursorPageResponse<SearchResult> page = searchService.search(" java ", Set.of(SearchResult.Type.ROLE), 20L, 10);
+
+        // Then
+        assertThat(page.getItems()).hasSize(10);
+        assertThat(page.getNextCursor()).isEqualTo(30L);
+    }
+
+    @Test
+    void search_OnLastPage_ShouldReturnNoCursor() {
+        // Given
+        when(searchRepository.search(eq("java"), isNull(), eq(0), anyInt())).thenReturn(results(3));
+
+        // When
+        CursorPageResponse<SearchResult> page = searchService.search("java", null, null, 10);
+
+        // Then
+        assertThat(page.getItems()).hasSize(3);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void search_PastMaxOffset_ShouldStopPaging() {
+        // Given
+        when(searchRepository.search(eq("java"), isNull(), eq(SearchService.MAX_OFFSET), anyInt())).thenReturn(results(21));
+
+        // When
+        CursorPageResponse<SearchResult> page = searchService.search("java", null, 5_000L, 20);
+
+        // Then
+        assertThat(page.getItems()).hasSize(20);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void search_WithBlankText_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> searchService.search(" ", null, null, 10))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(searchRepository);
+    }
+}
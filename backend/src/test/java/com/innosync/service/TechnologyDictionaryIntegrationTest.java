@@ -0,0 +1,104 @@
+package com.innosync.service;
+
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.Technology;
+import com.innosync.repository.TechnologyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class TechnologyDictionaryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TechnologyDictionary technologyDictionary;
+
+    @Autowired
+    private TechnologyRepository technologyRepository;
+
+    private Technology java;
+
+    @BeforeEach
+    void setUp() {
+        java = technologyRepository.saveAndFlush(new Technology("Java"));
+    }
+
+    @Test
+    void resolve_ShouldMatchExistingTechnologiesIgnoringCase() {
+        // When
+        List<Technology> resolved = technologyDictionary.resolve(List.of("java", " JAVA "));
+
+        // Then
+        assertThat(resolved).hasSize(1);
+        assertThat(resolved.get(0).getId()).isEqualTo(java.getId());
+        assertThat(resolved.get(0).getName()).isEqualTo("Java");
+        assertThat(technologyRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_ShouldInsertMissingTechnologiesAndKeepRequestOrder() {
+        // When
+        List<Technology> resolved = technologyDictionary.resolve(List.of("Kotlin", "Java", "Go", "kotlin", ""));
+
+        // Then
+        assertThat(resolved).extracting(Technology::getName).containsExactly("Kotlin", "Java", "Go");
+        assertThat(resolved).allSatisfy(technology -> assertThat(technology.getId()).isNotNull());
+        assertThat(technologyRepository.findByNameIgnoreCase("kotlin")).get()
+                .extracting(Technology::getId).isEqualTo(resolved.get(0).getId());
+        assertThat(technologyRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void resolve_ShouldReturnSameIdsWhenCalledAgain() {
+        // Given
+        List<Technology> first = technologyDictionary.resolve(List.of("Rust", "Java"));
+
+        // When
+        List<Technology> second = technologyDictionary.resolve(List.of("rust", "java"));
+
+        // Then
+        assertThat(second).extracting(Technology::getId)
+                .containsExactlyElementsOf(first.stream().map(Technology::getId).toList());
+        assertThat(technologyRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void findMentioned_ShouldFindKnownNamesAsWholeWords() {
+        // Given
+        List<String> names = List.of("Java", "Spring Boot", "Node.js", "C++", "CI/CD", "C");
+        names.stream().skip(1).forEach(name -> technologyRepository.save(new Technology(name)));
+        technologyRepository.flush();
+        technologyDictionary.load();
+
+        // When
+        List<Long> mentioned = technologyDictionary.findMentioned(
+                "Built JavaScript tools and JAVA services on Spring\nBoot (Node.js, C++); set up CI/CD.");
+
+        // Then: not C, whose one letter matches too much, nor Java inside JavaScript alone
+        assertThat(mentioned).containsExactlyInAnyOrderElementsOf(Stream.of("Java", "Spring Boot", "Node.js", "C++", "CI/CD")
+                .map(name -> technologyDictionary.findId(name).orElseThrow())
+                .toList());
+        assertThat(technologyDictionary.findMentioned("JavaScript only")).isEmpty();
+        names.forEach(technologyDictionary::evict);
+    }
+
+    @Test
+    void evict_ShouldForgetTechnologiesRemovedThroughJpa() {
+        // Given
+        technologyDictionary.load();
+        assertThat(technologyDictionary.findId("java")).contains(java.getId());
+
+        // When
+        technologyRepository.delete(java);
+        technologyRepository.flush();
+
+        // Then
+        assertThat(technologyDictionary.findId("java")).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.innosync.service;
+
+import com.innosync.dto.change.ChangeEntry;
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the changes have to commit to reach the feed. The refresher is off so the
+// test decides when changes are applied
+@TestPropertySource(properties = "technology-index.refresh.enabled=false")
+class TechnologyIndexChangeFeedIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TechnologyIndex technologyIndex;
+
+    @Autowired
+    private TechnologyDictionary technologyDictionary;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private User user;
+    private Profile profile;
+    private Technology kotlin;
+    private Technology rust;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        List<Technology> technologies = transaction.execute(status ->
+                technologyDictionary.resolve(List.of("Kotlin-feed", "Rust-feed")));
+        kotlin = technologies.get(0);
+        rust = technologies.get(1);
+
+        user = userRepository.save(new User("index-feed@example.com", "Feed Candidate", "hash"));
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setEducation(Education.BACHELOR);
+        profile.setExpertiseLevel(ExpertiseLevel.MID);
+        profile.setTechnologies(new LinkedHashSet<>(List.of(kotlin)));
+        profile = profileRepository.save(profile);
+
+        technologyIndex.load();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM user_profile_technology WHERE user_profile_id = ?", profile.getId());
+        jdbcTemplate.update("DELETE FROM user_profile WHERE id = ?", profile.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        for (Technology technology : List.of(kotlin, rust)) {
+            jdbcTemplate.update("DELETE FROM technology WHERE id = ?", technology.getId());
+            technologyDictionary.evict(technology.getName());
+        }
+        technologyIndex.remove(profile.getId());
+    }
+
+    @Test
+    void applyChanges_ShouldPickUpAChangeCommittedByAnotherInstance() {
+        // Given: written straight to the database, as another instance would, so this index never saw it
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO user_profile_technology (user_profile_id, technology_id) VALUES (?, ?)",
+                    profile.getId(), rust.getId());
+            changeFeedService.record(ChangeEntry.EntityType.PROFILE, profile.getId(), user.getId(), ChangeEntry.Operation.UPSERT);
+        });
+        assertThat(technologyIndex.topMatches(List.of(rust.getId()), null, null, 10)).isEmpty();
+
+        // When
+        int refreshed = technologyIndex.applyChanges();
+
+        // Then
+        assertThat(refreshed).isEqualTo(1);
+        assertThat(technologyIndex.topMatches(List.of(rust.getId()), null, null, 10))
+                .extracting(TechnologyIndex.Match::profileId).containsExactly(profile.getId());
+        assertThat(technologyIndex.applyChanges()).isZero();
+    }
+
+    @Test
+    void applyChanges_ShouldDropDeletedProfiles() {
+        // Given
+        assertThat(technologyIndex.topMatches(List.of(kotlin.getId()), null, null, 10))
+                .extracting(TechnologyIndex.Match::profileId).containsExactly(profile.getId());
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM user_profile_technology WHERE user_profile_id = ?", profile.getId());
+            jdbcTemplate.update("DELETE FROM user_profile WHERE id = ?", profile.getId());
+            changeFeedService.record(ChangeEntry.EntityType.PROFILE, profile.getId(), user.getId(), ChangeEntry.Operation.DELETE);
+        });
+
+        // When
+        technologyIndex.applyChanges();
+
+        // Then
+        assertThat(technologyIndex.topMatches(List.of(kotlin.getId()), null, null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,127 @@
+package com.innosync.service;
+
+import com.innosync.dto.profile.ProfileRequest;
+import com.innosync.dto.project.RoleCandidateResponse;
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.*;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.ProjectRepository;
+import com.innosync.repository.ProjectRoleRepository;
+import com.innosync.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+class TechnologyIndexIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TechnologyIndex technologyIndex;
+
+    @Autowired
+    private TechnologyDictionary technologyDictionary;
+
+    @Autowired
+    private ProjectRoleService projectRoleService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectRoleRepository projectRoleRepository;
+
+    private ProjectRole role;
+    private Profile kotlinDeveloper;
+    private Profile javaDeveloper;
+
+    @BeforeEach
+    void setUp() {
+        User recruiter = userRepository.save(new User("index-recruiter@example.com", "Recruiter", "hash"));
+        Project project = projectRepository.save(Project.builder()
+                .title("Index Project")
+                .description("Matching candidates")
+                .recruiter(recruiter)
+                .projectType(ProjectType.FREELANCE)
+                .teamSize(TeamSize.OneThree)
+                .build());
+
+        role = new ProjectRole();
+        role.setProject(project);
+        role.setRoleName("Backend Developer");
+        role.setExpertiseLevel(ExpertiseLevel.MID);
+        role.setTechnologies(technologyDictionary.resolve(List.of("Kotlin", "Java", "PostgreSQL")));
+        role = projectRoleRepository.save(role);
+
+        kotlinDeveloper = profile("kotlin@example.com", ExpertiseLevel.SENIOR, "Kotlin", "PostgreSQL");
+        javaDeveloper = profile("java@example.com", ExpertiseLevel.JUNIOR, "Java");
+        profile("frontend@example.com", ExpertiseLevel.MID, "TypeScript");
+        profileRepository.flush();
+
+        technologyIndex.load();
+    }
+
+    private Profile profile(String email, ExpertiseLevel level, String... technologies) {
+        User user = userRepository.save(new User(email, email, "hash"));
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setEducation(Education.BACHELOR);
+        profile.setExpertiseLevel(level);
+        profile.setExperienceYears(ExperienceYears.ONE_TO_THREE);
+        profile.setTechnologies(new LinkedHashSet<>(technologyDictionary.resolve(List.of(technologies))));
+        return profileRepository.save(profile);
+    }
+
+    @Test
+    void findCandidates_ShouldRankProfilesLoadedFromDatabase() {
+        // When
+        List<RoleCandidateResponse> candidates = projectRoleService.findCandidates(role.getId(), null, null, 10);
+
+        // Then
+        assertThat(candidates).extracting(RoleCandidateResponse::getProfileId)
+                .containsExactly(kotlinDeveloper.getId(), javaDeveloper.getId());
+        assertThat(candidates.get(0).getUserId()).isEqualTo(kotlinDeveloper.getUser().getId());
+        assertThat(candidates.get(0).getMatchedTechnologies()).containsExactlyInAnyOrder("Kotlin", "PostgreSQL");
+    }
+
+    @Test
+    void findCandidates_WithExpertiseFilter_ShouldSkipOtherLevels() {
+        // When
+        List<RoleCandidateResponse> candidates = projectRoleService.findCandidates(
+                role.getId(), Set.of(ExpertiseLevel.JUNIOR), null, 10);
+
+        // Then
+        assertThat(candidates).extracting(RoleCandidateResponse::getProfileId).containsExactly(javaDeveloper.getId());
+    }
+
+    @Test
+    void createOrUpdateProfile_ShouldOnlyReindexOnceCommitted() {
+        // Given
+        ProfileRequest request = new ProfileRequest();
+        request.setEducation(Education.BACHELOR);
+        request.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        request.setTechnologies(List.of("Kotlin", "Java", "PostgreSQL"));
+
+        // When
+        profileService.createOrUpdateProfile("java@example.com", request);
+
+        // Then: the test transaction never commits, so the index still has the old technologies
+        assertThat(projectRoleService.findCandidates(role.getId(), null, null, 1))
+                .extracting(RoleCandidateResponse::getProfileId).containsExactly(kotlinDeveloper.getId());
+    }
+}
@@ -0,0 +1,154 @@
+package com.innosync.service;
+
+import com.innosync.model.*;
+import com.innosync.repository.ChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TechnologyIndexTest {
+
+    private static final long JAVA = 1L;
+    private static final long SPRING = 2L;
+    private static final long RUST = 3L;
+    private static final long GIT = 4L;
+
+    private TechnologyIndex technologyIndex;
+
+    @BeforeEach
+    void setUp() {
+        technologyIndex = new TechnologyIndex(mock(JdbcTemplate.class), mock(ChangeLogRepository.class));
+    }
+
+    private static Profile profile(long id, ExpertiseLevel level, ExperienceYears years, long... technologyIds) {
+        User user = new User("user" + id + "@example.com", "User " + id, "hash");
+        user.setId(100 + id);
+        Profile profile = new Profile();
+        profile.setId(id);
+        profile.setUser(user);
+        profile.setExpertiseLevel(level);
+        profile.setExperienceYears(years);
+        Set<Technology> technologies = new LinkedHashSet<>();
+        for (long technologyId : technologyIds) {
+            technologies.add(new Technology(technologyId, "T" + technologyId));
+        }
+        profile.setTechnologies(technologies);
+        return profile;
+    }
+
+    @Test
+    void topMatches_ShouldRankRareTechnologiesHigher() {
+        // Given: everybody knows Git, only profile 3 knows Rust
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, ExperienceYears.ONE_TO_THREE, JAVA, GIT));
+        technologyIndex.update(profile(2, ExpertiseLevel.MID, ExperienceYears.ONE_TO_THREE, GIT));
+        technologyIndex.update(profile(3, ExpertiseLevel.MID, ExperienceYears.ONE_TO_THREE, RUST, GIT));
+        technologyIndex.update(profile(4, ExpertiseLevel.MID, ExperienceYears.ONE_TO_THREE, JAVA, SPRING, GIT));
+
+        // When
+        List<TechnologyIndex.Match> matches = technologyIndex.topMatches(List.of(RUST, GIT, JAVA), null, null, 10);
+
+        // Then
+        assertThat(matches).extracting(TechnologyIndex.Match::profileId).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(matches.get(0).userId()).isEqualTo(103L);
+        assertThat(matches.get(0).matchedTechnologyIds()).containsExactlyInAnyOrder(RUST, GIT);
+        assertThat(matches).allSatisfy(match -> assertThat(match.score()).isBetween(0.0, 1.0));
+    }
+
+    @Test
+    void topMatches_ShouldApplyFiltersAndLimit() {
+        // Given
+        technologyIndex.update(profile(1, ExpertiseLevel.SENIOR, ExperienceYears.FIVE_TO_SEVEN, JAVA));
+        technologyIndex.update(profile(2, ExpertiseLevel.JUNIOR, ExperienceYears.ONE_TO_THREE, JAVA, SPRING));
+        technologyIndex.update(profile(3, ExpertiseLevel.SENIOR, ExperienceYears.MORE_THAN_TEN, JAVA, SPRING));
+        technologyIndex.update(profile(4, ExpertiseLevel.SENIOR, ExperienceYears.FIVE_TO_SEVEN, JAVA, SPRING));
+
+        // When
+        List<TechnologyIndex.Match> matches = technologyIndex.topMatches(List.of(JAVA, SPRING),
+                Set.of(ExpertiseLevel.SENIOR), Set.of(ExperienceYears.FIVE_TO_SEVEN, ExperienceYears.MORE_THAN_TEN), 2);
+
+        // Then: full matches first, ties broken by profile id
+        assertThat(matches).extracting(TechnologyIndex.Match::profileId).containsExactly(3L, 4L);
+        assertThat(matches.get(0).score()).isEqualTo(1.0);
+    }
+
+    @Test
+    void update_ShouldMoveProfileBetweenPostingLists() {
+        // Given
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, JAVA, SPRING));
+
+        // When
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, RUST));
+
+        // Then
+        assertThat(technologyIndex.topMatches(List.of(JAVA), null, null, 10)).isEmpty();
+        assertThat(technologyIndex.topMatches(List.of(RUST), null, null, 10))
+                .extracting(TechnologyIndex.Match::profileId).containsExactly(1L);
+        assertThat(technologyIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_ShouldDropProfileFromResults() {
+        // Given
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, JAVA));
+        technologyIndex.update(profile(2, ExpertiseLevel.MID, null, JAVA));
+
+        // When
+        technologyIndex.remove(1);
+
+        // Then
+        assertThat(technologyIndex.topMatches(List.of(JAVA), null, null, 10))
+                .extracting(TechnologyIndex.Match::profileId).containsExactly(2L);
+    }
+
+    @Test
+    void topMatches_ShouldCountResumeMentionsForHalf() {
+        // Given: profile 1 lists Rust, profile 2 only mentions it in their resume
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, RUST));
+        technologyIndex.update(profile(2, ExpertiseLevel.MID, null, JAVA));
+        technologyIndex.updateResumeTechnologies(2, List.of(RUST, JAVA));
+
+        // When
+        List<TechnologyIndex.Match> matches = technologyIndex.topMatches(List.of(RUST), null, null, 10);
+
+        // Then
+        assertThat(matches).extracting(TechnologyIndex.Match::profileId).containsExactly(1L, 2L);
+        assertThat(matches).extracting(TechnologyIndex.Match::score).containsExactly(1.0, 0.5);
+        assertThat(matches.get(1).matchedTechnologyIds()).containsExactly(RUST);
+    }
+
+    @Test
+    void update_ShouldKeepResumeMentionsUntilTheProfileListsThem() {
+        // Given
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, JAVA));
+        technologyIndex.updateResumeTechnologies(1, List.of(RUST));
+
+        // When
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, JAVA, SPRING));
+
+        // Then
+        assertThat(technologyIndex.topMatches(List.of(RUST), null, null, 10))
+                .extracting(TechnologyIndex.Match::score).containsExactly(0.5);
+        technologyIndex.update(profile(1, ExpertiseLevel.MID, null, RUST));
+        assertThat(technologyIndex.topMatches(List.of(RUST), null, null, 10))
+                .extracting(TechnologyIndex.Match::score).containsExactly(1.0);
+        technologyIndex.remove(1);
+        assertThat(technologyIndex.topMatches(List.of(RUST), null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void withAndWithout_ShouldKeepListsSorted() {
+        long[] list = TechnologyIndex.with(TechnologyIndex.with(new long[]{2, 8}, 5), 1);
+
+        assertThat(list).containsExactly(1, 2, 5, 8);
+        assertThat(TechnologyIndex.with(list, 5)).isSameAs(list);
+        assertThat(TechnologyIndex.without(list, 5)).containsExactly(1, 2, 8);
+        assertThat(TechnologyIndex.without(new long[]{5}, 5)).isNull();
+    }
+}
@@ -0,0 +1,127 @@
+package com.innosync.storage;
+
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.repository.BlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the collector commits its own batches and relies on other transactions' locks
+class BlobCollectorIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+    private TransactionTemplate transaction;
+    private SimpleMeterRegistry meterRegistry;
+    private BlobCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root);
+        transaction = new TransactionTemplate(transactionManager);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new BlobCollector(store, blobRepository, transactionManager, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM blob");
+    }
+
+    @Test
+    void collect_ShouldDeleteOnlyUnreferencedBlobs() throws IOException {
+        // Given
+        String referenced = stage("referenced");
+        transaction.executeWithoutResult(status -> blobRepository.acquire(referenced, 10, "application/octet-stream"));
+        String released = stage("released");
+        transaction.executeWithoutResult(status -> {
+            blobRepository.acquire(released, 8, "application/octet-stream");
+            blobRepository.release(released);
+        });
+        String orphan = stage("left by a rolled back upload");
+        String lost = "f".repeat(64);
+        transaction.executeWithoutResult(status -> {
+            blobRepository.acquire(lost, 4, "application/octet-stream");
+            blobRepository.release(lost);
+        });
+
+        // When
+        long collected = collector.collectUnreferenced();
+
+        // Then
+        assertThat(collected).isEqualTo(3);
+        assertThat(store.find(referenced)).isPresent();
+        assertThat(store.find(released)).isEmpty();
+        assertThat(store.find(orphan)).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT hash FROM blob", String.class)).containsExactly(referenced);
+        assertThat(meterRegistry.get("uploads.blobs.collected").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void collect_ShouldLeaveBlobsOfUploadsInProgressAlone() throws Exception {
+        // Given: an upload has taken its reference but not committed yet
+        String uploading = stage("uploading");
+        CountDownLatch acquired = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> upload = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            blobRepository.acquire(uploading, 9, "application/octet-stream");
+            acquired.countDown();
+            try {
+                finish.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(acquired.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        long collected;
+        try {
+            collected = collector.collectUnreferenced();
+        } finally {
+            finish.countDown();
+        }
+        upload.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(collected).isZero();
+        assertThat(store.find(uploading)).isPresent();
+        assertThat(jdbcTemplate.queryForObject("SELECT ref_count FROM blob WHERE hash = ?", Integer.class, uploading))
+                .isEqualTo(1);
+    }
+
+    private String stage(String content) throws IOException {
+        try (BlobStore.StagedBlob staged = store.stage(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), Long.MAX_VALUE)) {
+            staged.commit();
+            return staged.key();
+        }
+    }
+}
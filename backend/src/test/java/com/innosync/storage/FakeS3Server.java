@@ -0,0 +1,164 @@
+package com.innosync.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for an S3 bucket: path-style PUT, HEAD, ranged GET, DELETE and ListObjectsV2
+ * with paging, enough for {@link S3BlobStore}. Requests must carry a SigV4 Authorization header
+ * for {@link #ACCESS_KEY}, and uploads a payload hash matching their body, as S3 checks.
+ */
+final class FakeS3Server implements AutoCloseable {
+
+    static final String ACCESS_KEY = "test-access";
+    static final String SECRET_KEY = "test-secret";
+
+    final NavigableMap<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    final AtomicInteger puts = new AtomicInteger();
+
+    private final HttpServer server;
+    private final String bucket;
+    private final int pageSize;
+
+    FakeS3Server(String bucket, int pageSize) throws IOException {
+        this.bucket = bucket;
+        this.pageSize = pageSize;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handle(exchange);
+            }
+        });
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith(S3Signer.ALGORITHM + " Credential=" + ACCESS_KEY + "/")
+                || exchange.getRequestHeaders().getFirst("x-amz-date") == null) {
+            respond(exchange, 403, new byte[0]);
+            return;
+        }
+        String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+        if (!path.startsWith("/" + bucket)) {
+            respond(exchange, 404, new byte[0]);
+            return;
+        }
+        String name = path.substring(bucket.length() + 1).replaceFirst("^/", "");
+        if (name.isEmpty()) {
+            list(exchange);
+            return;
+        }
+        byte[] object = objects.get(name);
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                if (!S3Signer.sha256Hex(body).equals(exchange.getRequestHeaders().getFirst("x-amz-content-sha256"))) {
+                    respond(exchange, 400, "XAmzContentSHA256Mismatch".getBytes(StandardCharsets.US_ASCII));
+                    return;
+                }
+                objects.put(name, body);
+                puts.incrementAndGet();
+                respond(exchange, 200, new byte[0]);
+            }
+            case "HEAD" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.length));
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                if (object == null) {
+                    respond(exchange, 404, new byte[0]);
+                    return;
+                }
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                if (range == null) {
+                    respond(exchange, 200, object);
+                    return;
+                }
+                String[] bounds = range.substring("bytes=".length()).split("-");
+                int start = Integer.parseInt(bounds[0]);
+                int end = Math.min(Integer.parseInt(bounds[1]), object.length - 1);
+                exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+                respond(exchange, 206, Arrays.copyOfRange(object, start, end + 1));
+            }
+            case "DELETE" -> {
+                objects.remove(name);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> respond(exchange, 405, new byte[0]);
+        }
+    }
+
+    // ListObjectsV2; the continuation token is the base64 of the last key returned
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        for (String parameter : rawQuery == null ? new String[0] : rawQuery.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            query.put(pair[0], pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+        }
+        String prefix = query.getOrDefault("prefix", "");
+        String token = query.get("continuation-token");
+        String after = token == null ? "" : new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8);
+        List<String> matching = objects.tailMap(after, false).keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .toList();
+        List<String> page = matching.subList(0, Math.min(pageSize, matching.size()));
+        boolean truncated = matching.size() > page.size();
+
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(bucket).append("</Name>")
+                .append("<KeyCount>").append(page.size()).append("</KeyCount>")
+                .append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        for (String key : page) {
+            xml.append("<Contents><Key>").append(key).append("</Key><Size>")
+                    .append(objects.get(key).length).append("</Size></Contents>");
+        }
+        if (truncated) {
+            xml.append("<NextContinuationToken>")
+                    .append(Base64.getEncoder().encodeToString(page.get(page.size() - 1).getBytes(StandardCharsets.UTF_8)))
+                    .append("</NextContinuationToken>");
+        }
+        xml.append("</ListBucketResult>");
+        respond(exchange, 200, xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.innosync.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBlobStoreTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_KEY = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root);
+    }
+
+    @Test
+    void commit_ShouldStoreContentUnderItsHashInShardedDirectories() throws IOException {
+        // When
+        try (BlobStore.StagedBlob staged = store.stage(stream("hello world"), 100)) {
+            staged.commit();
+
+            // Then
+            assertThat(staged.key()).isEqualTo(HELLO_KEY);
+            assertThat(staged.size()).isEqualTo(11);
+        }
+        assertThat(root.resolve("b9/4d/" + HELLO_KEY)).hasContent("hello world");
+        BlobStore.Blob blob = store.find(HELLO_KEY).orElseThrow();
+        assertThat(blob.size()).isEqualTo(11);
+        try (InputStream in = blob.open(6, 10)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("world");
+        }
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    void commit_WithContentAlreadyStored_ShouldKeepOneCopy() throws IOException {
+        // Given
+        try (BlobStore.StagedBlob first = store.stage(stream("hello world"), 100)) {
+            first.commit();
+        }
+
+        // When
+        try (BlobStore.StagedBlob second = store.stage(stream("hello world"), 100)) {
+            second.commit();
+        }
+
+        // Then
+        List<String> keys = new ArrayList<>();
+        store.forEachKey(keys::add);
+        assertThat(keys).containsExactly(HELLO_KEY);
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    void close_WithoutCommit_ShouldDiscardTheStagedCopy() throws IOException {
+        // When
+        try (BlobStore.StagedBlob staged = store.stage(stream("hello world"), 100)) {
+            assertThat(staged.key()).isEqualTo(HELLO_KEY);
+        }
+
+        // Then
+        assertThat(store.find(HELLO_KEY)).isEmpty();
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    void stage_OverLimit_ShouldFailWithoutLeavingFiles() throws IOException {
+        // When & Then
+        assertThatThrownBy(() -> store.stage(stream("hello world"), 5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    void delete_ShouldRemoveTheBlobAndIgnoreUnknownKeys() throws IOException {
+        // Given
+        try (BlobStore.StagedBlob staged = store.stage(stream("hello world"), 100)) {
+            staged.commit();
+        }
+
+        // When
+        store.delete(HELLO_KEY);
+        store.delete(HELLO_KEY);
+
+        // Then
+        assertThat(store.find(HELLO_KEY)).isEmpty();
+    }
+
+    @Test
+    void putVariant_ShouldStoreNextToTheBlobAndGoAwayWithIt() throws IOException {
+        // Given
+        try (BlobStore.StagedBlob staged = store.stage(stream("hello world"), 100)) {
+            staged.commit();
+        }
+
+        // When
+        store.putVariant(HELLO_KEY, "64.jpg", new byte[]{1, 2, 3});
+
+        // Then
+        assertThat(root.resolve("b9/4d/" + HELLO_KEY + ".64.jpg")).hasBinaryContent(new byte[]{1, 2, 3});
+        assertThat(store.findVariant(HELLO_KEY, "64.jpg")).get().extracting(BlobStore.Blob::size).isEqualTo(3L);
+        List<String> keys = new ArrayList<>();
+        store.forEachKey(keys::add);
+        assertThat(keys).containsExactly(HELLO_KEY);
+
+        store.delete(HELLO_KEY);
+        assertThat(store.findVariant(HELLO_KEY, "64.jpg")).isEmpty();
+    }
+
+    @Test
+    void find_WithMalformedKey_ShouldNotTouchTheFileSystem() throws IOException {
+        assertThat(store.find("../../etc/passwd")).isEmpty();
+        assertThat(store.find(HELLO_KEY.toUpperCase())).isEmpty();
+        assertThat(store.findVariant(HELLO_KEY, "../secret")).isEmpty();
+    }
+
+    @Test
+    void stage_ShouldSniffTheTypeFromTheFirstBytesOnly() throws IOException {
+        // Given: a PNG signature arriving a few bytes per read
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13};
+        InputStream trickle = new FilterInputStream(new ByteArrayInputStream(png)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 3));
+            }
+        };
+
+        // When & Then
+        try (BlobStore.StagedBlob staged = store.stage(trickle, 100)) {
+            assertThat(staged.mediaType()).isEqualTo(MediaType.IMAGE_PNG);
+        }
+        try (BlobStore.StagedBlob staged = store.stage(stream("%PDF-1.7"), 100)) {
+            assertThat(staged.mediaType()).isEqualTo(MediaType.APPLICATION_PDF);
+        }
+        try (BlobStore.StagedBlob staged = store.stage(stream("<svg onload=alert(1)>"), 100)) {
+            assertThat(staged.mediaType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        }
+        try (BlobStore.StagedBlob staged = store.stage(stream("GIF"), 100)) {
+            assertThat(staged.mediaType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        }
+    }
+
+    private List<Path> stagingFiles() throws IOException {
+        Path staging = root.resolve(".staging");
+        if (!Files.isDirectory(staging)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(staging)) {
+            return files.toList();
+        }
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,125 @@
+package com.innosync.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Test
+    void next_ShouldReturnEachPartWithItsBody() throws IOException {
+        // Given
+        byte[] file = new byte[300_000];
+        new Random(42).nextBytes(file);
+        // Bytes that look like the start of a delimiter must stay in the body
+        System.arraycopy("\r\n--".getBytes(StandardCharsets.ISO_8859_1), 0, file, 1000, 4);
+        byte[] body = multipart(file);
+
+        // When
+        MultipartStreamReader reader = new MultipartStreamReader(new TrickleInputStream(body), BOUNDARY);
+        MultipartStreamReader.Part field = reader.next();
+        String fieldValue = new String(field.body().readAllBytes(), StandardCharsets.UTF_8);
+        MultipartStreamReader.Part upload = reader.next();
+        byte[] uploaded = upload.body().readAllBytes();
+        MultipartStreamReader.Part end = reader.next();
+
+        // Then
+        assertThat(field.name()).isEqualTo("note");
+        assertThat(field.filename()).isNull();
+        assertThat(fieldValue).isEqualTo("hello");
+        assertThat(upload.name()).isEqualTo("file");
+        assertThat(upload.filename()).isEqualTo("cv.pdf");
+        assertThat(upload.contentType()).isEqualTo("application/pdf");
+        assertThat(uploaded).isEqualTo(file);
+        assertThat(end).isNull();
+    }
+
+    @Test
+    void next_ShouldSkipUnreadParts() throws IOException {
+        // Given
+        byte[] body = multipart("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+        reader.next();
+        MultipartStreamReader.Part upload = reader.next();
+
+        // Then
+        assertThat(upload.filename()).isEqualTo("cv.pdf");
+        assertThat(new String(upload.body().readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("%PDF-1.7");
+    }
+
+    @Test
+    void read_WithTruncatedBody_ShouldFail() throws IOException {
+        // Given
+        byte[] complete = multipart(new byte[10_000]);
+        byte[] truncated = new byte[complete.length - 200];
+        System.arraycopy(complete, 0, truncated, 0, truncated.length);
+
+        // When
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(truncated), BOUNDARY);
+        reader.next();
+        MultipartStreamReader.Part upload = reader.next();
+
+        // Then
+        assertThatThrownBy(() -> upload.body().readAllBytes()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void boundary_ShouldUnquoteTheParameter() {
+        assertThat(MultipartStreamReader.boundary("multipart/form-data; boundary=\"abc def\"")).isEqualTo("abc def");
+        assertThat(MultipartStreamReader.boundary("multipart/form-data; boundary=xyz")).isEqualTo("xyz");
+        assertThat(MultipartStreamReader.boundary("multipart/form-data")).isNull();
+    }
+
+    private static byte[] multipart(byte[] file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"note\"\r\n\r\n"
+                + "hello\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"cv.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.write(file);
+        out.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        return out.toByteArray();
+    }
+
+    // Hands out a few bytes per read, like a slow network, so delimiters arrive split across reads
+    private static final class TrickleInputStream extends InputStream {
+
+        private final byte[] data;
+        private int position;
+
+        TrickleInputStream(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (position >= data.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, 1 + position % 7), data.length - position);
+            System.arraycopy(data, position, target, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.innosync.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PictureThumbnailsTest {
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+    private AtomicInteger jobs;
+    private PictureThumbnails thumbnails;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root);
+        jobs = new AtomicInteger();
+        // Runs jobs on the caller, counting them
+        Executor executor = job -> {
+            jobs.incrementAndGet();
+            job.run();
+        };
+        thumbnails = new PictureThumbnails(store, List.of(512, 64, 128), executor, 128, 1024 * 1024, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void generateLater_ShouldStoreEverySizeNextToTheOriginal() throws IOException {
+        // Given
+        String key = put(png(1600, 800));
+
+        // When
+        thumbnails.generateLater(key);
+
+        // Then
+        assertThat(dimensions(store.findVariant(key, "512.jpg").orElseThrow())).containsExactly(512, 256);
+        assertThat(dimensions(store.findVariant(key, "128.jpg").orElseThrow())).containsExactly(128, 64);
+        assertThat(dimensions(store.findVariant(key, "64.jpg").orElseThrow())).containsExactly(64, 32);
+        assertThat(store.path(key).resolveSibling(key + ".64.jpg")).exists();
+    }
+
+    @Test
+    void find_ForSmallPicture_ShouldNotEnlargeIt() throws IOException {
+        // Given
+        String key = put(png(50, 30));
+
+        // When
+        BlobStore.Blob thumbnail = thumbnails.find(key, 128).orElseThrow();
+
+        // Then
+        assertThat(dimensions(thumbnail)).containsExactly(50, 30);
+    }
+
+    @Test
+    void find_WithoutThumbnails_ShouldRenderThemOnce() throws IOException {
+        // Given
+        String key = put(png(300, 300));
+
+        // When
+        thumbnails.find(key, 64);
+        thumbnails.find(key, 512);
+        thumbnails.find(key, 128);
+
+        // Then
+        assertThat(jobs).hasValue(1);
+    }
+
+    @Test
+    void find_ForSmallSize_ShouldServeRepeatsFromMemory() throws IOException {
+        // Given
+        String key = put(png(300, 300));
+        thumbnails.generateLater(key);
+        thumbnails.find(key, 64);
+        thumbnails.find(key, 512);
+        Files.delete(store.path(key).resolveSibling(key + ".64.jpg"));
+        Files.delete(store.path(key).resolveSibling(key + ".512.jpg"));
+
+        // When & Then
+        assertThat(thumbnails.find(key, 64)).get().isInstanceOf(BytesBlob.class);
+        assertThat(thumbnails.find(key, 512).orElseThrow().file()).isPresent();
+    }
+
+    @Test
+    void find_ForNonImage_ShouldBeEmptyWithoutRetrying() throws IOException {
+        // Given
+        String key = put("%PDF-1.7 not a picture".getBytes());
+
+        // When
+        boolean first = thumbnails.find(key, 64).isPresent();
+        boolean second = thumbnails.find(key, 64).isPresent();
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        assertThat(jobs).hasValue(1);
+    }
+
+    @Test
+    void box_ShouldPickTheSmallestSizeHoldingTheRequest() {
+        assertThat(thumbnails.box(1)).hasValue(64);
+        assertThat(thumbnails.box(64)).hasValue(64);
+        assertThat(thumbnails.box(100)).hasValue(128);
+        assertThat(thumbnails.box(513)).isEmpty();
+    }
+
+    private String put(byte[] content) throws IOException {
+        try (BlobStore.StagedBlob staged = store.stage(new ByteArrayInputStream(content), Long.MAX_VALUE)) {
+            staged.commit();
+            return staged.key();
+        }
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static List<Integer> dimensions(BlobStore.Blob blob) throws IOException {
+        try (InputStream in = blob.open()) {
+            BufferedImage image = ImageIO.read(in);
+            return List.of(image.getWidth(), image.getHeight());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.innosync.storage;
+
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.model.Education;
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.Profile;
+import com.innosync.model.Technology;
+import com.innosync.model.User;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.security.JwtUtil;
+import com.innosync.service.TechnologyDictionary;
+import com.innosync.service.TechnologyIndex;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the upload has to commit before the job workers can see its job
+class ResumeTextIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TechnologyDictionary technologyDictionary;
+
+    @Autowired
+    private TechnologyIndex technologyIndex;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${uploads.root}")
+    private Path uploadsRoot;
+
+    private MockMvc mockMvc;
+    private String token;
+    private User user;
+    private Profile profile;
+    private Technology kubernetes;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        user = userRepository.save(new User("resume-text@example.com", "Resume Writer", "hash"));
+        token = jwtUtil.generateToken(user);
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setEducation(Education.MASTER);
+        profile.setExpertiseLevel(ExpertiseLevel.SENIOR);
+        profile = profileRepository.save(profile);
+        technologyIndex.update(profile);
+        kubernetes = new TransactionTemplate(transactionManager)
+                .execute(status -> technologyDictionary.resolve(List.of("Kubernetes")).get(0));
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        technologyIndex.remove(profile.getId());
+        jdbcTemplate.update("DELETE FROM user_profile WHERE id = ?", profile.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM technology WHERE id = ?", kubernetes.getId());
+        technologyDictionary.evict(kubernetes.getName());
+        jdbcTemplate.update("DELETE FROM job");
+        jdbcTemplate.update("DELETE FROM blob");
+        FileSystemUtils.deleteRecursively(uploadsRoot);
+    }
+
+    @Test
+    void uploadResume_ShouldMakeItsTextSearchableAndMatchable() throws Exception {
+        // When
+        uploadResume("cv.pdf", pdf("Ran Kubernetes clusters for a quasar observatory"));
+
+        // Then
+        awaitJobs();
+        assertThat(resumeText()).isEqualTo("Ran Kubernetes clusters for a quasar observatory");
+        mockMvc.perform(get("/api/search").header("Authorization", "Bearer " + token)
+                        .param("q", "quasar observatory").param("type", "PROFILE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(profile.getId().intValue())));
+        List<TechnologyIndex.Match> matches = technologyIndex.topMatches(List.of(kubernetes.getId()), null, null, 10);
+        assertThat(matches).singleElement().satisfies(match -> {
+            assertThat(match.profileId()).isEqualTo(profile.getId());
+            assertThat(match.score()).isEqualTo(0.5);
+        });
+    }
+
+    @Test
+    void uploadResume_ReplacedByAFileWithoutText_ShouldClearTheText() throws Exception {
+        // Given
+        uploadResume("cv.pdf", pdf("Kubernetes and more Kubernetes"));
+        awaitJobs();
+
+        // When
+        uploadResume("cv.txt", "Kubernetes, but not a PDF".getBytes(StandardCharsets.US_ASCII));
+
+        // Then
+        awaitJobs();
+        assertThat(resumeText()).isNull();
+        assertThat(technologyIndex.topMatches(List.of(kubernetes.getId()), null, null, 10)).isEmpty();
+    }
+
+    private void uploadResume(String filename, byte[] content) throws Exception {
+        mockMvc.perform(post("/api/profile/upload-resume")
+                        .header("Authorization", "Bearer " + token)
+                        .param("filename", filename)
+                        .contentType("application/octet-stream")
+                        .content(content))
+                .andExpect(status().isOk());
+    }
+
+    private String resumeText() {
+        return jdbcTemplate.queryForObject("SELECT resume_text FROM user_profile WHERE id = ?", String.class, profile.getId());
+    }
+
+    private void awaitJobs() throws InterruptedException {
+        await(() -> jdbcTemplate.queryForObject("SELECT count(*) FROM job WHERE (payload ->> 'profileId')::bigint = ?",
+                Long.class, profile.getId()) == 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waited 10 seconds for the job").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(72, 700);
+                content.showText(text);
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.innosync.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3BlobStoreTest {
+
+    private FakeS3Server s3;
+    private S3BlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new FakeS3Server("uploads", 2);
+        store = new S3BlobStore(s3.endpoint(), "uploads", "us-east-1",
+                FakeS3Server.ACCESS_KEY, FakeS3Server.SECRET_KEY, "blobs/");
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    void commit_ShouldPutTheObjectOnceUnderThePrefix() throws IOException {
+        // Given
+        byte[] content = randomBytes(100_000, 1);
+
+        // When
+        String key;
+        try (BlobStore.StagedBlob staged = store.stage(new ByteArrayInputStream(content), 1_000_000)) {
+            key = staged.key();
+            staged.commit();
+        }
+        try (BlobStore.StagedBlob again = store.stage(new ByteArrayInputStream(content), 1_000_000)) {
+            again.commit();
+        }
+
+        // Then
+        assertThat(s3.puts).hasValue(1);
+        assertThat(s3.objects).containsOnlyKeys("blobs/" + key);
+        assertThat(s3.objects.get("blobs/" + key)).isEqualTo(content);
+    }
+
+    @Test
+    void find_ShouldReturnSizeAndServeRanges() throws IOException {
+        // Given
+        byte[] content = randomBytes(5000, 2);
+        String key = put(content);
+
+        // When
+        BlobStore.Blob blob = store.find(key).orElseThrow();
+
+        // Then
+        assertThat(blob.size()).isEqualTo(5000);
+        assertThat(blob.file()).isEmpty();
+        try (InputStream in = blob.open(100, 199)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+        }
+        try (InputStream in = blob.open()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(store.find("0".repeat(64))).isEmpty();
+    }
+
+    @Test
+    void forEachKey_ShouldPageThroughTheListingAndSkipForeignObjects() throws IOException {
+        // Given
+        List<String> stored = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            stored.add(put(randomBytes(10, 10 + i)));
+        }
+        s3.objects.put("other/readme.txt", new byte[1]);
+        s3.objects.put("blobs/not-a-hash", new byte[1]);
+
+        // When
+        List<String> keys = new ArrayList<>();
+        store.forEachKey(keys::add);
+
+        // Then
+        assertThat(keys).containsExactlyInAnyOrderElementsOf(stored);
+    }
+
+    @Test
+    void delete_ShouldRemoveTheObjectAndIgnoreMissingOnes() throws IOException {
+        // Given
+        String key = put("resume".getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        store.delete(key);
+        store.delete(key);
+
+        // Then
+        assertThat(s3.objects).isEmpty();
+        assertThat(store.find(key)).isEmpty();
+    }
+
+    @Test
+    void delete_ShouldAlsoRemoveVariants() throws IOException {
+        // Given
+        String key = put(randomBytes(100, 3));
+        String other = put(randomBytes(100, 4));
+        store.putVariant(key, "64.jpg", new byte[]{1, 2, 3});
+        store.putVariant(other, "64.jpg", new byte[]{4});
+
+        // When
+        assertThat(store.findVariant(key, "64.jpg")).get().extracting(BlobStore.Blob::size).isEqualTo(3L);
+        store.delete(key);
+
+        // Then
+        assertThat(s3.objects).containsOnlyKeys("blobs/" + other, "blobs/" + other + ".64.jpg");
+    }
+
+    @Test
+    void find_WithWrongCredentials_ShouldFail() {
+        // Given
+        S3BlobStore stranger = new S3BlobStore(s3.endpoint(), "uploads", "us-east-1", "someone-else", "secret", "blobs/");
+
+        // When & Then
+        assertThatThrownBy(() -> stranger.find("0".repeat(64)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("403");
+    }
+
+    private String put(byte[] content) throws IOException {
+        try (BlobStore.StagedBlob staged = store.stage(new ByteArrayInputStream(content), Long.MAX_VALUE)) {
+            staged.commit();
+            return staged.key();
+        }
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
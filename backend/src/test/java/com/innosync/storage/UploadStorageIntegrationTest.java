@@ -0,0 +1,205 @@
+package com.innosync.storage;
+
+import com.innosync.integration.BaseIntegrationTest;
+import com.innosync.jobs.JobQueue;
+import com.innosync.model.Education;
+import com.innosync.model.ExpertiseLevel;
+import com.innosync.model.Profile;
+import com.innosync.model.User;
+import com.innosync.repository.BlobRepository;
+import com.innosync.repository.ProfileRepository;
+import com.innosync.repository.UserRepository;
+import com.innosync.service.ProfileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Not transactional: each step of an upload commits on its own
+class UploadStorageIntegrationTest extends BaseIntegrationTest {
+
+    private static final String RESUME = "%PDF-1.7 resume";
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path root;
+
+    private ObservedBlobStore store;
+    private UploadStorage uploadStorage;
+    private User user;
+    private Profile profile;
+
+    @BeforeEach
+    void setUp() {
+        store = new ObservedBlobStore(new LocalBlobStore(root));
+        uploadStorage = new UploadStorage(store, blobRepository, profileRepository, profileService,
+                mock(PictureThumbnails.class), mock(JobQueue.class), transactionManager, root.toString(),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+
+        user = userRepository.save(new User("upload-steps@example.com", "Upload Steps", "hash"));
+        profile = new Profile();
+        profile.setUser(user);
+        profile.setEducation(Education.BACHELOR);
+        profile.setExpertiseLevel(ExpertiseLevel.MID);
+        profile = profileRepository.save(profile);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM user_profile WHERE id = ?", profile.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM blob");
+    }
+
+    @Test
+    void attachResume_ShouldCommitTheBlobOutsideAnyTransactionAfterTakingItsReference() throws IOException {
+        // Given
+        List<String> seenAtCommit = new ArrayList<>();
+        store.beforeCommit = key -> seenAtCommit.add(
+                TransactionSynchronizationManager.isActualTransactionActive() + " " + refCount(key));
+
+        // When
+        String reference = uploadStorage.attachResume(profile, upload(RESUME));
+
+        // Then
+        String key = UploadStorage.keyOf(reference);
+        assertThat(seenAtCommit).containsExactly("false 1");
+        assertThat(refCount(key)).isEqualTo(1);
+        assertThat(profileRepository.findById(profile.getId()).orElseThrow().getResume()).isEqualTo(reference);
+        assertThat(uploadStorage.findResume(reference)).get()
+                .extracting(UploadStorage.StoredFile::mediaType).isEqualTo(MediaType.APPLICATION_PDF);
+    }
+
+    @Test
+    void attachResume_WhenTheStoreFails_ShouldGiveTheReferenceBack() {
+        // Given
+        List<String> keys = new ArrayList<>();
+        store.beforeCommit = key -> {
+            keys.add(key);
+            throw new IllegalStateException("store unavailable");
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> uploadStorage.attachResume(profile, upload(RESUME)))
+                .hasMessage("store unavailable");
+        assertThat(keys).hasSize(1);
+        assertThat(refCount(keys.get(0))).isZero();
+        assertThat(profileRepository.findById(profile.getId()).orElseThrow().getResume()).isNull();
+    }
+
+    private Integer refCount(String key) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM blob WHERE hash = ?", Integer.class, key);
+    }
+
+    private static FileUpload upload(String content) {
+        return new FileUpload("cv.pdf", "application/pdf",
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Runs {@link #beforeCommit} with the key of every blob about to be committed.
+     */
+    private static final class ObservedBlobStore implements BlobStore {
+
+        private final BlobStore delegate;
+        private Consumer<String> beforeCommit = key -> { };
+
+        ObservedBlobStore(BlobStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public StagedBlob stage(InputStream content, long maxBytes) throws IOException {
+            StagedBlob staged = delegate.stage(content, maxBytes);
+            return new StagedBlob() {
+                @Override
+                public String key() {
+                    return staged.key();
+                }
+
+                @Override
+                public long size() {
+                    return staged.size();
+                }
+
+                @Override
+                public MediaType mediaType() {
+                    return staged.mediaType();
+                }
+
+                @Override
+                public void commit() throws IOException {
+                    beforeCommit.accept(staged.key());
+                    staged.commit();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    staged.close();
+                }
+            };
+        }
+
+        @Override
+        public Optional<Blob> find(String key) throws IOException {
+            return delegate.find(key);
+        }
+
+        @Override
+        public void putVariant(String key, String variant, byte[] content) throws IOException {
+            delegate.putVariant(key, variant, content);
+        }
+
+        @Override
+        public Optional<Blob> findVariant(String key, String variant) throws IOException {
+            return delegate.findVariant(key, variant);
+        }
+
+        @Override
+        public void delete(String key) throws IOException {
+            delegate.delete(key);
+        }
+
+        @Override
+        public void forEachKey(Consumer<String> action) throws IOException {
+            delegate.forEachKey(action);
+        }
+    }
+}